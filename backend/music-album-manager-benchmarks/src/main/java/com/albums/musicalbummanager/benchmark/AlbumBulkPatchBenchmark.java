@@ -0,0 +1,100 @@
+package com.albums.musicalbummanager.benchmark;
+
+import com.albums.musicalbummanager.dto.AlbumFilter;
+import com.albums.musicalbummanager.dto.BulkOperationReport;
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.repository.AlbumRepository;
+import com.albums.musicalbummanager.service.AlbumBulkService;
+import com.albums.musicalbummanager.service.AlbumPatch;
+import com.albums.musicalbummanager.service.AlbumPatchReader;
+import com.albums.musicalbummanager.service.AlbumRollupService;
+import com.albums.musicalbummanager.service.AlbumService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// O actualizare de prețuri pentru toate albumele unei case de discuri: câte un PATCH per album față de un singur
+// bulk patch pe filtru (UPDATE-uri pe loturi). Prețul alternează, ca fiecare invocare să schimbe toate rândurile.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AlbumBulkPatchBenchmark {
+
+    private static final String LABEL = "Bulk Benchmark";
+
+    @Param({"1000"})
+    private int albums;
+
+    private ConfigurableApplicationContext context;
+    private AlbumService albumService;
+    private AlbumBulkService albumBulkService;
+    private AlbumPatch[] prices;
+    private AlbumFilter filter;
+    private List<Long> ids;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        albumService = context.getBean(AlbumService.class);
+        albumBulkService = context.getBean(AlbumBulkService.class);
+        AlbumPatchReader reader = context.getBean(AlbumPatchReader.class);
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        prices = new AlbumPatch[]{
+                reader.read(objectMapper.valueToTree(Map.of("price", new BigDecimal("11.25")))),
+                reader.read(objectMapper.valueToTree(Map.of("price", new BigDecimal("12.75"))))};
+        filter = new AlbumFilter();
+        filter.setRecordLabel(LABEL);
+
+        List<Album> seed = new ArrayList<>(albums);
+        for (int i = 0; i < albums; i++) {
+            seed.add(new Album("Bulk " + i, "Artist " + i % 20, i % 2 == 0 ? "Rock" : "Jazz", 2000 + i % 10,
+                    LABEL, BigDecimal.TEN, 3, null, 1L));
+        }
+        ids = context.getBean(AlbumRepository.class).saveAll(seed).stream().map(Album::getId).toList();
+        context.getBean(AlbumRollupService.class).rebuild();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int patchEachAlbum() {
+        AlbumPatch price = nextPrice();
+        for (Long id : ids) {
+            albumService.patch(id, price, null);
+        }
+        return ids.size();
+    }
+
+    @Benchmark
+    public BulkOperationReport bulkPatch() {
+        return albumBulkService.patch(null, filter, nextPrice(), null);
+    }
+
+    private AlbumPatch nextPrice() {
+        return prices[next++ & 1];
+    }
+}
@@ -0,0 +1,93 @@
+package com.albums.musicalbummanager.benchmark;
+
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.repository.UserRepository;
+import com.albums.musicalbummanager.service.AlbumCreateService;
+import com.albums.musicalbummanager.service.AlbumService;
+import com.albums.musicalbummanager.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Creări concurente de albume: group commit (AlbumCreateService) față de calea veche, cu insert-ul și promovarea
+// proprietarului în tranzacții separate; fiecare creare are un commit propriu doar în varianta veche
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(16)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AlbumCreateBenchmark {
+
+    private static final int OWNERS = 1_000;
+    // Arată ca un hash BCrypt, ca updateUser să nu-l mai hash-uiască
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoO5zvG7ZVIqgJq8Bz8NU5XxFQo0G9p2xu";
+
+    private ConfigurableApplicationContext context;
+    private AlbumCreateService albumCreateService;
+    private AlbumService albumService;
+    private UserService userService;
+    private long[] owners;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        albumCreateService = context.getBean(AlbumCreateService.class);
+        albumService = context.getBean(AlbumService.class);
+        userService = context.getBean(UserService.class);
+
+        List<User> users = new ArrayList<>(OWNERS);
+        for (int i = 0; i < OWNERS; i++) {
+            users.add(new User("create-owner-" + i, PASSWORD_HASH, "USER"));
+        }
+        owners = context.getBean(UserRepository.class).saveAll(users).stream().mapToLong(User::getId).toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Album groupCommit() {
+        long owner = randomOwner();
+        return albumCreateService.create(album(owner), true);
+    }
+
+    // insert, apoi findById + save pentru promovare, fiecare cu commit-ul lui
+    @Benchmark
+    public Album saveThenPromote() {
+        long owner = randomOwner();
+        Album saved = albumService.save(album(owner));
+        User user = userService.findById(owner).orElseThrow();
+        user.setRole("EDITOR");
+        userService.updateUser(user);
+        return saved;
+    }
+
+    private long randomOwner() {
+        return owners[ThreadLocalRandom.current().nextInt(owners.length)];
+    }
+
+    private static Album album(long owner) {
+        return new Album("Created", "Artist", "Rock", 2020, "Label", BigDecimal.TEN, 1, null, owner);
+    }
+}
@@ -0,0 +1,76 @@
+package com.albums.musicalbummanager.benchmark;
+
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.repository.AlbumRepository;
+import com.albums.musicalbummanager.service.AlbumExportFormat;
+import com.albums.musicalbummanager.service.AlbumExportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Exportul complet al catalogului în fiecare format, scris într-un flux care aruncă octeții: măsoară citirea
+// în flux și serializarea, fără rețea. Rânduri/s = albums / timpul mediu.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AlbumExportBenchmark {
+
+    @Param({"50000"})
+    private int albums;
+
+    private ConfigurableApplicationContext context;
+    private AlbumExportService albumExportService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        albumExportService = context.getBean(AlbumExportService.class);
+
+        AlbumRepository albumRepository = context.getBean(AlbumRepository.class);
+        List<Album> seed = new ArrayList<>(albums);
+        for (int i = 0; i < albums; i++) {
+            seed.add(new Album("Album " + i, "Artist, \"" + i % 100 + "\"", "Rock", 1990 + i % 30, "Label",
+                    BigDecimal.valueOf(9.99), 10, null, 1L));
+            if (seed.size() == 5_000) {
+                albumRepository.saveAll(seed);
+                seed.clear();
+            }
+        }
+        albumRepository.saveAll(seed);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long ndjson() throws IOException {
+        return albumExportService.export(AlbumExportFormat.NDJSON, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public long csv() throws IOException {
+        return albumExportService.export(AlbumExportFormat.CSV, OutputStream.nullOutputStream());
+    }
+}
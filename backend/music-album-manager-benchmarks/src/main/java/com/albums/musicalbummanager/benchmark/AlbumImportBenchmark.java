@@ -0,0 +1,77 @@
+package com.albums.musicalbummanager.benchmark;
+
+import com.albums.musicalbummanager.dto.ImportReport;
+import com.albums.musicalbummanager.service.AlbumImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Importul unui fișier mare (JSON și CSV), cu un rând invalid la fiecare 1000: inserări pe loturi, rollup-uri,
+// jurnal de modificări și index de căutare incluse. Rânduri/s = rows / timpul mediu. Tabela crește cu fiecare
+// invocare, ca la importuri repetate în producție.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AlbumImportBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private AlbumImportService albumImportService;
+    private byte[] json;
+    private byte[] csv;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        albumImportService = context.getBean(AlbumImportService.class);
+
+        StringBuilder jsonRows = new StringBuilder("[");
+        StringBuilder csvRows = new StringBuilder("title,artist,genre,releaseYear,recordLabel,price,stock\n");
+        for (int i = 1; i <= rows; i++) {
+            String title = i % 1000 == 0 ? "" : "Album " + i;
+            if (i > 1) {
+                jsonRows.append(',');
+            }
+            jsonRows.append("{\"title\":\"").append(title).append("\",\"artist\":\"Artist ").append(i % 50)
+                    .append("\",\"genre\":\"Rock\",\"releaseYear\":1999,\"price\":12.50,\"stock\":3}");
+            csvRows.append(title).append(",Artist ").append(i % 50).append(",Rock,1999,,12.50,3\n");
+        }
+        json = jsonRows.append(']').toString().getBytes(StandardCharsets.UTF_8);
+        csv = csvRows.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ImportReport importJson() throws IOException {
+        return albumImportService.importJson(new ByteArrayInputStream(json), 1L);
+    }
+
+    @Benchmark
+    public ImportReport importCsv() throws IOException {
+        return albumImportService.importCsv(new ByteArrayInputStream(csv), 1L);
+    }
+}
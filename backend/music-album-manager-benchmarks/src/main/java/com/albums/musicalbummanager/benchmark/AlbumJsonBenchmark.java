@@ -0,0 +1,105 @@
+package com.albums.musicalbummanager.benchmark;
+
+import com.albums.musicalbummanager.config.AlbumJsonHttpMessageConverter;
+import com.albums.musicalbummanager.dto.AlbumPage;
+import com.albums.musicalbummanager.entity.Album;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serializarea listelor de albume cu ObjectMapper-ul configurat de Spring (cel folosit de controllere) și a unei
+// pagini, cu Jackson și cu convertorul care refolosește fragmentele JSON din cache
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AlbumJsonBenchmark {
+
+    @Param({"1", "50", "200", "10000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private List<Album> albums;
+    private AlbumJsonHttpMessageConverter converter;
+    private AlbumPage page;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        objectMapper = context.getBean(ObjectMapper.class);
+        albums = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Album album = new Album("Title " + i, "Artist " + (i % 500), "Genre " + (i % 20), 1960 + i % 60,
+                    "Label " + (i % 100), BigDecimal.valueOf(1999 + i % 5000, 2), i % 50,
+                    "https://img.example.com/covers/" + i + ".jpg", (long) (i % 100));
+            album.setId((long) i + 1);
+            albums.add(album);
+        }
+        converter = context.getBean(AlbumJsonHttpMessageConverter.class);
+        page = new AlbumPage(albums, "next-cursor");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serializeAlbums() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(albums);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    // După prima invocare fragmentele fiecărui album vin din cache
+    @Benchmark
+    public byte[] writePageWithFragments() throws IOException {
+        BufferedMessage message = new BufferedMessage();
+        converter.write(page, AlbumPage.class, MediaType.APPLICATION_JSON, message);
+        return message.body.toByteArray();
+    }
+
+    private static final class BufferedMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
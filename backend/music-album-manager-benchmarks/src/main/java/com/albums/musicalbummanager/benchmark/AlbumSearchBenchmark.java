@@ -0,0 +1,83 @@
+package com.albums.musicalbummanager.benchmark;
+
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.service.AlbumChangedEvent;
+import com.albums.musicalbummanager.service.AlbumSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Latența typeahead pe un catalog mare, direct pe index (fără HTTP și fără bază de date): un prefix de 3-6
+// litere, respectiv un cuvânt întreg plus prefixul altuia. SampleTime raportează și p50/p99.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AlbumSearchBenchmark {
+
+    private static final String[] SYLLABLES = {"ma", "ri", "ță", "ne", "lo", "bu", "șa", "ca", "de", "mu", "re",
+            "ti", "an", "ro"};
+
+    @Param({"200000"})
+    private int albums;
+
+    private AlbumSearchIndex index;
+    private String[] prefixQueries;
+    private String[] twoTermQueries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // Indexul e doar în memorie aici: fără repository, fără rebuild la pornire
+        index = new AlbumSearchIndex(null, null, null, false);
+        Random random = new Random(42);
+        String[] words = new String[20_000];
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int s = 0; s < 2 + random.nextInt(3); s++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words[i] = word.toString() + i;
+        }
+        for (long id = 1; id <= albums; id++) {
+            Album album = new Album(words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)],
+                    words[random.nextInt(words.length)], "Rock", 2000, words[random.nextInt(200)],
+                    BigDecimal.TEN, 1, null, 1L);
+            album.setId(id);
+            index.onAlbumChanged(AlbumChangedEvent.saved(album));
+        }
+
+        prefixQueries = new String[4096];
+        twoTermQueries = new String[4096];
+        for (int i = 0; i < prefixQueries.length; i++) {
+            String word = words[random.nextInt(words.length)];
+            prefixQueries[i] = word.substring(0, Math.min(word.length(), 3 + random.nextInt(4)));
+            twoTermQueries[i] = words[random.nextInt(words.length)] + " " + word.substring(0, 3);
+        }
+    }
+
+    @Benchmark
+    public List<Long> prefix() {
+        return index.search(prefixQueries[next++ & 4095], 20);
+    }
+
+    @Benchmark
+    public List<Long> wordAndPrefix() {
+        return index.search(twoTermQueries[next++ & 4095], 20);
+    }
+}
@@ -0,0 +1,103 @@
+package com.albums.musicalbummanager.benchmark;
+
+import com.albums.musicalbummanager.dto.AlbumFilter;
+import com.albums.musicalbummanager.dto.AlbumPage;
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.repository.AlbumRepository;
+import com.albums.musicalbummanager.service.AlbumService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// CRUD prin AlbumServiceImpl (cu cache, evenimente și indexul de căutare) peste H2 în memorie
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AlbumServiceBenchmark {
+
+    private static final int SEEDED_ALBUMS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private AlbumService albumService;
+    private AlbumRepository albumRepository;
+    private long[] ids;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        albumService = context.getBean(AlbumService.class);
+        albumRepository = context.getBean(AlbumRepository.class);
+
+        List<Album> seed = new ArrayList<>(SEEDED_ALBUMS);
+        for (int i = 0; i < SEEDED_ALBUMS; i++) {
+            seed.add(newAlbum(i));
+        }
+        ids = albumRepository.saveAll(seed).stream().mapToLong(Album::getId).toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Album createAndDelete() {
+        Album saved = albumService.save(newAlbum(ThreadLocalRandom.current().nextInt(SEEDED_ALBUMS)));
+        albumService.deleteById(saved.getId());
+        return saved;
+    }
+
+    // Citire prin cache (după încălzire toate id-urile sunt în cache)
+    @Benchmark
+    public Optional<Album> findById() {
+        return albumService.findById(randomId());
+    }
+
+    // Aceeași citire direct din baza de date, pentru comparație
+    @Benchmark
+    public Optional<Album> findByIdFromDatabase() {
+        return albumRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public Album update() {
+        Album album = albumService.findById(randomId()).orElseThrow();
+        album.setStock(ThreadLocalRandom.current().nextInt(100));
+        return albumService.update(album);
+    }
+
+    @Benchmark
+    public AlbumPage findFirstPage() {
+        AlbumFilter filter = new AlbumFilter();
+        filter.setGenre("Genre " + ThreadLocalRandom.current().nextInt(20));
+        return albumService.findPage(filter, "-releaseYear", null, 50);
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private static Album newAlbum(int i) {
+        return new Album("Title " + i, "Artist " + (i % 500), "Genre " + (i % 20), 1960 + i % 60,
+                "Label " + (i % 100), BigDecimal.valueOf(1999 + i % 5000, 2), 10 + i % 50, null, (long) (i % 100));
+    }
+}
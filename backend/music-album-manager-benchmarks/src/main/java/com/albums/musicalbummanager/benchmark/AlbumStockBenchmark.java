@@ -0,0 +1,64 @@
+package com.albums.musicalbummanager.benchmark;
+
+import com.albums.musicalbummanager.dto.StockOrderItem;
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.repository.AlbumRepository;
+import com.albums.musicalbummanager.service.AlbumStockService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Rezervări concurente de câte 1 pe același album „fierbinte”: comasate de combiner (reserve) față de câte un
+// UPDATE și o tranzacție per cerere (reserveAll cu o singură poziție). Stocul e destul de mare să nu se termine.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(16)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AlbumStockBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private AlbumStockService albumStockService;
+    private Long albumId;
+    private List<StockOrderItem> order;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        albumStockService = context.getBean(AlbumStockService.class);
+        albumId = context.getBean(AlbumRepository.class).save(new Album("Hot", "Artist", "Pop", 2020, "Label",
+                BigDecimal.TEN, Integer.MAX_VALUE, null, 1L)).getId();
+        order = List.of(new StockOrderItem(albumId, 1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void combinedReserve() {
+        albumStockService.reserve(albumId, 1);
+    }
+
+    @Benchmark
+    public void directReserve() {
+        albumStockService.reserveAll(order);
+    }
+}
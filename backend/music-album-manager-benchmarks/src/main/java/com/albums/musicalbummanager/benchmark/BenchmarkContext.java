@@ -0,0 +1,33 @@
+package com.albums.musicalbummanager.benchmark;
+
+import com.albums.musicalbummanager.MusicAlbumManagerApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+
+/**
+ * Pornește aplicația reală (aceleași bean-uri, aceeași configurație de securitate, schema din migrările Flyway)
+ * peste H2 în memorie, pe un port aleatoriu, ca benchmark-urile să măsoare codul de producție și nu o copie a lui.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        Map<String, Object> properties = Map.of(
+                "spring.datasource.url", "jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.datasource.username", "sa",
+                "spring.datasource.password", "",
+                "spring.jpa.hibernate.ddl-auto", "validate",
+                "spring.jpa.show-sql", "false",
+                "spring.main.banner-mode", "off",
+                "server.port", "0",
+                "logging.level.root", "WARN"
+        );
+        return new SpringApplicationBuilder(MusicAlbumManagerApplication.class)
+                .properties(properties)
+                .run();
+    }
+}
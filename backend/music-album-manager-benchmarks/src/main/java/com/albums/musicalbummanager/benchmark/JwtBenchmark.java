@@ -0,0 +1,92 @@
+package com.albums.musicalbummanager.benchmark;
+
+import com.albums.musicalbummanager.config.JwtUtils;
+import com.albums.musicalbummanager.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Costul autentificării pe fiecare request: emiterea token-ului, validarea (din cache) și un parse complet;
+// threeParses e calea de dinainte de cache (extractUsername + validateToken), ca reper
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private JwtUtils jwtUtils;
+    private User user;
+    private String token;
+    private String secret;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        jwtUtils = context.getBean(JwtUtils.class);
+        user = new User("benchmark", "unused", "ROLE_EDITOR");
+        user.setId(1L);
+        token = jwtUtils.generateToken(user);
+        secret = context.getEnvironment().getProperty("jwt.secret", "mySecretKey123456789012345678901234567890");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtils.validateToken(token, user);
+    }
+
+    // Verificarea semnăturii fără cache: ce plătește primul request cu un token nou
+    @Benchmark
+    public String parseSignedToken() {
+        return jwtUtils.extractClaim(token, Claims::getSubject);
+    }
+
+    @Benchmark
+    public String verifyCached() {
+        return jwtUtils.verify(token).getUsername();
+    }
+
+    // Cheie și parser noi la fiecare parse, de trei ori per request
+    @Benchmark
+    public String threeParses() {
+        String username = legacyClaims().getSubject();
+        boolean valid = username.equals(legacyClaims().getSubject())
+                && !legacyClaims().getExpiration().before(new Date());
+        return valid ? username : null;
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
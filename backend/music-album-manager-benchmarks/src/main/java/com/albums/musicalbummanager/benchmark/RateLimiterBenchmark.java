@@ -0,0 +1,55 @@
+package com.albums.musicalbummanager.benchmark;
+
+import com.albums.musicalbummanager.config.RateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Costul unei decizii a limitatorului, cu multe chei (mereu sub limită), pe toate nucleele: un request tipic
+// costă zeci de µs, decizia trebuie să rămână la nivel de ns
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Threads(Threads.MAX)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RateLimiterBenchmark {
+
+    @Param({"10000"})
+    private int keyCount;
+
+    private RateLimiter limiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        limiter = new RateLimiter(1_000_000, 1_000_000, 100_000);
+        keys = new String[keyCount];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "user:" + i;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next = ThreadLocalRandom.current().nextInt(1 << 20);
+    }
+
+    @Benchmark
+    public RateLimiter.Decision tryAcquire(Cursor cursor) {
+        return limiter.tryAcquire(keys[(cursor.next++ & Integer.MAX_VALUE) % keys.length]);
+    }
+}
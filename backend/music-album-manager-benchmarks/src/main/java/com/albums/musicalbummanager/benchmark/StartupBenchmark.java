@@ -0,0 +1,190 @@
+package com.albums.musicalbummanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timpul până la primul request reușit (GET /actuator/health → 200, verifică și conexiunea la bază), măsurat
+ * din afara aplicației: fiecare pornire e un JVM nou, lansat din benchmarks.jar peste H2 în memorie, deci
+ * include încărcarea claselor, contextul Spring, Flyway, Hibernate și Tomcat. Variantele:
+ * <ul>
+ *   <li>baseline: ca înainte de Flyway (fără migrări, Hibernate creează schema cu ddl-auto=update);</li>
+ *   <li>default: configurația obișnuită (Flyway aplică migrările, Hibernate validează schema);</li>
+ *   <li>fast-startup: profilul Spring fast-startup (fără validarea schemei și fără metadatele JDBC);</li>
+ *   <li>cds: fast-startup cu o arhivă CDS creată de o rulare de antrenament (-XX:ArchiveClassesAtExit);</li>
+ *   <li>aot, aot+cds: ca mai sus, cu -Dspring.aot.enabled=true; doar dacă aplicația a fost construită
+ *   cu -Pfast-startup (mvn -f backend/pom.xml -Pfast-startup package).</li>
+ * </ul>
+ * Rulare: {@code java -cp target/benchmarks.jar com.albums.musicalbummanager.benchmark.StartupBenchmark};
+ * numărul de porniri per variantă: -Dstartup.runs (implicit 3). Rezultatele sunt scrise în startup-result.json.
+ */
+public final class StartupBenchmark {
+
+    private static final String MAIN_CLASS = "com.albums.musicalbummanager.MusicAlbumManagerApplication";
+    private static final String AOT_INITIALIZER = MAIN_CLASS + "__ApplicationContextInitializer";
+    private static final int RUNS = Integer.getInteger("startup.runs", 3);
+    private static final Duration TIMEOUT = Duration.ofSeconds(Integer.getInteger("startup.timeout-seconds", 120));
+    private static final String RESULT_FILE = "startup-result.json";
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private final Path archives;
+
+    private StartupBenchmark(Path archives) {
+        this.archives = archives;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path archives = Files.createTempDirectory("startup-cds");
+        StartupBenchmark benchmark = new StartupBenchmark(archives);
+        boolean aot = isAotProcessed();
+        if (!aot) {
+            System.out.println("No AOT classes on the classpath (build with -Pfast-startup): skipping aot variants");
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        results.add(benchmark.measure("baseline", List.of("--spring.flyway.enabled=false",
+                "--spring.jpa.hibernate.ddl-auto=update")));
+        results.add(benchmark.measure("default", List.of()));
+        results.add(benchmark.measure("fast-startup", List.of("--spring.profiles.active=fast-startup")));
+        results.add(benchmark.measure("cds", withArchive(benchmark, "cds", false)));
+        if (aot) {
+            results.add(benchmark.measure("aot", List.of("-Dspring.aot.enabled=true",
+                    "--spring.profiles.active=fast-startup")));
+            results.add(benchmark.measure("aot+cds", withArchive(benchmark, "aot-cds", true)));
+        }
+
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(Path.of(RESULT_FILE).toFile(), results);
+        System.out.println("Results written to " + RESULT_FILE);
+        try (var files = Files.list(archives)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(archives);
+    }
+
+    // Arhiva CDS se creează o dată, cu aceleași opțiuni ca pornirile măsurate, dintr-o rulare care se oprește
+    // imediat după refresh-ul contextului (spring.context.exit=onRefresh)
+    private static List<String> withArchive(StartupBenchmark benchmark, String name, boolean aot) throws Exception {
+        Path archive = benchmark.archives.resolve(name + ".jsa");
+        List<String> options = new ArrayList<>();
+        if (aot) {
+            options.add("-Dspring.aot.enabled=true");
+        }
+        options.add("--spring.profiles.active=fast-startup");
+
+        List<String> training = new ArrayList<>(options);
+        training.add(0, "-XX:ArchiveClassesAtExit=" + archive);
+        training.add(1, "-Dspring.context.exit=onRefresh");
+        Process process = benchmark.start(training, freePort());
+        if (!process.waitFor(TIMEOUT.toSeconds(), TimeUnit.SECONDS) || !Files.exists(archive)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("CDS training run for " + name + " did not produce " + archive);
+        }
+
+        options.add(0, "-XX:SharedArchiveFile=" + archive);
+        return options;
+    }
+
+    private Map<String, Object> measure(String variant, List<String> options) throws Exception {
+        long[] millis = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            millis[i] = timeToFirstRequest(options);
+        }
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("variant", variant);
+        result.put("runs", RUNS);
+        result.put("minMillis", sorted[0]);
+        result.put("medianMillis", sorted[sorted.length / 2]);
+        result.put("maxMillis", sorted[sorted.length - 1]);
+        result.put("samplesMillis", millis);
+        System.out.printf("%-13s median %5d ms (min %d, max %d)%n", variant, sorted[sorted.length / 2],
+                sorted[0], sorted[sorted.length - 1]);
+        return result;
+    }
+
+    private long timeToFirstRequest(List<String> options) throws Exception {
+        int port = freePort();
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(1))
+                .build();
+        long start = System.nanoTime();
+        Process process = start(options, port);
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with code " + process.exitValue());
+                }
+                try {
+                    if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Portul nu e încă deschis
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("Application did not answer within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    // Opțiunile care încep cu "-" merg la JVM, cele cu "--" la aplicație
+    private Process start(List<String> options, int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        options.stream().filter(option -> !option.startsWith("--")).forEach(command::add);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(MAIN_CLASS);
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        command.add("--spring.datasource.username=sa");
+        command.add("--spring.datasource.password=");
+        // Dialectul explicit, ca în application.properties.template (fast-startup nu îl mai detectează)
+        command.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        command.add("--spring.main.banner-mode=off");
+        command.add("--logging.level.root=WARN");
+        options.stream().filter(option -> option.startsWith("--")).forEach(command::add);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    private static boolean isAotProcessed() {
+        try {
+            Class.forName(AOT_INITIALIZER, false, StartupBenchmark.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.albums.musicalbummanager.benchmark;
+
+import com.albums.musicalbummanager.config.TokenRevocations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Costul adăugat fiecărui request autentificat de verificarea revocărilor, cu utilizatori revocați în evidență;
+// utilizatorii verificați nu sunt revocați, cazul obișnuit (filtrul Bloom răspunde singur)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TokenRevocationsBenchmark {
+
+    @Param({"0", "1000"})
+    private int revokedUsers;
+
+    private TokenRevocations revocations;
+    private Long[] users;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        revocations = new TokenRevocations(TimeUnit.MINUTES.toMillis(15), 65_536);
+        for (long userId = 1_000_000; userId < 1_000_000 + revokedUsers; userId++) {
+            revocations.revoke(userId);
+        }
+        users = new Long[10_000];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = (long) i;
+        }
+    }
+
+    @Benchmark
+    public boolean isRevoked() {
+        Long userId = users[next];
+        next = next + 1 == users.length ? 0 : next + 1;
+        return revocations.isRevoked(userId, 0);
+    }
+}
@@ -0,0 +1,48 @@
+package com.albums.musicalbummanager.benchmark;
+
+import com.albums.musicalbummanager.config.AuthenticatedUser;
+import com.albums.musicalbummanager.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+// Entitatea construiește autoritățile la fiecare apel; principalul din cache le are precalculate
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserAuthoritiesBenchmark {
+
+    private User user;
+    private AuthenticatedUser authenticatedUser;
+
+    @Setup
+    public void setUp() {
+        user = new User("benchmark", "unused", "EDITOR");
+        user.setId(1L);
+        authenticatedUser = AuthenticatedUser.from(user);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> userGetAuthorities() {
+        return user.getAuthorities();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> authenticatedUserGetAuthorities() {
+        return authenticatedUser.getAuthorities();
+    }
+}
@@ -0,0 +1,33 @@
+package com.albums.musicalbummanager.loadgen;
+
+// Operațiile din mix (cheia din loadgen.mix) și numele lor din raport; REFRESH apare doar când expiră token-urile
+enum Endpoint {
+    LOGIN("login", "POST /api/auth/login"),
+    REFRESH("refresh", "POST /api/auth/refresh"),
+    LIST("list", "GET /api/albums"),
+    GET("get", "GET /api/albums/{id}"),
+    CREATE("create", "POST /api/albums"),
+    UPDATE("update", "PUT /api/albums/{id}"),
+    DELETE("delete", "DELETE /api/albums/{id}");
+
+    private final String key;
+    private final String label;
+
+    Endpoint(String key, String label) {
+        this.key = key;
+        this.label = label;
+    }
+
+    static Endpoint fromKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key) && endpoint != REFRESH) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint in mix: " + key);
+    }
+
+    String label() {
+        return label;
+    }
+}
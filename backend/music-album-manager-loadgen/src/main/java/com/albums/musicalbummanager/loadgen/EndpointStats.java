@@ -0,0 +1,74 @@
+package com.albums.musicalbummanager.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rezultatele unui endpoint, în microsecunde. latency se măsoară de la momentul programat al sosirii, deci
+ * include și așteptarea când serverul rămâne în urmă (fără coordinated omission); serviceTime, de la
+ * trimiterea efectivă a request-ului.
+ */
+final class EndpointStats {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Histogram latency = new ConcurrentHistogram(MAX_MICROS, 3);
+    private final Histogram serviceTime = new ConcurrentHistogram(MAX_MICROS, 3);
+    private final ConcurrentHashMap<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+
+    // outcome: codul HTTP sau numele excepției
+    void record(long intendedNanos, long sentNanos, long doneNanos, String outcome, boolean success) {
+        latency.recordValue(Math.min(MAX_MICROS, TimeUnit.NANOSECONDS.toMicros(doneNanos - intendedNanos)));
+        serviceTime.recordValue(Math.min(MAX_MICROS, TimeUnit.NANOSECONDS.toMicros(doneNanos - sentNanos)));
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    long count() {
+        return latency.getTotalCount();
+    }
+
+    Map<String, Object> report(double seconds) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("count", count());
+        report.put("errors", errors.sum());
+        report.put("requestsPerSecond", round(count() / seconds));
+        Map<String, Long> statuses = new TreeMap<>();
+        outcomes.forEach((outcome, counter) -> statuses.put(outcome, counter.sum()));
+        report.put("statuses", statuses);
+        report.put("latencyMillis", percentiles(latency));
+        report.put("serviceTimeMillis", percentiles(serviceTime));
+        return report;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("mean", millis(histogram.getMean()));
+        for (double percentile : PERCENTILES) {
+            String name = "p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile)
+                    : String.valueOf(percentile).replace(".", ""));
+            values.put(name, millis(histogram.getValueAtPercentile(percentile)));
+        }
+        values.put("max", millis(histogram.getMaxValue()));
+        return values;
+    }
+
+    private static double millis(double micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,74 @@
+package com.albums.musicalbummanager.loadgen;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parametrii unei rulări, din proprietăți de sistem (-Dloadgen.rate=500 ...). Aceleași valori și același
+ * loadgen.seed dau aceeași succesiune de endpoint-uri și utilizatori, deci rulări comparabile.
+ */
+final class LoadConfig {
+
+    // Mixul implicit: majoritar citiri, câteva scrieri și autentificări
+    private static final String DEFAULT_MIX = "login=2,list=38,get=40,create=8,update=8,delete=4";
+    // Peste un miliard pe secundă intervalul dintre sosiri (în nanosecunde) ar deveni 0
+    private static final int MAX_RATE = 1_000_000_000;
+
+    final int users = positive("loadgen.users", 50, Integer.MAX_VALUE);
+    final int albums = Integer.getInteger("loadgen.albums", 10_000);
+    // Sosiri pe secundă, constante, indiferent cât de repede răspunde serverul (open loop)
+    final int rate = positive("loadgen.rate", 200, MAX_RATE);
+    final int warmupSeconds = Integer.getInteger("loadgen.warmup-seconds", 5);
+    final int durationSeconds = positive("loadgen.duration-seconds", 30, Integer.MAX_VALUE);
+    // Peste atâtea request-uri în zbor, sosirile noi sunt renunțate (și numărate), ca memoria să rămână mărginită
+    final int maxInFlight = positive("loadgen.max-in-flight", 10_000, Integer.MAX_VALUE);
+    final int pageSize = Integer.getInteger("loadgen.page-size", 20);
+    final long seed = Long.getLong("loadgen.seed", 42);
+    final boolean rateLimit = Boolean.getBoolean("loadgen.rate-limit");
+    final String output = System.getProperty("loadgen.output", "loadgen-result.json");
+    final String mixSpec = System.getProperty("loadgen.mix", DEFAULT_MIX);
+    final Map<Endpoint, Integer> mix = parseMix(mixSpec);
+
+    private static int positive(String key, int defaultValue, int max) {
+        int value = Integer.getInteger(key, defaultValue);
+        if (value <= 0 || value > max) {
+            throw new IllegalArgumentException(key + " must be between 1 and " + max + ", got " + value);
+        }
+        return value;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String spec) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String part : spec.split(",")) {
+            String[] entry = part.trim().split("=");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + part);
+            }
+            int weight = Integer.parseInt(entry[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + entry[0]);
+            }
+            mix.put(Endpoint.fromKey(entry[0].trim()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("The mix needs at least one positive weight");
+        }
+        return mix;
+    }
+
+    Map<String, Object> describe() {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("users", users);
+        config.put("albums", albums);
+        config.put("rate", rate);
+        config.put("warmupSeconds", warmupSeconds);
+        config.put("durationSeconds", durationSeconds);
+        config.put("maxInFlight", maxInFlight);
+        config.put("pageSize", pageSize);
+        config.put("seed", seed);
+        config.put("rateLimit", rateLimit);
+        config.put("mix", mixSpec);
+        return config;
+    }
+}
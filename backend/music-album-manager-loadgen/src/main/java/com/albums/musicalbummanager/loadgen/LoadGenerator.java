@@ -0,0 +1,466 @@
+package com.albums.musicalbummanager.loadgen;
+
+import com.albums.musicalbummanager.MusicAlbumManagerApplication;
+import com.albums.musicalbummanager.service.AlbumRollupService;
+import com.albums.musicalbummanager.service.AlbumSearchIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generator de trafic open-loop: pornește aplicația reală în același proces (H2 în memorie, port aleatoriu),
+ * creează loadgen.users utilizatori EDITOR și loadgen.albums albume, apoi trimite request-uri HTTP cu o rată
+ * constantă (loadgen.rate pe secundă), după mixul din loadgen.mix. Sosirile sunt programate dinainte
+ * (start + i / rate) și nu așteaptă răspunsurile anterioare, deci un server lent acumulează coadă în loc
+ * să încetinească generatorul; latența se măsoară de la momentul programat. Primele loadgen.warmup-seconds
+ * nu intră în rezultate. Raportul (throughput și percentile per endpoint) e scris în loadgen.output.
+ * <p>
+ * Rulare: {@code java -Dloadgen.rate=500 -Dloadgen.duration-seconds=60 -jar target/loadgen.jar}.
+ */
+public final class LoadGenerator {
+
+    private static final String PASSWORD = "loadgen-password";
+    private static final String[] GENRES = {"Rock", "Jazz", "Pop", "Classical", "Electronic", "Hip-Hop", "Blues", "Folk"};
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private final String baseUrl;
+    private final List<VirtualUser> users = new ArrayList<>();
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final EndpointStats total = new EndpointStats();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long measureFromNanos = Long.MAX_VALUE;
+
+    private LoadGenerator(LoadConfig config, int port) {
+        this.config = config;
+        this.baseUrl = "http://localhost:" + port;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = new LoadConfig();
+        try (ConfigurableApplicationContext context = start(config)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadGenerator generator = new LoadGenerator(config, port);
+            generator.seed(context);
+            generator.loginAll();
+
+            ExecutorService requests = requestExecutor();
+            try {
+                Map<String, Object> report = generator.run(requests);
+                generator.objectMapper.writerWithDefaultPrettyPrinter()
+                        .writeValue(Path.of(config.output).toFile(), report);
+                System.out.println("Results written to " + config.output);
+            } finally {
+                requests.shutdownNow();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(LoadConfig config) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadgen;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("server.port", "0");
+        properties.put("logging.level.root", "WARN");
+        // Limitarea ratei ar transforma testul într-o măsurătoare a răspunsurilor 429
+        properties.put("albums.rate-limit.enabled", String.valueOf(config.rateLimit));
+        return new SpringApplicationBuilder(MusicAlbumManagerApplication.class)
+                .properties(properties)
+                .run();
+    }
+
+    // Thread-uri virtuale pe Java 21+, altfel un pool nelimitat de thread-uri daemon (modulul se compilează pe 17)
+    private static ExecutorService requestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "loadgen-request");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private static boolean virtualThreads() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    // Datele inițiale merg direct prin JDBC (un singur hash BCrypt pentru toți), apoi rollup-urile și indexul
+    // de căutare sunt reconstruite din tabele, ca aplicația să pornească testul consistentă
+    private void seed(ConfigurableApplicationContext context) {
+        long start = System.nanoTime();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<Object[]> userRows = new ArrayList<>();
+        for (int i = 0; i < config.users; i++) {
+            VirtualUser user = new VirtualUser("loadgen-user-" + i, PASSWORD);
+            users.add(user);
+            userRows.add(new Object[]{user.username, hash, "EDITOR", true});
+        }
+        jdbcTemplate.batchUpdate("insert into users (username, password, role, enabled) values (?, ?, ?, ?)", userRows);
+
+        Map<String, VirtualUser> byName = new LinkedHashMap<>();
+        users.forEach(user -> byName.put(user.username, user));
+        Map<Long, VirtualUser> byId = new LinkedHashMap<>();
+        jdbcTemplate.query("select id, username from users where username like 'loadgen-user-%'",
+                row -> {
+                    byId.put(row.getLong("id"), byName.get(row.getString("username")));
+                });
+        List<Long> userIds = new ArrayList<>(byId.keySet());
+
+        Random random = new Random(config.seed);
+        List<Object[]> albumRows = new ArrayList<>(1_000);
+        for (int i = 0; i < config.albums; i++) {
+            albumRows.add(new Object[]{"Album " + i, "Artist " + (i % 500), GENRES[i % GENRES.length],
+                    1960 + random.nextInt(65), "Label " + (i % 50), BigDecimal.valueOf(500 + random.nextInt(4500), 2),
+                    random.nextInt(100), userIds.get(i % userIds.size())});
+            if (albumRows.size() == 1_000 || i == config.albums - 1) {
+                jdbcTemplate.batchUpdate("insert into albums (title, artist, genre, release_year, record_label, price,"
+                        + " stock, user_id, version) values (?, ?, ?, ?, ?, ?, ?, ?, 0)", albumRows);
+                albumRows.clear();
+            }
+        }
+        jdbcTemplate.query("select id, user_id from albums order by id",
+                row -> {
+                    byId.get(row.getLong("user_id")).addAlbum(row.getLong("id"));
+                });
+
+        context.getBean(AlbumRollupService.class).rebuild();
+        context.getBean(AlbumSearchIndex.class).rebuild();
+        System.out.printf("Seeded %d users and %d albums in %d ms%n", config.users, config.albums,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void loginAll() throws IOException, InterruptedException {
+        for (VirtualUser user : users) {
+            HttpResponse<String> response = login(user);
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed for " + user.username + ": " + response.statusCode());
+            }
+        }
+    }
+
+    private Map<String, Object> run(ExecutorService requests) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / config.rate;
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        measureFromNanos = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds);
+        long end = measureFromNanos + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+        System.out.printf("Running %d req/s for %d s (+%d s warmup)%n", config.rate, config.durationSeconds,
+                config.warmupSeconds);
+
+        // Un singur thread programează sosirile, cu un Random inițializat din loadgen.seed: aceeași secvență de
+        // endpoint-uri, utilizatori și albume la fiecare rulare
+        Random random = new Random(config.seed);
+        int totalWeight = config.mix.values().stream().mapToInt(Integer::intValue).sum();
+        long scheduled = 0;
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            Endpoint endpoint = pick(random.nextInt(totalWeight));
+            VirtualUser user = users.get(random.nextInt(users.size()));
+            long choice = random.nextLong();
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+            boolean measured = intended >= measureFromNanos;
+            if (measured) {
+                scheduled++;
+            }
+            // Peste limită, sosirea e renunțată: fără asta, un server blocat ar umple memoria cu request-uri
+            if (inFlight.incrementAndGet() > config.maxInFlight) {
+                inFlight.decrementAndGet();
+                if (measured) {
+                    dropped.increment();
+                }
+                continue;
+            }
+            requests.execute(() -> {
+                try {
+                    execute(endpoint, user, choice, intended);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+
+        // Răspunsurile încă în drum fac parte din măsurătoare
+        long drainDeadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return report(scheduled);
+    }
+
+    private Endpoint pick(int value) {
+        for (Map.Entry<Endpoint, Integer> entry : config.mix.entrySet()) {
+            value -= entry.getValue();
+            if (value < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Weight outside the mix");
+    }
+
+    private void execute(Endpoint endpoint, VirtualUser user, long choice, long intended) {
+        try {
+            switch (endpoint) {
+                case LOGIN -> record(endpoint, intended, System.nanoTime(), login(user));
+                case LIST -> list(user, choice, intended);
+                case GET -> get(user, choice, intended);
+                case CREATE -> create(user, choice, intended);
+                case UPDATE -> update(user, choice, intended);
+                case DELETE -> delete(user, choice, intended);
+                default -> throw new IllegalStateException("Not part of the mix: " + endpoint);
+            }
+        } catch (IOException e) {
+            recordFailure(endpoint, intended, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void list(VirtualUser user, long choice, long intended) throws IOException, InterruptedException {
+        // Jumătate din listări sunt filtrate pe gen, restul sunt prima pagină din tot catalogul
+        String query = "?limit=" + config.pageSize;
+        if ((choice & 1) == 0) {
+            query += "&genre=" + GENRES[(int) Math.floorMod(choice >> 1, (long) GENRES.length)];
+        }
+        HttpRequest request = authorized(user, "/api/albums" + query).GET().build();
+        send(Endpoint.LIST, request, intended);
+    }
+
+    private void get(VirtualUser user, long choice, long intended) throws IOException, InterruptedException {
+        Long id = user.peekAlbum(choice);
+        if (id == null) {
+            create(user, choice, intended);
+            return;
+        }
+        send(Endpoint.GET, authorized(user, "/api/albums/" + id).GET().build(), intended);
+    }
+
+    private void create(VirtualUser user, long choice, long intended) throws IOException, InterruptedException {
+        HttpRequest request = authorized(user, "/api/albums")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(albumJson("New album", choice)))
+                .build();
+        HttpResponse<String> response = send(Endpoint.CREATE, request, intended);
+        if (response.statusCode() == 201) {
+            user.addAlbum(objectMapper.readTree(response.body()).get("id").asLong());
+        }
+    }
+
+    // Utilizatorii fără albume (le-au șters pe toate) creează unul, ca mixul să rămână aproape de cel cerut
+    private void update(VirtualUser user, long choice, long intended) throws IOException, InterruptedException {
+        Long id = user.takeAlbum(choice);
+        if (id == null) {
+            create(user, choice, intended);
+            return;
+        }
+        HttpRequest request = authorized(user, "/api/albums/" + id)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(albumJson("Updated album", choice)))
+                .build();
+        // Albumul revine în lista utilizatorului doar dacă PUT-ul a reușit: un 404 înseamnă că nu mai există,
+        // iar după o eroare starea lui e necunoscută
+        if (send(Endpoint.UPDATE, request, intended).statusCode() / 100 == 2) {
+            user.addAlbum(id);
+        }
+    }
+
+    private void delete(VirtualUser user, long choice, long intended) throws IOException, InterruptedException {
+        Long id = user.takeAlbum(choice);
+        if (id == null) {
+            create(user, choice, intended);
+            return;
+        }
+        send(Endpoint.DELETE, authorized(user, "/api/albums/" + id).DELETE().build(), intended);
+    }
+
+    private byte[] albumJson(String title, long choice) throws IOException {
+        Map<String, Object> album = new LinkedHashMap<>();
+        album.put("title", title + " " + Long.toHexString(choice));
+        album.put("artist", "Artist " + Math.floorMod(choice, 500L));
+        album.put("genre", GENRES[(int) Math.floorMod(choice, (long) GENRES.length)]);
+        album.put("releaseYear", 1960 + Math.floorMod(choice, 65L));
+        album.put("recordLabel", "Label " + Math.floorMod(choice, 50L));
+        album.put("price", BigDecimal.valueOf(500 + Math.floorMod(choice, 4500L), 2));
+        album.put("stock", Math.floorMod(choice, 100L));
+        return objectMapper.writeValueAsBytes(album);
+    }
+
+    private HttpResponse<String> send(Endpoint endpoint, HttpRequest request, long intended)
+            throws IOException, InterruptedException {
+        long sent = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        record(endpoint, intended, sent, response);
+        return response;
+    }
+
+    // Reînnoirea token-ului se face înainte de request și se raportează separat (REFRESH)
+    private HttpRequest.Builder authorized(VirtualUser user, String path) throws IOException, InterruptedException {
+        VirtualUser.Session session = user.session();
+        if (session.expiresSoon(System.nanoTime())) {
+            session = refresh(user);
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + session.token());
+    }
+
+    private VirtualUser.Session refresh(VirtualUser user) throws IOException, InterruptedException {
+        user.sessionLock().lock();
+        try {
+            // Alt request al aceluiași utilizator poate să fi reînnoit deja sesiunea
+            VirtualUser.Session session = user.session();
+            if (!session.expiresSoon(System.nanoTime())) {
+                return session;
+            }
+            long sent = System.nanoTime();
+            HttpResponse<String> response = client.send(post("/api/auth/refresh",
+                    Map.of("refreshToken", session.refreshToken())), HttpResponse.BodyHandlers.ofString());
+            record(Endpoint.REFRESH, sent, sent, response);
+            if (response.statusCode() != 200) {
+                login(user);
+            } else {
+                user.session(session(response));
+            }
+            return user.session();
+        } finally {
+            user.sessionLock().unlock();
+        }
+    }
+
+    // Login-ul din mix deschide o sesiune nouă, exact ca un utilizator care se autentifică din nou
+    private HttpResponse<String> login(VirtualUser user) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(post("/api/auth/login",
+                Map.of("username", user.username, "password", user.password)), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 200) {
+            VirtualUser.Session session = session(response);
+            user.sessionLock().lock();
+            try {
+                user.session(session);
+            } finally {
+                user.sessionLock().unlock();
+            }
+        }
+        return response;
+    }
+
+    private HttpRequest post(String path, Map<String, String> body) throws IOException {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private VirtualUser.Session session(HttpResponse<String> response) throws IOException {
+        JsonNode body = objectMapper.readTree(response.body());
+        long expiresAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(body.get("expiresIn").asLong());
+        return new VirtualUser.Session(body.get("token").asText(), body.get("refreshToken").asText(), expiresAt);
+    }
+
+    private void record(Endpoint endpoint, long intended, long sent, HttpResponse<?> response) {
+        if (intended < measureFromNanos) {
+            return;
+        }
+        int status = response.statusCode();
+        boolean success = status >= 200 && status < 300;
+        long done = System.nanoTime();
+        stats.get(endpoint).record(intended, sent, done, String.valueOf(status), success);
+        if (endpoint != Endpoint.REFRESH) {
+            total.record(intended, sent, done, String.valueOf(status), success);
+            completed.increment();
+        }
+    }
+
+    private void recordFailure(Endpoint endpoint, long intended, IOException e) {
+        if (intended < measureFromNanos) {
+            return;
+        }
+        long done = System.nanoTime();
+        stats.get(endpoint).record(intended, done, done, e.getClass().getSimpleName(), false);
+        total.record(intended, done, done, e.getClass().getSimpleName(), false);
+        completed.increment();
+    }
+
+    private Map<String, Object> report(long scheduled) {
+        double seconds = config.durationSeconds;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config.describe());
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("virtualThreads", virtualThreads());
+        report.put("scheduled", scheduled);
+        report.put("completed", completed.sum());
+        report.put("dropped", dropped.sum());
+        report.put("incomplete", inFlight.get());
+        report.put("targetRate", config.rate);
+        report.put("achievedRate", Math.round(completed.sum() / seconds * 10.0) / 10.0);
+        report.put("total", total.report(seconds));
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((endpoint, endpointStats) -> {
+            if (endpointStats.count() > 0) {
+                endpoints.put(endpoint.label(), endpointStats.report(seconds));
+            }
+        });
+        report.put("endpoints", endpoints);
+
+        System.out.printf("%-26s %8s %8s %9s %9s %9s %9s%n", "endpoint", "count", "errors", "p50 ms", "p99 ms",
+                "p99.9 ms", "max ms");
+        print("all", total.report(seconds));
+        endpoints.forEach((label, values) -> print(label, (Map<?, ?>) values));
+        System.out.printf("scheduled %d, completed %d, dropped %d, achieved %.1f req/s%n", scheduled,
+                completed.sum(), dropped.sum(), completed.sum() / seconds);
+        return report;
+    }
+
+    private static void print(String label, Map<?, ?> values) {
+        Map<?, ?> latency = (Map<?, ?>) values.get("latencyMillis");
+        System.out.printf("%-26s %8s %8s %9s %9s %9s %9s%n", label, values.get("count"), values.get("errors"),
+                latency.get("p50"), latency.get("p99"), latency.get("p999"), latency.get("max"));
+    }
+}
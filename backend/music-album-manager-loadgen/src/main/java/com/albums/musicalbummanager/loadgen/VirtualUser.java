@@ -0,0 +1,93 @@
+package com.albums.musicalbummanager.loadgen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Un utilizator simulat: sesiunea lui (access token, refresh token) și albumele pe care le deține. Mai multe
+ * request-uri ale aceluiași utilizator rulează concurent, deci starea e protejată de un ReentrantLock (nu
+ * synchronized, ca pe Java 21 thread-urile virtuale să nu-și fixeze carrier-ul).
+ */
+final class VirtualUser {
+
+    // Token-ul se reînnoiește cu un minut înainte să expire, ca niciun request să nu plece cu unul expirat
+    private static final long REFRESH_MARGIN_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    final String username;
+    final String password;
+
+    private final ReentrantLock sessionLock = new ReentrantLock();
+    private final ReentrantLock albumsLock = new ReentrantLock();
+    private final List<Long> albumIds = new ArrayList<>();
+
+    private volatile Session session;
+
+    VirtualUser(String username, String password) {
+        this.username = username;
+        this.password = password;
+    }
+
+    record Session(String token, String refreshToken, long expiresAtNanos) {
+
+        boolean expiresSoon(long now) {
+            return expiresAtNanos - now < REFRESH_MARGIN_NANOS;
+        }
+    }
+
+    Session session() {
+        return session;
+    }
+
+    void session(Session session) {
+        this.session = session;
+    }
+
+    // Un singur refresh per utilizator: refolosirea unui refresh token deja rotit revocă toată familia
+    ReentrantLock sessionLock() {
+        return sessionLock;
+    }
+
+    void addAlbum(long id) {
+        albumsLock.lock();
+        try {
+            albumIds.add(id);
+        } finally {
+            albumsLock.unlock();
+        }
+    }
+
+    // Albumul ales rămâne în listă (GET); null dacă utilizatorul nu mai are albume
+    Long peekAlbum(long choice) {
+        albumsLock.lock();
+        try {
+            return albumIds.isEmpty() ? null : albumIds.get(index(choice));
+        } finally {
+            albumsLock.unlock();
+        }
+    }
+
+    // Albumul ales e scos din listă până la terminarea request-ului (PUT îl pune înapoi, DELETE nu), ca două
+    // request-uri concurente să nu lucreze pe același album
+    Long takeAlbum(long choice) {
+        albumsLock.lock();
+        try {
+            if (albumIds.isEmpty()) {
+                return null;
+            }
+            // Ultimul element ia locul celui scos: O(1), ordinea nu contează
+            int index = index(choice);
+            Long id = albumIds.get(index);
+            albumIds.set(index, albumIds.get(albumIds.size() - 1));
+            albumIds.remove(albumIds.size() - 1);
+            return id;
+        } finally {
+            albumsLock.unlock();
+        }
+    }
+
+    private int index(long choice) {
+        return (int) Math.floorMod(choice, (long) albumIds.size());
+    }
+}
@@ -0,0 +1,149 @@
+package com.albums.musicalbummanager.config;
+
+import com.albums.musicalbummanager.dto.AlbumPage;
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.service.AlbumJsonCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scrie listele de albume (AlbumPage și List&lt;Album&gt;) din fragmentele JSON pre-serializate din
+ * {@link AlbumJsonCache}: fragmentele sunt copiate direct în răspuns, cu separatorii între ele.
+ * Lungimea totală e cunoscută dinainte, deci răspunsul are Content-Length (nu chunked), iar compresia
+ * Tomcat (server.compression.*) poate aplica pragul de dimensiune.
+ * <p>
+ * Rezultatul e identic cu ce ar scrie Jackson; orice alt tip rămâne la convertorul Jackson.
+ */
+@Component
+public class AlbumJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private static final byte[] PAGE_START = "{\"items\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PAGE_CURSOR = "],\"nextCursor\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PAGE_END = "}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ARRAY_START = "[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ARRAY_END = "]".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SEPARATOR = ",".getBytes(StandardCharsets.UTF_8);
+
+    private final AlbumJsonCache albumJsonCache;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public AlbumJsonHttpMessageConverter(AlbumJsonCache albumJsonCache, ObjectMapper objectMapper,
+                                         MeterRegistry meterRegistry) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.albumJsonCache = albumJsonCache;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Fără tipul generic (ex. SseEmitter, RestTemplate) doar AlbumPage; List<Album> e recunoscut în canWrite
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return AlbumPage.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType resolved = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        if (AlbumPage.class.isAssignableFrom(resolved.toClass())) {
+            return true;
+        }
+        // Doar liste declarate ca List<Album>; pentru o listă fără tip generic nu știm ce conține
+        return List.class.isAssignableFrom(resolved.toClass())
+                && Album.class.equals(resolved.asCollection().resolveGeneric(0));
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            List<byte[]> parts = object instanceof AlbumPage page ? pageParts(page) : arrayParts(albums(object));
+            long length = 0;
+            for (byte[] part : parts) {
+                length += part.length;
+            }
+            outputMessage.getHeaders().setContentLength(length);
+            OutputStream body = outputMessage.getBody();
+            for (byte[] part : parts) {
+                body.write(part);
+            }
+        } finally {
+            sample.stop(meterRegistry.timer("http.json.write", "uri", TimedJsonHttpMessageConverter.currentUri()));
+        }
+    }
+
+    private List<byte[]> pageParts(AlbumPage page) throws IOException {
+        List<Album> items = page.getItems() != null ? page.getItems() : List.of();
+        List<byte[]> parts = new ArrayList<>(items.size() * 2 + 3);
+        parts.add(PAGE_START);
+        addFragments(parts, items);
+        parts.add(PAGE_CURSOR);
+        parts.add(objectMapper.writeValueAsBytes(page.getNextCursor()));
+        parts.add(PAGE_END);
+        return parts;
+    }
+
+    private List<byte[]> arrayParts(List<Album> albums) throws IOException {
+        List<byte[]> parts = new ArrayList<>(albums.size() * 2 + 1);
+        parts.add(ARRAY_START);
+        addFragments(parts, albums);
+        parts.add(ARRAY_END);
+        return parts;
+    }
+
+    private void addFragments(List<byte[]> parts, List<Album> albums) throws IOException {
+        for (int i = 0; i < albums.size(); i++) {
+            if (i > 0) {
+                parts.add(SEPARATOR);
+            }
+            parts.add(albumJsonCache.fragment(albums.get(i)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Album> albums(Object object) {
+        return (List<Album>) object;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Album lists are write-only", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Album lists are write-only", inputMessage);
+    }
+}
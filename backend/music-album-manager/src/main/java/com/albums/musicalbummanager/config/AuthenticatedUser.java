@@ -0,0 +1,80 @@
+package com.albums.musicalbummanager.config;
+
+import com.albums.musicalbummanager.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Principalul din SecurityContext: o copie imutabilă a utilizatorului (fără parolă),
+ * ca controller-ele să aibă id-ul și rolul fără să mai interogheze baza de date.
+ */
+public final class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final String role;
+    private final boolean enabled;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String username, String role, boolean enabled) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+        this.enabled = enabled;
+        String authority = role.startsWith("ROLE_") ? role : "ROLE_" + role;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority(authority));
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole(),
+                Boolean.TRUE.equals(user.getEnabled()));
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -1,6 +1,10 @@
 package com.albums.musicalbummanager.config;
+import com.albums.musicalbummanager.service.ChangeFeedExpiredException;
+import com.albums.musicalbummanager.service.InsufficientStockException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -21,4 +25,48 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
     }
+
+    // Parametri invalizi (ex. câmp de sortare necunoscut sau cursor corupt)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+    }
+
+    // Albumul a fost modificat de altcineva între citire și salvare (@Version)
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLock(ObjectOptimisticLockingFailureException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", "The resource was modified concurrently, reload and retry");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errors);
+    }
+
+    // Rezervarea ar fi dus stocul sub zero
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<Map<String, Object>> handleInsufficientStock(InsufficientStockException ex) {
+        Map<String, Object> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        errors.put("albumId", ex.getAlbumId());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errors);
+    }
+
+    // Jurnalul de modificări a fost compactat după since: clientul reîncarcă lista completă
+    @ExceptionHandler(ChangeFeedExpiredException.class)
+    public ResponseEntity<Map<String, Object>> handleChangeFeedExpired(ChangeFeedExpiredException ex) {
+        Map<String, Object> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        errors.put("compactedThrough", ex.getCompactedThrough());
+        return ResponseEntity.status(HttpStatus.GONE).body(errors);
+    }
+
+    // Prea multe login-uri / înregistrări simultan: clientul reîncearcă după o secundă
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Map<String, String>> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errors);
+    }
 }
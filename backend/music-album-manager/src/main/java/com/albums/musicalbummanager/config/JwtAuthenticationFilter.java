@@ -1,5 +1,10 @@
 package com.albums.musicalbummanager.config;
 
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.service.UserCache;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,10 +23,17 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtils jwtUtils;
     private final UserDetailsService userDetailsService;
+    private final UserCache userCache;
+    private final TokenRevocations revocations;
+    private final MeterRegistry meterRegistry;
     
-    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService, UserCache userCache,
+                                   TokenRevocations revocations, MeterRegistry meterRegistry) {
         this.jwtUtils = jwtUtils;
         this.userDetailsService = userDetailsService;
+        this.userCache = userCache;
+        this.revocations = revocations;
+        this.meterRegistry = meterRegistry;
     }
     
     @Override
@@ -38,21 +50,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authHeader = request.getHeader("Authorization");
         
-        String jwt = null;
-        String username = null;
+        VerifiedToken token = null;
         
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7); 
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "invalid";
             try {
-                username = jwtUtils.extractUsername(jwt);
-            } catch (Exception e) {
+                // Un singur parse: semnătura și expirarea sunt verificate aici (sau luate din cache)
+                token = jwtUtils.verify(authHeader.substring(7));
+                outcome = "valid";
+                // Rol schimbat sau cont șters după emitere: respins din memorie, fără să ajungem la utilizator
+                if (revocations.isRevoked(token.getUserId(), token.getEpoch())) {
+                    token = null;
+                    outcome = "revoked";
+                }
+            } catch (JwtException | IllegalArgumentException e) {
             }
+            sample.stop(meterRegistry.timer("auth.token.verify", "outcome", outcome));
         }
         
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AuthenticatedUser userDetails = loadPrincipal(token);
+            sample.stop(meterRegistry.timer("auth.user.load", "found", String.valueOf(userDetails != null)));
             
-            if (jwtUtils.validateToken(jwt, userDetails)) {
+            if (userDetails != null && userDetails.isEnabled()
+                    && userDetails.getUsername().equals(token.getUsername())) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -66,4 +89,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Utilizatorul vine din cache după id-ul din token; doar token-urile vechi, fără id, mai ajung la baza de date
+    private AuthenticatedUser loadPrincipal(VerifiedToken token) {
+        if (token.getUserId() != null) {
+            return userCache.get(token.getUserId()).orElse(null);
+        }
+        UserDetails userDetails = userDetailsService.loadUserByUsername(token.getUsername());
+        return userDetails instanceof User user ? AuthenticatedUser.from(user) : null;
+    }
+
 }
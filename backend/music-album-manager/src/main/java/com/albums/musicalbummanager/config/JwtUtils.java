@@ -1,32 +1,94 @@
 package com.albums.musicalbummanager.config;
 
 
+import com.albums.musicalbummanager.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
-public class JwtUtils {
+public class JwtUtils implements MeterBinder {
     @Value("${jwt.secret:mySecretKey123456789012345678901234567890}") // Secret key pentru semnarea token-ului
     private String secret;
 
-    @Value("${jwt.expiration:86400000}") // 24 ore în milisecunde (default)
+    @Value("${jwt.expiration:900000}") // 15 minute în milisecunde (default); sesiunea continuă prin refresh token
     private Long expiration;
 
-    // Extrage secret key-ul
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Value("${jwt.cache.max-size:10000}") // Câte token-uri deja verificate ținem în memorie
+    private long cacheMaxSize;
+
+    // Cheia și parser-ul sunt imutabile și thread-safe, le construim o singură dată
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Token-uri deja verificate, indexate după SHA-256; fiecare intrare expiră odată cu token-ul
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    private final TokenRevocations revocations;
+
+    public JwtUtils(TokenRevocations revocations) {
+        this.revocations = revocations;
+    }
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long millisLeft = token.getExpiresAt().toEpochMilli() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisLeft));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    // Hit ratio-ul cache-ului de token-uri verificate (cache="jwt.tokens")
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "jwt.tokens");
     }
 
     // Generează token pentru un utilizator
@@ -38,6 +100,18 @@ public class JwtUtils {
             String role = authorities.iterator().next().getAuthority();
             claims.put("role", role);
         }
+        // Id-ul utilizatorului, ca request-urile ulterioare să nu-l mai caute după username
+        Long userId = null;
+        if (userDetails instanceof User user) {
+            userId = user.getId();
+        } else if (userDetails instanceof AuthenticatedUser user) {
+            userId = user.getId();
+        }
+        if (userId != null) {
+            claims.put("uid", userId);
+            // O revocare ulterioară mărește epoca utilizatorului și face token-ul invalid
+            claims.put("ep", revocations.epoch(userId));
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -48,18 +122,56 @@ public class JwtUtils {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verifică semnătura și expirarea într-un singur parse și întoarce claims-urile utile.
+     * Un token deja verificat este servit din cache, fără nicio operație criptografică.
+     *
+     * @throws JwtException dacă token-ul este invalid sau expirat
+     */
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        Claims claims = extractAllClaims(token);
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            throw new JwtException("Token must have a subject and an expiration");
+        }
+        VerifiedToken verified = new VerifiedToken(
+                claims.get("uid", Long.class),
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.getExpiration().toInstant(),
+                epoch(claims)
+        );
+        verifiedTokens.put(digest, verified);
+        return verified;
+    }
+
+    // Durata de viață a token-urilor de acces, în milisecunde
+    public long getExpiration() {
+        return expiration;
+    }
+
+    private static long epoch(Claims claims) {
+        Long epoch = claims.get("ep", Long.class);
+        return epoch != null ? epoch : 0;
+    }
+
     // Extrage username-ul din token
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getUsername();
     }
 
     // Extrage data expirării din token
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return Date.from(verify(token).getExpiresAt());
     }
 
     // Extrage un claim specific din token
@@ -68,23 +180,28 @@ public class JwtUtils {
         return claimsResolver.apply(claims);
     }
 
-    // Extrage toate claims-urile din token
+    // Extrage toate claims-urile din token (jjwt respinge singur token-urile expirate)
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    // Verifică dacă token-ul a expirat
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     // Validează token-ul pentru un utilizator
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        try {
+            VerifiedToken verified = verify(token);
+            return verified.getUsername().equals(userDetails.getUsername()) && !verified.isExpired();
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // SHA-256 în Base64: cheia din cache și forma în care sunt păstrate refresh token-urile
+    public static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
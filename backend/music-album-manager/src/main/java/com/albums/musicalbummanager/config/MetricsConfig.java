@@ -0,0 +1,95 @@
+package com.albums.musicalbummanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Metrici pentru căile fierbinți, expuse prin Actuator (/actuator/prometheus, pentru ADMIN sau pe portul de
+ * management): pe lângă http.server.requests
+ * și pool-ul de conexiuni (configurate de Spring Boot), adaugă statistici Hibernate globale și per request,
+ * durata fiecărei instrucțiuni SQL și log-ul interogărilor lente ({@link QueryRecordingListener}),
+ * timpul de randare JSON și cache-urile (prin MeterBinder-ii din JwtUtils, UserCache și AlbumCache).
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Fiecare instrucțiune SQL pregătită de Hibernate e numărată pe request-ul curent
+    @Bean
+    public HibernatePropertiesCustomizer requestStatisticsCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                RequestStatistics.statementPrepared();
+                return sql;
+            });
+            properties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, "true");
+            // Statisticile sunt pentru metrici; fără asta fiecare sesiune ar scrie un bloc INFO "Session Metrics"
+            properties.putIfAbsent(AvailableSettings.LOG_SESSION_METRICS, "false");
+        };
+    }
+
+    // Învelește DataSource-ul folosit de JPA și JdbcTemplate (cu replici: proxy-ul de rutare), nu pool-urile
+    @Bean
+    public static BeanPostProcessor queryRecordingDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                         Environment environment) {
+        long slowQueryMillis = environment.getProperty("albums.sql.slow-query-millis", Long.class, 200L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(new QueryRecordingListener(meterRegistry, slowQueryMillis))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Statisticile globale ale SessionFactory (interogări, încărcări, flush-uri, tranzacții) ca metrici hibernate.*
+    @Bean
+    public HibernateMetrics hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> RequestStatistics.entityLoaded());
+        listeners.appendListeners(EventType.FLUSH, (FlushEventListener) event -> RequestStatistics.flushed());
+        return new HibernateMetrics(sessionFactory.unwrap(SessionFactory.class), "default", Tags.empty());
+    }
+
+    // Rulează înaintea lanțului de securitate, ca să prindă și interogările făcute la autentificare
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestMetricsFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    // Înlocuiește convertorul Jackson implicit al Spring Boot (același ObjectMapper)
+    @Bean
+    public TimedJsonHttpMessageConverter timedJsonHttpMessageConverter(ObjectMapper objectMapper,
+                                                                       MeterRegistry meterRegistry) {
+        return new TimedJsonHttpMessageConverter(objectMapper, meterRegistry);
+    }
+}
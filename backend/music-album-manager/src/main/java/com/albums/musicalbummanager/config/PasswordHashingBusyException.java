@@ -0,0 +1,12 @@
+package com.albums.musicalbummanager.config;
+
+/**
+ * Coada executorului de hash-uri de parolă e plină; request-ul e respins imediat (503 + Retry-After)
+ * în loc să țină ocupat un thread Tomcat.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Too many concurrent password operations, retry shortly");
+    }
+}
@@ -0,0 +1,143 @@
+package com.albums.musicalbummanager.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.temporal.Temporal;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Înregistrează fiecare instrucțiune SQL executată prin DataSource-ul aplicației, indiferent cine o trimite
+ * (Hibernate, JdbcTemplate, jurnalul de modificări): o numără pe request-ul curent ({@link RequestStatistics}),
+ * îi măsoară durata în timer-ul jdbc.statement (etichetat cu tipul: select, insert, update, delete, other)
+ * și o scrie în log dacă depășește pragul, cu un rezumat al parametrilor.
+ * <p>
+ * Interceptarea JDBC e făcută de datasource-proxy ({@link MetricsConfig} învelește DataSource-ul); aici e doar
+ * ce se face cu o instrucțiune executată. Înlocuiește spring.jpa.show-sql: cu logger-ul clasei pe DEBUG se vede
+ * fiecare instrucțiune, cu durata ei.
+ */
+public class QueryRecordingListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryRecordingListener.class);
+
+    private static final String START = QueryRecordingListener.class.getName() + ".start";
+    private static final Set<String> OPERATIONS = Set.of("select", "insert", "update", "delete");
+    private static final int MAX_SQL_LENGTH = 500;
+    private static final int MAX_PARAMETERS = 20;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final long slowQueryNanos;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public QueryRecordingListener(ObjectProvider<MeterRegistry> meterRegistry, long slowQueryMillis) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMillis);
+    }
+
+    // Cronometrul propriu: ExecutionInfo.getElapsedTime e în milisecunde, prea grosier pentru timer
+    @Override
+    public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        execution.addCustomValue(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        long nanos = System.nanoTime() - execution.getCustomValue(START, Long.class);
+        // Un batch de Statement poate avea mai multe texte SQL; se numără și se etichetează după primul
+        String sql = queries.isEmpty() ? null : queries.get(0).getQuery();
+        RequestStatistics.statementExecuted(nanos);
+        String operation = operationOf(sql);
+        // Registry-ul e rezolvat la prima instrucțiune, nu la crearea DataSource-ului (care îl precede)
+        timers.computeIfAbsent(operation, key -> Timer.builder("jdbc.statement")
+                .description("Durata execuției instrucțiunilor SQL")
+                .tag("operation", key)
+                .register(meterRegistry.getObject()))
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos >= slowQueryNanos) {
+            log.warn("Slow query ({} ms{}): {} {}", TimeUnit.NANOSECONDS.toMillis(nanos),
+                    execution.isBatch() ? ", batch of " + execution.getBatchSize() : "",
+                    abbreviate(String.valueOf(sql), MAX_SQL_LENGTH), summarize(queries));
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} us: {} {}", TimeUnit.NANOSECONDS.toMicros(nanos),
+                    abbreviate(String.valueOf(sql), MAX_SQL_LENGTH), summarize(queries));
+        }
+    }
+
+    private static String operationOf(String sql) {
+        if (sql == null) {
+            return "other";
+        }
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return OPERATIONS.contains(keyword) ? keyword : "other";
+    }
+
+    // Parametrii ultimului rând din batch (sau ai instrucțiunii), după index
+    private static String summarize(List<QueryInfo> queries) {
+        if (queries.isEmpty() || queries.get(0).getParametersList().isEmpty()) {
+            return "";
+        }
+        List<List<ParameterSetOperation>> rows = queries.get(0).getParametersList();
+        List<ParameterSetOperation> parameters = rows.get(rows.size() - 1).stream()
+                .filter(parameter -> parameter.getArgs().length >= 2 && parameter.getArgs()[0] instanceof Integer)
+                .sorted((a, b) -> Integer.compare((Integer) a.getArgs()[0], (Integer) b.getArgs()[0]))
+                .toList();
+        if (parameters.isEmpty()) {
+            return "";
+        }
+        StringBuilder summary = new StringBuilder("[");
+        int shown = 0;
+        for (ParameterSetOperation parameter : parameters) {
+            if (shown == MAX_PARAMETERS) {
+                summary.append(", … ").append(parameters.size() - shown).append(" more");
+                break;
+            }
+            if (shown++ > 0) {
+                summary.append(", ");
+            }
+            summary.append(parameter.getArgs()[0]).append('=').append(ParameterSetOperation
+                    .isSetNullParameterOperation(parameter) ? "null" : describe(parameter.getArgs()[1]));
+        }
+        return summary.append(']').toString();
+    }
+
+    // Textele apar doar ca tip și lungime: pot fi hash-uri de parole, token-uri sau date personale, iar log-ul
+    // ajunge în locuri mai puțin protejate decât baza de date. Numerele și datele rămân (id-uri, filtre).
+    private static String describe(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence text) {
+            return "<" + value.getClass().getSimpleName() + "(" + text.length() + ")>";
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Date
+                || value instanceof Temporal) {
+            return value.toString();
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        return "<" + value.getClass().getSimpleName() + ">";
+    }
+
+    private static String abbreviate(String text, int maxLength) {
+        return text.length() <= maxLength ? text : text.substring(0, maxLength) + "…(" + text.length() + ")";
+    }
+}
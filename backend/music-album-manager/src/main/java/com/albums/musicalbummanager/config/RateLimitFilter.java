@@ -0,0 +1,90 @@
+package com.albums.musicalbummanager.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitează login-urile și înregistrările per IP (/api/auth/**, înainte de BCrypt) și modificările per
+ * utilizator autentificat (POST/PUT/PATCH/DELETE pe restul API-ului). Citirile nu sunt limitate.
+ * <p>
+ * Răspunsurile limitate au antetele RateLimit-Limit, RateLimit-Remaining și RateLimit-Reset (secunde până
+ * la găleata plină); cele respinse primesc 429 cu Retry-After.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final RateLimiter authLimiter;
+    private final RateLimiter writeLimiter;
+    private final Counter authRejected;
+    private final Counter writesRejected;
+
+    public RateLimitFilter(RateLimiter authLimiter, RateLimiter writeLimiter, MeterRegistry meterRegistry) {
+        this.authLimiter = authLimiter;
+        this.writeLimiter = writeLimiter;
+        this.authRejected = rejected(meterRegistry, "auth");
+        this.writesRejected = rejected(meterRegistry, "writes");
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String policy) {
+        return Counter.builder("http.rate_limit.rejected")
+                .description("Cereri respinse cu 429, după politică")
+                .tag("policy", policy)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (request.getRequestURI().startsWith("/api/auth/")) {
+            // Proxy-ul din față trebuie să trimită IP-ul clientului (server.forward-headers-strategy)
+            if (!admit(authLimiter, "ip:" + request.getRemoteAddr(), response, authRejected)) {
+                return;
+            }
+        } else if (MUTATING_METHODS.contains(request.getMethod())) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && !(authentication instanceof AnonymousAuthenticationToken)
+                    && !admit(writeLimiter, "user:" + authentication.getName(), response, writesRejected)) {
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static boolean admit(RateLimiter limiter, String key, HttpServletResponse response, Counter rejected)
+            throws IOException {
+        RateLimiter.Decision decision = limiter.tryAcquire(key);
+        response.setHeader("RateLimit-Limit", String.valueOf(limiter.getBurst()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(seconds(decision.resetNanos())));
+        if (decision.allowed()) {
+            return true;
+        }
+        rejected.increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds(decision.retryAfterNanos())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests, retry later\"}");
+        return false;
+    }
+
+    // Rotunjit în sus: un client care așteaptă exact Retry-After nu trebuie să fie respins din nou
+    private static long seconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
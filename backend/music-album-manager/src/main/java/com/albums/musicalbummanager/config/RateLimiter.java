@@ -0,0 +1,139 @@
+package com.albums.musicalbummanager.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per cheie (utilizator sau IP), fără lock-uri: starea unei găleți e un singur long, momentul
+ * la care ar fi din nou plină (GCRA), actualizat cu compare-and-set. O cerere consumă un interval de
+ * reumplere; e respinsă dacă momentul ar depăși acum + capacitatea găleții.
+ * <p>
+ * Gălețile stau într-un ConcurrentHashMap (citiri fără lock, inserări blocate doar pe bin). O găleată
+ * plină e echivalentă cu una lipsă, așa că cele pline sunt scoase periodic, de thread-ul care observă primul
+ * că a trecut intervalul, fără thread separat. Dacă o cerere consumă exact dintr-o găleată în timp ce e
+ * scoasă, acea cerere nu e numărată: cel mult un permis în plus, rar.
+ * <p>
+ * Numărul de găleți nu depășește niciodată maxKeys: un loc se rezervă înainte de inserare. Cât timp harta e
+ * plină, cheile noi împart o singură găleată de rezervă (ex. un atacator care schimbă IP-ul la fiecare cerere),
+ * iar cheile deja urmărite își păstrează găleata lor. Locurile se eliberează doar la curățarea periodică.
+ */
+public class RateLimiter {
+
+    private final int burst;
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final long maxKeys;
+    private final long sweepIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong overflow = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private volatile long nextSweep;
+
+    /**
+     * @param permitsPerSecond ritmul de reumplere
+     * @param burst            câte cereri pot trece una după alta dintr-o găleată plină
+     */
+    public RateLimiter(double permitsPerSecond, int burst, long maxKeys, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit needs a positive rate and a burst of at least 1");
+        }
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("Rate limit needs room for at least one key");
+        }
+        this.burst = burst;
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.capacityNanos = intervalNanos * burst;
+        this.maxKeys = maxKeys;
+        // O cheie inactivă trăiește cel mult cât îi trebuie găleții să se umple plus un interval de curățare
+        this.sweepIntervalNanos = Math.max(TimeUnit.SECONDS.toNanos(1),
+                Math.min(capacityNanos, TimeUnit.MINUTES.toNanos(1)));
+        this.nanoClock = nanoClock;
+        this.nextSweep = nanoClock.getAsLong() + sweepIntervalNanos;
+    }
+
+    public RateLimiter(double permitsPerSecond, int burst, long maxKeys) {
+        this(permitsPerSecond, burst, maxKeys, System::nanoTime);
+    }
+
+    public Decision tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        if (now >= nextSweep) {
+            sweep(now);
+        }
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = track(key);
+        }
+        while (true) {
+            long full = bucket.get();
+            long ahead = Math.max(full, now) - now + intervalNanos;
+            if (ahead > capacityNanos) {
+                // Găleata e goală; se eliberează un loc când momentul „plin” coboară sub capacitate
+                return new Decision(false, 0, ahead - intervalNanos, ahead - capacityNanos);
+            }
+            if (bucket.compareAndSet(full, now + ahead)) {
+                return new Decision(true, (int) ((capacityNanos - ahead) / intervalNanos), ahead, 0);
+            }
+        }
+    }
+
+    // Inserează găleata cheii dacă mai e loc, altfel întoarce găleata de rezervă comună
+    private AtomicLong track(String key) {
+        long tracked;
+        do {
+            tracked = size.get();
+            if (tracked >= maxKeys) {
+                return overflow;
+            }
+        } while (!size.compareAndSet(tracked, tracked + 1));
+
+        // O găleată nouă e plină: max(tat, now) = now
+        AtomicLong created = new AtomicLong(Long.MIN_VALUE);
+        AtomicLong existing = buckets.putIfAbsent(key, created);
+        if (existing != null) {
+            // Alt thread a inserat aceeași cheie între timp: locul rezervat nu mai e necesar
+            size.decrementAndGet();
+            return existing;
+        }
+        return created;
+    }
+
+    // Un singur thread curăță; ceilalți trec mai departe fără să aștepte
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            nextSweep = now + sweepIntervalNanos;
+            for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+                if (entry.getValue().get() <= now && buckets.remove(entry.getKey(), entry.getValue())) {
+                    size.decrementAndGet();
+                }
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public long trackedKeys() {
+        return buckets.mappingCount();
+    }
+
+    /**
+     * @param remaining       cereri care mai pot trece acum
+     * @param resetNanos      până când găleata e din nou plină
+     * @param retryAfterNanos pentru o cerere respinsă: până când trece următoarea
+     */
+    public record Decision(boolean allowed, int remaining, long resetNanos, long retryAfterNanos) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.albums.musicalbummanager.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Utilizatorii care au trimis recent o cerere de modificare: citirile lor merg pe primary încă
+ * albums.datasource.read-your-writes-millis, ca să-și vadă propriile scrieri chiar dacă replicile
+ * sunt în urmă. Ținut în memorie, pe instanță.
+ */
+@Component
+public class ReadYourWrites {
+
+    private static final long MAX_TRACKED_USERS = 100_000;
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(@Value("${albums.datasource.read-your-writes-millis:5000}") long windowMillis) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(windowMillis))
+                .maximumSize(MAX_TRACKED_USERS)
+                .build();
+    }
+
+    public void wrote(String username) {
+        recentWriters.put(username, Boolean.TRUE);
+    }
+
+    // Utilizatorul request-ului curent (din SecurityContext) a scris în fereastra configurată
+    public boolean currentUserRecentlyWrote() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && recentWriters.getIfPresent(authentication.getName()) != null;
+    }
+}
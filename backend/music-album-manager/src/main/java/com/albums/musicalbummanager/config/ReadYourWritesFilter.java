@@ -0,0 +1,54 @@
+package com.albums.musicalbummanager.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Marchează utilizatorul autentificat care trimite o cerere de modificare, înainte de execuția ei:
+ * răspunsul poate ajunge la client (și următoarea lui cerere la server) înainte să se termine filtrul.
+ * Marcajul se reînnoiește după execuție, ca fereastra să curgă de la commit și pentru scrierile
+ * mai lungi decât ea (importul, modificările și ștergerile în masă).
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final ReadYourWrites readYourWrites;
+
+    public ReadYourWritesFilter(ReadYourWrites readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String writer = MUTATING_METHODS.contains(request.getMethod()) ? currentUser() : null;
+        if (writer == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        readYourWrites.wrote(writer);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWrites.wrote(writer);
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
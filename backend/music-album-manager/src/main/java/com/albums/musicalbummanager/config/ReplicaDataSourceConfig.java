@@ -0,0 +1,136 @@
+package com.albums.musicalbummanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.resource.jdbc.spi.LogicalConnectionImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Activ doar cu albums.datasource.replica-urls: primary-ul rămâne configurat prin spring.datasource.*
+ * (inclusiv spring.datasource.hikari.*), iar DataSource-ul folosit de JPA și JdbcTemplate devine
+ * {@link ReplicaRoutingDataSource}. Fără replici, Spring Boot configurează DataSource-ul ca de obicei.
+ */
+@Configuration
+@ConditionalOnProperty("albums.datasource.replica-urls")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (properties.getName() != null) {
+            primary.setPoolName(properties.getName());
+        }
+        return primary;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource, DataSourceProperties properties, ReadYourWrites readYourWrites,
+            MeterRegistry meterRegistry,
+            @Value("${albums.datasource.replica-urls}") String[] urls,
+            @Value("${albums.datasource.replica-username:${spring.datasource.username:}}") String username,
+            @Value("${albums.datasource.replica-password:${spring.datasource.password:}}") String password,
+            @Value("${albums.datasource.replica-pool-size:10}") int poolSize,
+            @Value("${albums.datasource.replica-connection-timeout-millis:1000}") long connectionTimeoutMillis,
+            @Value("${albums.datasource.replica-health-millis:5000}") long healthCheckMillis) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(urls[i].trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            if (properties.getDriverClassName() != null) {
+                replica.setDriverClassName(properties.getDriverClassName());
+            }
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            // O replică oprită trebuie să cedeze repede (fallback pe primary), nu după 30 de secunde
+            replica.setConnectionTimeout(connectionTimeoutMillis);
+            // Pool-ul pornește și cu replica oprită; verificarea periodică o adaugă în rotație
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWrites, healthCheckMillis,
+                meterRegistry);
+    }
+
+    // Rutarea se decide la obținerea conexiunii. Cu spring.jpa.open-in-view=true, EntityManager-ul trăiește cât
+    // request-ul și și-ar păstra conexiunea de la o tranzacție la alta: o scriere de după o citire de pe replică
+    // ar ajunge pe replică
+    @Bean
+    public static BeanPostProcessor connectionReleasingJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new ConnectionReleasingJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Eliberează conexiunea sesiunii la sfârșitul fiecărei tranzacții, ca următoarea tranzacție a aceluiași
+     * EntityManager să fie rutată din nou. Modul DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION ar face
+     * același lucru, dar HibernateJpaDialect nu mai acceptă atunci niveluri de izolare proprii.
+     */
+    static final class ConnectionReleasingJpaDialect extends HibernateJpaDialect {
+
+        @Override
+        public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+                throws PersistenceException, SQLException, TransactionException {
+            return new TransactionData(entityManager, super.beginTransaction(entityManager, definition));
+        }
+
+        @Override
+        public void cleanupTransaction(Object transactionData) {
+            if (!(transactionData instanceof TransactionData data)) {
+                super.cleanupTransaction(transactionData);
+                return;
+            }
+            super.cleanupTransaction(data.delegate);
+            if (data.entityManager.isOpen()) {
+                LogicalConnectionImplementor connection = data.entityManager.unwrap(SessionImplementor.class)
+                        .getJdbcCoordinator().getLogicalConnection();
+                if (connection.isPhysicallyConnected()) {
+                    connection.manualDisconnect();
+                }
+            }
+        }
+
+        private record TransactionData(EntityManager entityManager, Object delegate) {
+        }
+    }
+}
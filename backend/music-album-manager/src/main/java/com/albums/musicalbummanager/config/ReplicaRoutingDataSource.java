@@ -0,0 +1,198 @@
+package com.albums.musicalbummanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Trimite tranzacțiile read-only pornite din {@link #onReplica} pe replici (round-robin printre cele
+ * sănătoase) și restul pe primary.
+ * Decizia se ia la prima instrucțiune SQL, deci trebuie folosit în spatele unui
+ * LazyConnectionDataSourceProxy: abia atunci flag-ul read-only al tranzacției e cunoscut.
+ * <p>
+ * Rămân pe primary: scrierile, orice altă citire, citirile utilizatorilor care au scris recent ({@link ReadYourWrites}) și toate citirile când nicio
+ * replică nu e sănătoasă. O replică care nu dă conexiune e scoasă imediat din rotație; verificarea
+ * periodică o readuce.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadYourWrites readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecks;
+    private final Counter primaryConnections;
+    private final Counter stickyReads;
+    private final Counter replicaReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools,
+                                    ReadYourWrites readYourWrites, long healthCheckMillis, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.readYourWrites = readYourWrites;
+        for (HikariDataSource pool : replicaPools) {
+            Replica replica = new Replica(pool);
+            replicas.add(replica);
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("pool", pool.getPoolName())
+                    .register(meterRegistry);
+        }
+        this.primaryConnections = routed(meterRegistry, "primary", "read-write");
+        this.stickyReads = routed(meterRegistry, "primary", "read-your-writes");
+        this.replicaReads = routed(meterRegistry, "replica", "read-only");
+        this.fallbackReads = routed(meterRegistry, "primary", "replica-unavailable");
+        this.healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.healthChecks.scheduleWithFixedDelay(this::checkReplicas, 0, healthCheckMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Permite ca tranzacțiile read-only din work să citească de pe o replică. Opțiune explicită: și
+     * metodele de citire din repository-urile Spring Data sunt read-only, dar multe dintre ele (încărcările
+     * în cache, jurnalul de modificări) ar păstra sau ar publica mai departe un rând vechi de pe o replică
+     * în urmă. Fără replici configurate nu are efect.
+     */
+    public static <T> T onReplica(Supplier<T> work) {
+        Boolean previous = REPLICA_ALLOWED.get();
+        REPLICA_ALLOWED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                REPLICA_ALLOWED.remove();
+            }
+        }
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("datasource.routing")
+                .description("Conexiuni obținute, după destinație și motiv")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    // Aceeași rutare; pool-urile Hikari nu acceptă alte credențiale și aruncă SQLFeatureNotSupportedException
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(Connector connector) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || REPLICA_ALLOWED.get() == null) {
+            primaryConnections.increment();
+            return connector.connect(primary);
+        }
+        if (readYourWrites.currentUserRecentlyWrote()) {
+            stickyReads.increment();
+            return connector.connect(primary);
+        }
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = nextHealthy();
+            if (replica == null) {
+                break;
+            }
+            try {
+                Connection connection = connector.connect(replica.pool);
+                replicaReads.increment();
+                return connection;
+            } catch (SQLFeatureNotSupportedException e) {
+                // Cererea nu e suportată, replica nu e de vină
+                throw e;
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+        fallbackReads.increment();
+        return connector.connect(primary);
+    }
+
+    private Replica nextHealthy() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.pool.getConnection()) {
+                healthy = connection.isValid(1);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy && !replica.healthy) {
+                log.info("Replica {} is healthy, reads are routed to it", replica.pool.getPoolName());
+            } else if (!healthy && replica.healthy) {
+                log.warn("Replica {} failed its health check, reads fall back to other replicas or the primary",
+                        replica.pool.getPoolName());
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private void markDown(Replica replica, SQLException e) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica {} refused a connection ({}), removed from rotation until its next health check",
+                    replica.pool.getPoolName(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        healthChecks.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        final HikariDataSource pool;
+        // Nesănătoasă până la prima verificare reușită
+        volatile boolean healthy;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.albums.musicalbummanager.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Înregistrează, pentru fiecare request, câte instrucțiuni SQL, încărcări de entități și flush-uri
+ * a declanșat, ca distribuții hibernate.request.* etichetate cu endpoint-ul (șablonul de URI, nu URL-ul),
+ * plus instrucțiunile executate efectiv pe conexiune (jdbc.request.statements) și timpul lor total.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStatistics statistics = RequestStatistics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatistics.end();
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestStatistics statistics) {
+        // Șablonul e pus de DispatcherServlet; lipsește dacă request-ul a fost respins înainte (ex. 401)
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+        meterRegistry.summary("hibernate.request.statements", "uri", uri, "method", method)
+                .record(statistics.getStatements());
+        meterRegistry.summary("hibernate.request.entity.loads", "uri", uri, "method", method)
+                .record(statistics.getEntityLoads());
+        meterRegistry.summary("hibernate.request.flushes", "uri", uri, "method", method)
+                .record(statistics.getFlushes());
+        meterRegistry.summary("jdbc.request.statements", "uri", uri, "method", method)
+                .record(statistics.getExecutions());
+        meterRegistry.timer("jdbc.request.time", "uri", uri, "method", method)
+                .record(statistics.getExecutionNanos(), TimeUnit.NANOSECONDS);
+    }
+}
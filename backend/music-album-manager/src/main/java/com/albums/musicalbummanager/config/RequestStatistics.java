@@ -0,0 +1,78 @@
+package com.albums.musicalbummanager.config;
+
+/**
+ * Contoare pentru request-ul curent (instrucțiuni pregătite de Hibernate, entități încărcate, flush-uri,
+ * plus toate instrucțiunile executate pe conexiune și durata lor), ținute pe thread. În afara unui request (ex. job-uri la pornire) nu se numără nimic.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entityLoads;
+    private int flushes;
+    private int executions;
+    private long executionNanos;
+
+    private RequestStatistics() {
+    }
+
+    public static RequestStatistics begin() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static void statementPrepared() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entityLoads++;
+        }
+    }
+
+    static void flushed() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.flushes++;
+        }
+    }
+
+    static void statementExecuted(long nanos) {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.executions++;
+            statistics.executionNanos += nanos;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    public int getFlushes() {
+        return flushes;
+    }
+
+    public int getExecutions() {
+        return executions;
+    }
+
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+}
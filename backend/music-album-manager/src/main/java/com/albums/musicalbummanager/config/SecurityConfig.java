@@ -1,7 +1,11 @@
 package com.albums.musicalbummanager.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.Filter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -20,14 +24,27 @@ public class SecurityConfig {
 
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ReadYourWrites readYourWrites;
+    private final MeterRegistry meterRegistry;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, ReadYourWrites readYourWrites,
+                          MeterRegistry meterRegistry) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.readYourWrites = readYourWrites;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${auth.password.bcrypt-strength:10}") int strength,
+                                           @Value("${auth.password.hashing-threads:0}") int threads,
+                                           @Value("${auth.password.queue-capacity:16}") int queueCapacity) {
+        // 0 = câte un thread per nucleu: BCrypt e pur CPU, mai multe thread-uri doar ar împărți același CPU
+        int hashingThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // Hash-urile vechi, cu un cost mai mic decât cel configurat, sunt refăcute la următorul login reușit
+        // (upgradeEncoding + CustomUserDetailsService.updatePassword)
+        PasswordEncoder bcrypt = new TimedPasswordEncoder(new BCryptPasswordEncoder(strength), meterRegistry);
+        return new BoundedPasswordEncoder(bcrypt, hashingThreads, queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -36,16 +53,42 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            @Value("${albums.rate-limit.enabled:true}") boolean rateLimitEnabled,
+            @Value("${albums.rate-limit.auth.per-minute:30}") double authPerMinute,
+            @Value("${albums.rate-limit.auth.burst:10}") int authBurst,
+            @Value("${albums.rate-limit.writes.per-second:20}") double writesPerSecond,
+            @Value("${albums.rate-limit.writes.burst:50}") int writesBurst,
+            @Value("${albums.rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${management.server.port:-1}") int managementPort) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session->session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        // Scrape-ul Prometheus (endpoint-uri, interogări, utilizatori, cache-uri) nu e public: fără token
+                        // de ADMIN doar pe portul de management (management.server.port), care nu se expune în afară
+                        .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort
+                                && request.getRequestURI().endsWith("/actuator/prometheus")).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        // Coperțile sunt încărcate de tag-uri img, fără token; numele (hash-ul) nu poate fi ghicit
+                        .requestMatchers(HttpMethod.GET, "/api/covers/**").permitAll()
                         .requestMatchers("/api/albums/**").authenticated()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        // După autentificare: modificările sunt limitate per utilizator, înainte de orice altă muncă
+        Class<? extends Filter> authenticated = JwtAuthenticationFilter.class;
+        if (rateLimitEnabled) {
+            RateLimiter authLimiter = new RateLimiter(authPerMinute / 60, authBurst, maxKeys);
+            RateLimiter writeLimiter = new RateLimiter(writesPerSecond, writesBurst, maxKeys);
+            http.addFilterAfter(new RateLimitFilter(authLimiter, writeLimiter, meterRegistry), authenticated);
+            authenticated = RateLimitFilter.class;
+        }
+        // Cine trimite o modificare (acceptată) își citește apoi scrierile de pe primary
+        http.addFilterAfter(new ReadYourWritesFilter(readYourWrites), authenticated);
 
         return http.build();
     }
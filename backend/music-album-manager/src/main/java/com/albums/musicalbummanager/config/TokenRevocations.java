@@ -0,0 +1,148 @@
+package com.albums.musicalbummanager.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Epoca token-urilor per utilizator, ținută în memorie: un token de acces poartă epoca de la emitere („ep”)
+ * și e respins dacă utilizatorul a fost revocat între timp (rol schimbat, cont șters, refresh token refolosit).
+ * Epoca e momentul revocării în milisecunde, deci rămâne crescătoare și după ce o intrare veche e uitată.
+ * <p>
+ * Verificarea de pe fiecare request trece întâi printr-un filtru Bloom (câțiva biți, fără alocări): pentru
+ * utilizatorii nerevocați, aproape toți, răspunsul e sigur „nu”. Doar la un răspuns „poate” se consultă
+ * map-ul exact. O revocare contează cât trăiește un token de acces; după aceea intrarea e scoasă și filtrul
+ * e reconstruit. Revocările sunt per instanță și se pierd la restart: rolul și existența utilizatorului
+ * rămân verificate prin UserCache.
+ */
+@Component
+public class TokenRevocations implements MeterBinder {
+
+    private static final int HASHES = 3;
+
+    private final ConcurrentHashMap<Long, Long> epochs = new ConcurrentHashMap<>();
+    private final long retentionMillis;
+    private final int mask;
+    private final LongSupplier clock;
+    // Înlocuit întreg la curățare; cititorii care au încă filtrul vechi văd un superset, deci nimic nu scapă
+    private volatile AtomicLongArray filter;
+    private long nextSweep;
+
+    @Autowired
+    public TokenRevocations(@Value("${jwt.expiration:900000}") long accessTokenMillis,
+                            @Value("${jwt.revocations.filter-bits:65536}") int filterBits) {
+        this(accessTokenMillis, filterBits, System::currentTimeMillis);
+    }
+
+    public TokenRevocations(long accessTokenMillis, int filterBits, LongSupplier clock) {
+        if (filterBits < 64) {
+            throw new IllegalArgumentException("Revocation filter needs at least 64 bits");
+        }
+        // Putere a lui 2, ca indexul să fie o mască
+        int bits = Integer.highestOneBit(filterBits - 1) << 1;
+        this.retentionMillis = Math.max(0, accessTokenMillis);
+        this.mask = bits - 1;
+        this.clock = clock;
+        this.filter = new AtomicLongArray(bits / 64);
+        this.nextSweep = clock.getAsLong() + retentionMillis;
+    }
+
+    /**
+     * @return epoca curentă a utilizatorului; 0 dacă n-a fost revocat cât timp trăiește un token de acces
+     */
+    public long epoch(Long userId) {
+        if (userId == null || !mightContain(filter, userId)) {
+            return 0;
+        }
+        return epochs.getOrDefault(userId, 0L);
+    }
+
+    public boolean isRevoked(Long userId, long tokenEpoch) {
+        return epoch(userId) > tokenEpoch;
+    }
+
+    /**
+     * Invalidează toate token-urile de acces emise până acum pentru utilizator; cele emise după au noua epocă.
+     *
+     * @return noua epocă
+     */
+    public synchronized long revoke(Long userId) {
+        long now = clock.getAsLong();
+        if (now >= nextSweep) {
+            sweep(now);
+        }
+        long epoch = Math.max(now, epochs.getOrDefault(userId, 0L) + 1);
+        // Întâi intrarea, apoi biții: cine vede biții setați vede și intrarea
+        epochs.put(userId, epoch);
+        add(filter, userId);
+        return epoch;
+    }
+
+    // Token-urile emise înaintea unei revocări mai vechi decât durata lor de viață au expirat oricum
+    private void sweep(long now) {
+        nextSweep = now + retentionMillis;
+        epochs.values().removeIf(epoch -> epoch + retentionMillis < now);
+        AtomicLongArray rebuilt = new AtomicLongArray(filter.length());
+        for (Long userId : epochs.keySet()) {
+            add(rebuilt, userId);
+        }
+        filter = rebuilt;
+    }
+
+    public long trackedUsers() {
+        return epochs.mappingCount();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.token.revocations", this, TokenRevocations::trackedUsers)
+                .description("Utilizatori cu token-uri de acces revocate, încă în evidență")
+                .register(registry);
+    }
+
+    private void add(AtomicLongArray bits, long userId) {
+        long hash = mix(userId);
+        for (int i = 0; i < HASHES; i++) {
+            int index = index(hash, i);
+            long bit = 1L << index;
+            int word = index >>> 6;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & bit) == 0 && !bits.compareAndSet(word, current, current | bit));
+        }
+    }
+
+    private boolean mightContain(AtomicLongArray bits, long userId) {
+        long hash = mix(userId);
+        for (int i = 0; i < HASHES; i++) {
+            int index = index(hash, i);
+            if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Dublă dispersie (Kirsch–Mitzenmacher): h1 + i * h2, cu h2 impar
+    private int index(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return (h1 + i * h2) & mask;
+    }
+
+    // Finalizatorul din SplitMix64: id-urile consecutive ajung pe biți împrăștiați
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
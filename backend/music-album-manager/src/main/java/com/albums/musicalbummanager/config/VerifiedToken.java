@@ -0,0 +1,47 @@
+package com.albums.musicalbummanager.config;
+
+import java.time.Instant;
+
+// Rezultatul imutabil al verificării unui JWT (semnătură + expirare), obținut dintr-un singur parse
+public final class VerifiedToken {
+
+    private final Long userId;
+    private final String username;
+    private final String role;
+    private final Instant expiresAt;
+    private final long epoch;
+
+    public VerifiedToken(Long userId, String username, String role, Instant expiresAt, long epoch) {
+        this.userId = userId;
+        this.username = username;
+        this.role = role;
+        this.expiresAt = expiresAt;
+        this.epoch = epoch;
+    }
+
+    // null pentru token-urile emise înainte ca id-ul să fie pus în claims
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    // Epoca utilizatorului la emitere (TokenRevocations); 0 pentru token-urile fără claim-ul „ep”
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public boolean isExpired() {
+        return !expiresAt.isAfter(Instant.now());
+    }
+}
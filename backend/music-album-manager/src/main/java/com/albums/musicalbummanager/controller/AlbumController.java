@@ -1,18 +1,53 @@
 package com.albums.musicalbummanager.controller;
 
+import com.albums.musicalbummanager.config.AuthenticatedUser;
+import com.albums.musicalbummanager.dto.AlbumBulkDeleteRequest;
+import com.albums.musicalbummanager.dto.AlbumBulkPatchRequest;
+import com.albums.musicalbummanager.dto.AlbumChangesPage;
+import com.albums.musicalbummanager.dto.AlbumFilter;
+import com.albums.musicalbummanager.dto.AlbumPage;
+import com.albums.musicalbummanager.dto.AlbumRollupGroup;
+import com.albums.musicalbummanager.dto.BulkOperationReport;
+import com.albums.musicalbummanager.dto.ImportReport;
+import com.albums.musicalbummanager.dto.StockOrderRequest;
+import com.albums.musicalbummanager.dto.StockRequest;
 import com.albums.musicalbummanager.entity.Album;
-import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.service.AlbumBulkService;
+import com.albums.musicalbummanager.service.AlbumCache;
+import com.albums.musicalbummanager.service.AlbumChangeService;
+import com.albums.musicalbummanager.service.AlbumChangeStream;
+import com.albums.musicalbummanager.service.AlbumCreateService;
+import com.albums.musicalbummanager.service.AlbumExportFormat;
+import com.albums.musicalbummanager.service.AlbumExportService;
+import com.albums.musicalbummanager.service.AlbumImportService;
+import com.albums.musicalbummanager.service.AlbumPatch;
+import com.albums.musicalbummanager.service.AlbumPatchReader;
+import com.albums.musicalbummanager.service.AlbumRollupDimension;
+import com.albums.musicalbummanager.service.AlbumRollupService;
+import com.albums.musicalbummanager.service.AlbumSearchIndex;
 import com.albums.musicalbummanager.service.AlbumService;
+import com.albums.musicalbummanager.service.AlbumStockService;
+import com.albums.musicalbummanager.service.CoverStorageService;
 import com.albums.musicalbummanager.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 @RestController
@@ -21,53 +56,178 @@ public class AlbumController {
 
     private final AlbumService albumService;
     private final UserService userService;
+    private final AlbumExportService albumExportService;
+    private final AlbumImportService albumImportService;
+    private final AlbumSearchIndex albumSearchIndex;
+    private final AlbumCache albumCache;
+    private final AlbumStockService albumStockService;
+    private final AlbumRollupService albumRollupService;
+    private final AlbumCreateService albumCreateService;
+    private final CoverStorageService coverStorageService;
+    private final AlbumChangeService albumChangeService;
+    private final AlbumChangeStream albumChangeStream;
+    private final AlbumBulkService albumBulkService;
+    private final AlbumPatchReader albumPatchReader;
 
-    // CORECT: Constructor cu ambele servicii
-    public AlbumController(AlbumService albumService, UserService userService) {
+    public AlbumController(AlbumService albumService, UserService userService,
+                           AlbumExportService albumExportService, AlbumImportService albumImportService,
+                           AlbumSearchIndex albumSearchIndex, AlbumCache albumCache,
+                           AlbumStockService albumStockService, AlbumRollupService albumRollupService,
+                           AlbumCreateService albumCreateService, CoverStorageService coverStorageService,
+                           AlbumChangeService albumChangeService, AlbumChangeStream albumChangeStream,
+                           AlbumBulkService albumBulkService, AlbumPatchReader albumPatchReader) {
         this.albumService = albumService;
         this.userService = userService;
+        this.albumExportService = albumExportService;
+        this.albumImportService = albumImportService;
+        this.albumSearchIndex = albumSearchIndex;
+        this.albumCache = albumCache;
+        this.albumStockService = albumStockService;
+        this.albumRollupService = albumRollupService;
+        this.albumCreateService = albumCreateService;
+        this.coverStorageService = coverStorageService;
+        this.albumChangeService = albumChangeService;
+        this.albumChangeStream = albumChangeStream;
+        this.albumBulkService = albumBulkService;
+        this.albumPatchReader = albumPatchReader;
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('USER', 'EDITOR', 'ADMIN')")
-    public ResponseEntity<List<Album>> getAllAlbums() {
-        List<Album> albums = albumService.findAll();
-        return ResponseEntity.ok(albums);
+    public ResponseEntity<AlbumPage> getAllAlbums(AlbumFilter filter,
+                                                  @RequestParam(required = false) String sort,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "50") int limit) {
+        // Paginare keyset: clientul trimite înapoi nextCursor pentru pagina următoare
+        AlbumPage page = albumService.findPage(filter, sort, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    // Export complet al catalogului (NDJSON sau CSV), scris incremental în răspuns
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('USER', 'EDITOR', 'ADMIN')")
+    public void exportAlbums(@RequestParam(defaultValue = "ndjson") String format,
+                             HttpServletResponse response) throws IOException {
+        AlbumExportFormat exportFormat = AlbumExportFormat.fromName(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"albums." + exportFormat.getExtension() + "\"");
+        albumExportService.export(exportFormat, response.getOutputStream());
+    }
+
+    // Căutare full-text / typeahead după titlu, artist și casă de discuri (fără diacritice, pe prefix)
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('USER', 'EDITOR', 'ADMIN')")
+    public ResponseEntity<List<Album>> searchAlbums(@RequestParam("q") String query,
+                                                    @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(albumService.search(query, limit));
+    }
+
+    // Reconstruiește indexul de căutare din baza de date (ex. după modificări făcute direct în SQL)
+    @PostMapping("/search/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildSearchIndex() {
+        int indexed = albumSearchIndex.rebuild();
+        return ResponseEntity.ok(Map.of("indexed", indexed));
+    }
+
+    // Totaluri pe grupuri (genre, artist, year, owner): număr de albume, stoc și valoarea stocului
+    @GetMapping("/rollups/{dimension}")
+    @PreAuthorize("hasAnyRole('USER', 'EDITOR', 'ADMIN')")
+    public ResponseEntity<List<AlbumRollupGroup>> getRollups(@PathVariable String dimension) {
+        return ResponseEntity.ok(albumRollupService.groups(AlbumRollupDimension.fromName(dimension)));
+    }
+
+    // Recalculează rollup-urile din albume (ex. după modificări făcute direct în SQL)
+    @PostMapping("/rollups/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildRollups() {
+        int groups = albumRollupService.rebuild();
+        return ResponseEntity.ok(Map.of("groups", groups));
+    }
+
+    // Modificările de după since. Fără since: pagină goală cu seq-ul curent, de citit înainte de lista
+    // completă (modificările dintre cele două cereri vor fi primite din nou, aplicarea lor e idempotentă)
+    @GetMapping("/changes")
+    @PreAuthorize("hasAnyRole('USER', 'EDITOR', 'ADMIN')")
+    public ResponseEntity<AlbumChangesPage> getChanges(@RequestParam(required = false) Long since,
+                                                       @RequestParam(defaultValue = "500") int limit) {
+        if (since == null) {
+            return ResponseEntity.ok(new AlbumChangesPage(List.of(), albumChangeService.latestSeq(), false));
+        }
+        return ResponseEntity.ok(albumChangeService.changesSince(since, limit));
+    }
+
+    // Aceleași modificări, live (Server-Sent Events); la reconectare continuă de la Last-Event-ID
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('USER', 'EDITOR', 'ADMIN')")
+    public SseEmitter streamChanges(@RequestParam(required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        long from = lastEventId != null ? lastEventId : since != null ? since : albumChangeService.latestSeq();
+        return albumChangeStream.subscribe(from);
+    }
+
+    // Compactează jurnalul acum (rulează oricum periodic)
+    @PostMapping("/changes/compact")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> compactChanges() {
+        return ResponseEntity.ok(Map.of("removed", albumChangeService.compact()));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER', 'EDITOR', 'ADMIN')")
-    public ResponseEntity<Album> getAlbumById(@PathVariable Long id) {
+    public ResponseEntity<Album> getAlbumById(@PathVariable Long id, WebRequest request) {
         return albumService.findById(id)
-                .map(album -> ResponseEntity.ok(album))
+                .map(album -> {
+                    // ETag = versiunea albumului; dacă clientul are deja versiunea curentă răspundem 304 fără body
+                    String etag = "\"" + album.getVersion() + "\"";
+                    if (request.checkNotModified(etag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag)
+                                .cacheControl(CacheControl.noCache()).<Album>build();
+                    }
+                    return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(album);
+                })
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Statistici pentru cache-ul de albume (hit ratio, încărcări din baza de date)
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(albumCache.stats());
+    }
+
     @PostMapping
     @PreAuthorize("hasAnyRole('USER', 'EDITOR', 'ADMIN')")
     public ResponseEntity<Album> createAlbum(@Valid @RequestBody Album album) {
-        // Obținem ID-ul utilizatorului autentificat
-        Long currentUserId = getCurrentUserId();
+        // Obținem utilizatorul autentificat
+        AuthenticatedUser currentUser = getCurrentUser();
 
         // Setăm userId pe album
-        album.setUserId(currentUserId);
+        album.setUserId(currentUser.getId());
 
-        // Salvăm albumul
-        Album savedAlbum = albumService.save(album);
+        // Inserarea și promovarea USER → EDITOR într-o singură tranzacție, comună cu creările concurente
+        Album savedAlbum = albumCreateService.create(album, isUser(currentUser));
 
-        // Verificăm dacă user-ul are rolul "USER" și îl promovăm la "EDITOR"
-        User currentUser = userService.findById(currentUserId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        return ResponseEntity.status(HttpStatus.CREATED).body(savedAlbum);
+    }
 
-        // Verificăm rolul fără prefixul "ROLE_" (poate fi "USER" sau "ROLE_USER")
-        String role = normalizeRole(currentUser.getRole());
-        if ("USER".equals(role)) {
-            // Promovăm user-ul la EDITOR
-            currentUser.setRole("EDITOR");
-            userService.updateUser(currentUser);
-        }
+    // Import în masă dintr-un array JSON sau CSV (cu header), citit în flux; răspunsul conține erorile pe rânduri
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    @PreAuthorize("hasAnyRole('USER', 'EDITOR', 'ADMIN')")
+    public ResponseEntity<ImportReport> importAlbums(HttpServletRequest request) throws IOException {
+        AuthenticatedUser currentUser = getCurrentUser();
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedAlbum);
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        ImportReport report = contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? albumImportService.importCsv(request.getInputStream(), currentUser.getId())
+                : albumImportService.importJson(request.getInputStream(), currentUser.getId());
+
+        if (report.getImported() > 0 && isUser(currentUser)) {
+            userService.promoteToEditor(currentUser.getId());
+        }
+        return ResponseEntity.ok(report);
     }
 
     @PutMapping("/{id}")
@@ -76,10 +236,9 @@ public class AlbumController {
         Album existingAlbum = albumService.findById(id)
                 .orElseThrow(() -> new RuntimeException("Album not found"));
 
-        // Obținem user-ul curent
-        Long currentUserId = getCurrentUserId();
-        User currentUser = userService.findById(currentUserId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // Obținem user-ul curent (din token + cache, fără interogări)
+        AuthenticatedUser currentUser = getCurrentUser();
+        Long currentUserId = currentUser.getId();
 
         // Verificăm rolul normalizat (fără prefixul "ROLE_")
         String role = normalizeRole(currentUser.getRole());
@@ -113,47 +272,125 @@ public class AlbumController {
         return ResponseEntity.ok(updatedAlbum);
     }
 
-    @DeleteMapping("/{id}")
+    // JSON Merge Patch: se schimbă doar câmpurile trimise (null șterge valoarea), cu aceleași reguli ca la PUT
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
     @PreAuthorize("hasAnyRole('EDITOR', 'ADMIN')")
-    public ResponseEntity<Void> deleteAlbum(@PathVariable Long id) {
-        Album album = albumService.findById(id)
-                .orElseThrow(() -> new RuntimeException("Album not found"));
+    public ResponseEntity<Album> patchAlbum(@PathVariable Long id, @RequestBody JsonNode body) {
+        AlbumPatch patch = albumPatchReader.read(body);
 
-        // Obținem user-ul curent
-        Long currentUserId = getCurrentUserId();
-        User currentUser = userService.findById(currentUserId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // ADMIN orice album, EDITOR doar propriile albume; verificat pe rândul citit o singură dată, în tranzacția
+        // patch-ului (un album al altcuiva dă AccessDeniedException → 403)
+        AuthenticatedUser currentUser = getCurrentUser();
+        Long ownerId = isAdmin(currentUser) ? null : currentUser.getId();
+        return albumService.patch(id, patch, ownerId)
+                .map(patched -> ResponseEntity.ok().eTag("\"" + patched.getVersion() + "\"").body(patched))
+                .orElse(ResponseEntity.notFound().build());
+    }
 
-        // Verificăm rolul normalizat (fără prefixul "ROLE_")
-        String role = normalizeRole(currentUser.getRole());
-        boolean isAdmin = "ADMIN".equals(role);
-        
-        // Verificăm ownership (null-safe comparison)
-        boolean isOwner = album.getUserId() != null && 
-                         Objects.equals(album.getUserId(), currentUserId);
+    // Același patch pentru multe albume (listă de id-uri sau filtru, ex. recordLabel), în UPDATE-uri pe loturi.
+    // Un EDITOR atinge doar propriile albume; celelalte id-uri sunt raportate ca sărite
+    @PatchMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('EDITOR', 'ADMIN')")
+    public ResponseEntity<BulkOperationReport> patchAlbums(@Valid @RequestBody AlbumBulkPatchRequest request) {
+        AlbumPatch patch = albumPatchReader.read(request.getPatch());
+        AuthenticatedUser currentUser = getCurrentUser();
+        Long ownerId = isAdmin(currentUser) ? null : currentUser.getId();
+        return ResponseEntity.ok(albumBulkService.patch(request.getIds(), request.getFilter(), patch, ownerId));
+    }
 
-        // Verificăm permisiunile:
-        // - ADMIN poate șterge orice album
-        // - EDITOR poate șterge doar propriile albume
+    // Încarcă coperta (corpul cererii e imaginea: image/jpeg, image/png sau image/gif) și o leagă de album
+    @PostMapping(value = "/{id}/cover", consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE,
+            MediaType.IMAGE_GIF_VALUE})
+    @PreAuthorize("hasAnyRole('EDITOR', 'ADMIN')")
+    public ResponseEntity<Album> uploadCover(@PathVariable Long id, HttpServletRequest request) throws IOException {
+        Album album = albumService.findById(id)
+                .orElseThrow(() -> new RuntimeException("Album not found"));
+
+        // Aceleași reguli ca la editare: ADMIN orice album, EDITOR doar propriile albume
+        AuthenticatedUser currentUser = getCurrentUser();
+        boolean isAdmin = "ADMIN".equals(normalizeRole(currentUser.getRole()));
+        boolean isOwner = album.getUserId() != null && Objects.equals(album.getUserId(), currentUser.getId());
         if (!isAdmin && !isOwner) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        albumService.deleteById(id);
+        String name = coverStorageService.store(request.getInputStream(), request.getContentType());
+        album.setImageUrl(coverStorageService.urlOf(name));
+        return ResponseEntity.ok(albumService.save(album));
+    }
+
+    // Rezervă stoc pentru un album (UPDATE atomic, nu vinde niciodată peste stoc); 409 dacă nu ajunge
+    @PostMapping("/{id}/stock/reserve")
+    @PreAuthorize("hasAnyRole('USER', 'EDITOR', 'ADMIN')")
+    public ResponseEntity<Void> reserveStock(@PathVariable Long id, @Valid @RequestBody StockRequest request) {
+        albumStockService.reserve(id, request.getQuantity());
         return ResponseEntity.noContent().build();
     }
 
-    // Metodă helper pentru a obține ID-ul utilizatorului autentificat
-    private Long getCurrentUserId() {
-        // Obținem username-ul din SecurityContext
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
+    // Eliberează stoc rezervat anterior (ex. comandă anulată); ADMIN orice album, EDITOR doar propriile albume
+    @PostMapping("/{id}/stock/release")
+    @PreAuthorize("hasAnyRole('EDITOR', 'ADMIN')")
+    public ResponseEntity<Void> releaseStock(@PathVariable Long id, @Valid @RequestBody StockRequest request) {
+        AuthenticatedUser currentUser = getCurrentUser();
+        Long ownerId = isAdmin(currentUser) ? null : currentUser.getId();
+        albumStockService.release(id, request.getQuantity(), ownerId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Comandă cu mai multe albume: se rezervă toate pozițiile sau niciuna
+    @PostMapping("/stock/reserve")
+    @PreAuthorize("hasAnyRole('USER', 'EDITOR', 'ADMIN')")
+    public ResponseEntity<Void> reserveOrder(@Valid @RequestBody StockOrderRequest request) {
+        albumStockService.reserveAll(request.getItems());
+        return ResponseEntity.noContent().build();
+    }
+
+    // Toate pozițiile sau niciuna; un EDITOR care include un album al altcuiva primește 403 și nu se schimbă nimic
+    @PostMapping("/stock/release")
+    @PreAuthorize("hasAnyRole('EDITOR', 'ADMIN')")
+    public ResponseEntity<Void> releaseOrder(@Valid @RequestBody StockOrderRequest request) {
+        AuthenticatedUser currentUser = getCurrentUser();
+        Long ownerId = isAdmin(currentUser) ? null : currentUser.getId();
+        albumStockService.releaseAll(request.getItems(), ownerId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // ADMIN poate șterge orice album, EDITOR doar propriile albume; drepturile se verifică pe rândul citit
+    // o singură dată, în tranzacția ștergerii (un album al altcuiva dă AccessDeniedException → 403)
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('EDITOR', 'ADMIN')")
+    public ResponseEntity<Void> deleteAlbum(@PathVariable Long id) {
+        AuthenticatedUser currentUser = getCurrentUser();
+        Long ownerId = isAdmin(currentUser) ? null : currentUser.getId();
+        if (!albumService.deleteById(id, ownerId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    // Șterge multe albume (listă de id-uri sau filtru) cu DELETE-uri pe loturi; un EDITOR doar pe ale lui
+    @PostMapping("/bulk-delete")
+    @PreAuthorize("hasAnyRole('EDITOR', 'ADMIN')")
+    public ResponseEntity<BulkOperationReport> deleteAlbums(@RequestBody AlbumBulkDeleteRequest request) {
+        AuthenticatedUser currentUser = getCurrentUser();
+        Long ownerId = isAdmin(currentUser) ? null : currentUser.getId();
+        return ResponseEntity.ok(albumBulkService.delete(request.getIds(), request.getFilter(), ownerId));
+    }
 
-        // Găsim user-ul în baza de date (folosim entitatea User, nu Spring Security User)
-        User user = userService.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    private boolean isAdmin(AuthenticatedUser currentUser) {
+        return "ADMIN".equals(normalizeRole(currentUser.getRole()));
+    }
 
-        return user.getId();
+    // Doar un USER trebuie promovat la EDITOR după ce adaugă albume (rolul vine din principal, fără interogări)
+    private boolean isUser(AuthenticatedUser currentUser) {
+        // Verificăm rolul fără prefixul "ROLE_" (poate fi "USER" sau "ROLE_USER")
+        return "USER".equals(normalizeRole(currentUser.getRole()));
+    }
+
+    // Metodă helper pentru a obține utilizatorul autentificat (pus în SecurityContext de JwtAuthenticationFilter)
+    private AuthenticatedUser getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (AuthenticatedUser) authentication.getPrincipal();
     }
 
     /**
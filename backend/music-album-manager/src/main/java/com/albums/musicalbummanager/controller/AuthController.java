@@ -1,18 +1,21 @@
 package com.albums.musicalbummanager.controller;
 import com.albums.musicalbummanager.dto.AuthResponse;
 import com.albums.musicalbummanager.dto.LoginRequest;
+import com.albums.musicalbummanager.dto.RefreshRequest;
 import com.albums.musicalbummanager.dto.RegisterRequest;
 import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.service.RefreshTokenService;
 import com.albums.musicalbummanager.service.UserService;
 import com.albums.musicalbummanager.config.JwtUtils;
+import com.albums.musicalbummanager.config.PasswordHashingBusyException;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.*;
 
 
@@ -22,16 +25,16 @@ public class AuthController {
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
-    private final UserDetailsService userDetailsService;
+    private final RefreshTokenService refreshTokenService;
 
     public AuthController(UserService userService,
                           AuthenticationManager authenticationManager,
                           JwtUtils jwtUtils,
-                          UserDetailsService userDetailsService) {
+                          RefreshTokenService refreshTokenService) {
         this.userService = userService;
         this.authenticationManager = authenticationManager;
         this.jwtUtils = jwtUtils;
-        this.userDetailsService = userDetailsService;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @PostMapping("/register")
@@ -44,13 +47,13 @@ public class AuthController {
                     "USER"  // Rol fix "USER" pentru toți utilizatorii noi
             );
 
-            // Load user pentru a genera token
-            UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
-            String token = jwtUtils.generateToken(userDetails);
-
+            // Utilizatorul tocmai salvat e deja UserDetails, nu-l mai încărcăm din nou
             return ResponseEntity.status(HttpStatus.CREATED).body(
-                    new AuthResponse(token, user.getUsername(), user.getRole(), user.getId())
+                    authResponse(user, user.getRole(), user.getId(), refreshTokenService.issue(user.getId()))
             );
+        } catch (PasswordHashingBusyException e) {
+            // Ajunge la GlobalExceptionHandler (503 + Retry-After), nu e o eroare de validare
+            throw e;
         } catch (RuntimeException e) {
             // Username deja existent
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
@@ -67,22 +70,33 @@ public class AuthController {
                     )
             );
 
-            // Dacă autentificarea reușește, generăm token
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String token = jwtUtils.generateToken(userDetails);
-
-            // Găsim utilizatorul pentru a obține rolul
-            User user = userService.findByUsername(userDetails.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            // Principalul e chiar entitatea User încărcată la autentificare (rol și id incluse)
+            User user = (User) authentication.getPrincipal();
 
-            // Returnăm răspuns cu token
-            AuthResponse response = new AuthResponse(token, user.getUsername(), user.getRole(), user.getId());
+            // Returnăm răspuns cu token-ul de acces (scurt) și refresh token-ul
+            AuthResponse response = authResponse(user, user.getRole(), user.getId(),
+                    refreshTokenService.issue(user.getId()));
             return ResponseEntity.ok(response);
 
-        } catch (Exception e) {
+        } catch (AuthenticationException e) {
             // Dacă credențialele sunt greșite
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body("Error: Invalid username or password");
         }
     }
+
+    // Un token de acces nou, cu rolul curent, în schimbul refresh token-ului (care nu mai poate fi folosit)
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshRequest request) {
+        return refreshTokenService.rotate(request.getRefreshToken())
+                .<ResponseEntity<?>>map(rotation -> ResponseEntity.ok(authResponse(rotation.user(),
+                        rotation.user().getRole(), rotation.user().getId(), rotation.refreshToken())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body("Error: Invalid or expired refresh token"));
+    }
+
+    private AuthResponse authResponse(UserDetails user, String role, Long userId, String refreshToken) {
+        return new AuthResponse(jwtUtils.generateToken(user), user.getUsername(), role, userId, refreshToken,
+                jwtUtils.getExpiration() / 1000);
+    }
 }
@@ -0,0 +1,123 @@
+package com.albums.musicalbummanager.controller;
+
+import com.albums.musicalbummanager.service.CoverFile;
+import com.albums.musicalbummanager.service.CoverStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Servește coperțile stocate local. Sunt publice (un tag img nu trimite token-ul) și imutabile:
+ * numele e hash-ul conținutului, deci browserele și CDN-urile le pot păstra oricât.
+ * <p>
+ * Octeții nu trec prin heap: pe Tomcat fișierul e trimis cu sendfile (transferTo direct în socket),
+ * altfel cu FileChannel.transferTo spre stream-ul răspunsului. Range cu un singur interval primește 206.
+ */
+@RestController
+@RequestMapping("/api/covers")
+public class CoverController {
+
+    // Atributele prin care Tomcat preia trimiterea fișierului după ce servlet-ul s-a terminat
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic().immutable().getHeaderValue();
+
+    private final CoverStorageService coverStorageService;
+
+    public CoverController(CoverStorageService coverStorageService) {
+        this.coverStorageService = coverStorageService;
+    }
+
+    @GetMapping("/{name}")
+    public void getCover(@PathVariable String name, @RequestParam(required = false) Integer size,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<CoverFile> found = coverStorageService.find(name, size);
+        if (found.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        CoverFile cover = found.get();
+
+        response.setHeader(HttpHeaders.ETAG, cover.getEtag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (cover.getEtag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        response.setContentType(cover.getContentType());
+
+        long length = cover.getLength();
+        long start = 0;
+        long end = length; // exclusiv
+        HttpRange range = singleRange(request, cover);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length) + 1;
+                if (start >= length || start >= end) {
+                    throw new IllegalArgumentException("Range outside of the cover");
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+        }
+        response.setContentLengthLong(end - start);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, cover.getPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(cover.getPath(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for (long position = start; position < end; ) {
+                position += channel.transferTo(position, end - position, out);
+            }
+        }
+    }
+
+    // Doar un interval, și doar dacă If-Range (când există) e încă ETag-ul curent; altfel răspunsul e complet
+    private static HttpRange singleRange(HttpServletRequest request, CoverFile cover) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(cover.getEtag())) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
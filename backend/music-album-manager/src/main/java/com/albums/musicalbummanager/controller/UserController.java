@@ -1,7 +1,9 @@
 package com.albums.musicalbummanager.controller;
 
 import com.albums.musicalbummanager.dto.UpdateRoleRequest;
+import com.albums.musicalbummanager.dto.UserDeletionJob;
 import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.service.UserDeletionService;
 import com.albums.musicalbummanager.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -9,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -16,9 +19,11 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserDeletionService userDeletionService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserDeletionService userDeletionService) {
         this.userService = userService;
+        this.userDeletionService = userDeletionService;
     }
 
     @GetMapping
@@ -40,23 +45,29 @@ public class UserController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<User> updateUserRole(@PathVariable Long id,
                                                @Valid @RequestBody UpdateRoleRequest request) {
-        return userService.findById(id)
-                .map(user -> {
-                    user.setRole(request.getRole());
-                    User updatedUser = userService.updateUser(user);
-                    return ResponseEntity.ok(updatedUser);
-                })
+        return userService.updateRole(id, request.getRole())
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Utilizatorul e șters imediat; albumele lui sunt șterse (sau mutate la reassignTo) în fundal.
+    // 202 cu job-ul, al cărui progres se urmărește la Location
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        if (userService.findById(id).isPresent()) {
-            userService.deleteById(id);
-            return ResponseEntity.noContent().build();
-        } else {
-            return ResponseEntity.notFound().build();
-        }
+    public ResponseEntity<UserDeletionJob> deleteUser(@PathVariable Long id,
+                                                      @RequestParam(required = false) Long reassignTo) {
+        // 404 vine din DELETE-ul însuși (0 rânduri), fără o citire separată
+        return userDeletionService.delete(id, reassignTo)
+                .map(job -> ResponseEntity.accepted()
+                        .location(URI.create("/api/users/deletions/" + job.getId())).body(job))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/deletions/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserDeletionJob> getDeletion(@PathVariable String jobId) {
+        return userDeletionService.job(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 }
@@ -0,0 +1,28 @@
+package com.albums.musicalbummanager.dto;
+
+import java.util.List;
+
+// Albumele de șters: o listă de id-uri sau toate albumele unui filtru (nevid)
+public class AlbumBulkDeleteRequest {
+
+    private List<Long> ids;
+    private AlbumFilter filter;
+
+    public AlbumBulkDeleteRequest() {}
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public AlbumFilter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(AlbumFilter filter) {
+        this.filter = filter;
+    }
+}
@@ -0,0 +1,42 @@
+package com.albums.musicalbummanager.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+// Aceleași modificări (un JSON Merge Patch) pentru o listă de id-uri sau pentru albumele unui filtru
+public class AlbumBulkPatchRequest {
+
+    private List<Long> ids;
+    private AlbumFilter filter;
+
+    @NotNull(message = "Patch is required")
+    private JsonNode patch;
+
+    public AlbumBulkPatchRequest() {}
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public AlbumFilter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(AlbumFilter filter) {
+        this.filter = filter;
+    }
+
+    public JsonNode getPatch() {
+        return patch;
+    }
+
+    public void setPatch(JsonNode patch) {
+        this.patch = patch;
+    }
+}
@@ -0,0 +1,53 @@
+package com.albums.musicalbummanager.dto;
+
+import com.albums.musicalbummanager.entity.Album;
+
+// O modificare din jurnal; album e starea curentă a albumului (null dacă între timp a fost șters)
+public class AlbumChangeEntry {
+
+    private long seq;
+    private Long albumId;
+    private String operation;
+    private Album album;
+
+    public AlbumChangeEntry() {}
+
+    public AlbumChangeEntry(long seq, Long albumId, String operation, Album album) {
+        this.seq = seq;
+        this.albumId = albumId;
+        this.operation = operation;
+        this.album = album;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public Long getAlbumId() {
+        return albumId;
+    }
+
+    public void setAlbumId(Long albumId) {
+        this.albumId = albumId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public Album getAlbum() {
+        return album;
+    }
+
+    public void setAlbum(Album album) {
+        this.album = album;
+    }
+}
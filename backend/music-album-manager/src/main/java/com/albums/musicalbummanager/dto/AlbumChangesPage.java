@@ -0,0 +1,43 @@
+package com.albums.musicalbummanager.dto;
+
+import java.util.List;
+
+// Modificările de după since; clientul trimite nextSince la următoarea cerere
+public class AlbumChangesPage {
+
+    private List<AlbumChangeEntry> changes;
+    private long nextSince;
+    private boolean hasMore;
+
+    public AlbumChangesPage() {}
+
+    public AlbumChangesPage(List<AlbumChangeEntry> changes, long nextSince, boolean hasMore) {
+        this.changes = changes;
+        this.nextSince = nextSince;
+        this.hasMore = hasMore;
+    }
+
+    public List<AlbumChangeEntry> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<AlbumChangeEntry> changes) {
+        this.changes = changes;
+    }
+
+    public long getNextSince() {
+        return nextSince;
+    }
+
+    public void setNextSince(long nextSince) {
+        this.nextSince = nextSince;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,88 @@
+package com.albums.musicalbummanager.dto;
+
+import java.math.BigDecimal;
+
+// Filtre pentru listarea albumelor (legate din query params, toate opționale)
+public class AlbumFilter {
+
+    private String genre;
+    private String artist;
+    private String recordLabel;
+    private Integer minYear;
+    private Integer maxYear;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Long userId;
+
+    public AlbumFilter() {}
+
+    public String getGenre() {
+        return genre;
+    }
+
+    public void setGenre(String genre) {
+        this.genre = genre;
+    }
+
+    public String getArtist() {
+        return artist;
+    }
+
+    public void setArtist(String artist) {
+        this.artist = artist;
+    }
+
+    public String getRecordLabel() {
+        return recordLabel;
+    }
+
+    public void setRecordLabel(String recordLabel) {
+        this.recordLabel = recordLabel;
+    }
+
+    public Integer getMinYear() {
+        return minYear;
+    }
+
+    public void setMinYear(Integer minYear) {
+        this.minYear = minYear;
+    }
+
+    public Integer getMaxYear() {
+        return maxYear;
+    }
+
+    public void setMaxYear(Integer maxYear) {
+        this.maxYear = maxYear;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    // Niciun criteriu: filtrul se potrivește cu toate albumele
+    public boolean isEmpty() {
+        return genre == null && artist == null && recordLabel == null && minYear == null && maxYear == null
+                && minPrice == null && maxPrice == null && userId == null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.albums.musicalbummanager.dto;
+
+import com.albums.musicalbummanager.entity.Album;
+
+import java.util.List;
+
+// O pagină de albume; nextCursor este null când nu mai există rezultate
+public class AlbumPage {
+
+    private List<Album> items;
+    private String nextCursor;
+
+    public AlbumPage() {}
+
+    public AlbumPage(List<Album> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Album> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Album> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
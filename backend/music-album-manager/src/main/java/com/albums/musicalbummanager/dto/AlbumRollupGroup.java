@@ -0,0 +1,52 @@
+package com.albums.musicalbummanager.dto;
+
+import java.math.BigDecimal;
+
+public class AlbumRollupGroup {
+
+    private String key; // null pentru albumele fără valoare pe dimensiunea cerută
+    private long albumCount;
+    private long totalStock;
+    private BigDecimal stockValue;
+
+    public AlbumRollupGroup() {}
+
+    public AlbumRollupGroup(String key, long albumCount, long totalStock, BigDecimal stockValue) {
+        this.key = key;
+        this.albumCount = albumCount;
+        this.totalStock = totalStock;
+        this.stockValue = stockValue;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public long getAlbumCount() {
+        return albumCount;
+    }
+
+    public void setAlbumCount(long albumCount) {
+        this.albumCount = albumCount;
+    }
+
+    public long getTotalStock() {
+        return totalStock;
+    }
+
+    public void setTotalStock(long totalStock) {
+        this.totalStock = totalStock;
+    }
+
+    public BigDecimal getStockValue() {
+        return stockValue;
+    }
+
+    public void setStockValue(BigDecimal stockValue) {
+        this.stockValue = stockValue;
+    }
+}
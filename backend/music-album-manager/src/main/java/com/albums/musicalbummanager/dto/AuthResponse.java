@@ -6,14 +6,20 @@ public class AuthResponse {
     private String username;
     private String role;
     private Long userId;
+    private String refreshToken;
+    // Secunde până expiră token-ul de acces
+    private long expiresIn;
 
     public AuthResponse() {}
 
-    public AuthResponse(String token, String username, String role, Long userId) {
+    public AuthResponse(String token, String username, String role, Long userId, String refreshToken,
+                        long expiresIn) {
         this.token = token;
         this.username = username;
         this.role = role;
         this.userId = userId;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
     }
 
     public String getToken() {
@@ -47,4 +53,20 @@ public class AuthResponse {
     public void setUserId(Long userId) {
         this.userId = userId;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
 }
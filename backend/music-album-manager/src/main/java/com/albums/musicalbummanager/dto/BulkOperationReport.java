@@ -0,0 +1,55 @@
+package com.albums.musicalbummanager.dto;
+
+// Rezultatul unei operații în masă pe albume
+public class BulkOperationReport {
+
+    private long matched;   // albume găsite (și permise utilizatorului)
+    private long affected;  // albume efectiv modificate sau șterse
+    private long skipped;   // id-uri cerute care nu există sau nu aparțin utilizatorului
+    private long elapsedMillis;
+
+    public BulkOperationReport() {}
+
+    public BulkOperationReport(long matched, long affected, long skipped, long elapsedMillis) {
+        this.matched = matched;
+        this.affected = affected;
+        this.skipped = skipped;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getMatched() {
+        return matched;
+    }
+
+    public void setMatched(long matched) {
+        this.matched = matched;
+    }
+
+    public long getAffected() {
+        return affected;
+    }
+
+    public void setAffected(long affected) {
+        this.affected = affected;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return affected * 1000 / Math.max(1, elapsedMillis);
+    }
+}
@@ -0,0 +1,55 @@
+package com.albums.musicalbummanager.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReport {
+
+    private long received;
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+    private List<ImportRowError> errors = new ArrayList<>(); // primele erori, lista e plafonată
+
+    public ImportReport() {}
+
+    public long getReceived() {
+        return received;
+    }
+
+    public void setReceived(long received) {
+        this.received = received;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<ImportRowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ImportRowError> errors) {
+        this.errors = errors;
+    }
+}
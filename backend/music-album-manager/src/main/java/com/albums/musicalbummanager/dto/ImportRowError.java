@@ -0,0 +1,30 @@
+package com.albums.musicalbummanager.dto;
+
+public class ImportRowError {
+
+    private long row; // numărul înregistrării în fișier (de la 1, fără header-ul CSV)
+    private String message;
+
+    public ImportRowError() {}
+
+    public ImportRowError(long row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public void setRow(long row) {
+        this.row = row;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,35 @@
+package com.albums.musicalbummanager.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class StockOrderItem {
+    @NotNull(message = "Album id is required")
+    private Long albumId;
+
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private int quantity;
+
+    public StockOrderItem() {}
+
+    public StockOrderItem(Long albumId, int quantity) {
+        this.albumId = albumId;
+        this.quantity = quantity;
+    }
+
+    public Long getAlbumId() {
+        return albumId;
+    }
+
+    public void setAlbumId(Long albumId) {
+        this.albumId = albumId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
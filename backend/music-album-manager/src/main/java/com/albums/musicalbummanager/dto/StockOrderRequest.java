@@ -0,0 +1,25 @@
+package com.albums.musicalbummanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class StockOrderRequest {
+    @NotEmpty(message = "At least one item is required")
+    private List<@Valid StockOrderItem> items;
+
+    public StockOrderRequest() {}
+
+    public StockOrderRequest(List<StockOrderItem> items) {
+        this.items = items;
+    }
+
+    public List<StockOrderItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<StockOrderItem> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,22 @@
+package com.albums.musicalbummanager.dto;
+
+import jakarta.validation.constraints.Min;
+
+public class StockRequest {
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private int quantity;
+
+    public StockRequest() {}
+
+    public StockRequest(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
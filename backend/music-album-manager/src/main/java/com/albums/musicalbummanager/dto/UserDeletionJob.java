@@ -0,0 +1,84 @@
+package com.albums.musicalbummanager.dto;
+
+import java.time.Instant;
+
+// Starea ștergerii unui utilizator: albumele lui sunt șterse sau mutate la alt utilizator în fundal
+public class UserDeletionJob {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final Long userId;
+    private final Long reassignTo;   // null: albumele sunt șterse
+    private final Instant startedAt;
+    // Scrise de thread-ul job-ului, citite de request-urile care urmăresc progresul
+    private volatile State state = State.RUNNING;
+    private volatile long totalAlbums = -1;  // -1 până când sunt numărate
+    private volatile long processedAlbums;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public UserDeletionJob(String id, Long userId, Long reassignTo, Instant startedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.reassignTo = reassignTo;
+        this.startedAt = startedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getReassignTo() {
+        return reassignTo;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public long getTotalAlbums() {
+        return totalAlbums;
+    }
+
+    public void setTotalAlbums(long totalAlbums) {
+        this.totalAlbums = totalAlbums;
+    }
+
+    public long getProcessedAlbums() {
+        return processedAlbums;
+    }
+
+    // Un singur thread scrie progresul, deci incrementul nu are nevoie de atomicitate
+    public void addProcessedAlbums(long albums) {
+        this.processedAlbums += albums;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
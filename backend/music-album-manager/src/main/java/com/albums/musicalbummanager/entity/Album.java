@@ -1,12 +1,30 @@
 package com.albums.musicalbummanager.entity;
 
 import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "albums")
+@Table(name = "albums", indexes = {
+        // Indexuri compuse pentru paginarea keyset: coloana filtrată/sortată + id ca departajare
+        @Index(name = "idx_albums_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_albums_genre", columnList = "genre, id"),
+        @Index(name = "idx_albums_artist", columnList = "artist, id"),
+        @Index(name = "idx_albums_title", columnList = "title, id"),
+        @Index(name = "idx_albums_release_year", columnList = "release_year, id"),
+        @Index(name = "idx_albums_price", columnList = "price, id"),
+        @Index(name = "idx_albums_genre_release_year", columnList = "genre, release_year, id"),
+        @Index(name = "idx_albums_artist_release_year", columnList = "artist, release_year, id")
+})
+// UPDATE-ul conține doar coloanele schimbate (ex. doar prețul și versiunea la un PATCH)
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,33 +36,48 @@ public class Album {
     @Column(name = "id")
     private Long id;
 
+    @NotBlank(message = "Title is required")
+    @Size(max = 200, message = "Title must be at most 200 characters")
     @Column(name = "title", nullable = false, length = 200)
     private String title;
 
+    @NotBlank(message = "Artist is required")
+    @Size(max = 100, message = "Artist must be at most 100 characters")
     @Column(name = "artist", nullable = false, length = 100)
     private String artist;
 
+    @Size(max = 50, message = "Genre must be at most 50 characters")
     @Column(name = "genre", length = 50)
     private String genre;
 
     @Column(name = "release_year")
     private Integer releaseYear;
 
+    @Size(max = 100, message = "Record label must be at most 100 characters")
     @Column(name = "record_label", length = 100)
     private String recordLabel;
 
+    @DecimalMin(value = "0.0", message = "Price cannot be negative")
+    @Digits(integer = 8, fraction = 2, message = "Price must have at most 8 digits and 2 decimals")
     @Column(name = "price", precision = 10, scale = 2)
     private java.math.BigDecimal price;
 
+    @Min(value = 0, message = "Stock cannot be negative")
     @Column(name = "stock")
     private Integer stock;
 
+    @Size(max = 500, message = "Image URL must be at most 500 characters")
     @Column(name = "image_url", length = 500)
     private String imageUrl;
 
     @Column(name = "user_id", nullable = false)
     private Long userId;
 
+    // Crește la fiecare UPDATE; folosit pentru optimistic locking și ca ETag
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public Album(String title, String artist, String genre, Integer releaseYear,
                  String recordLabel, BigDecimal price, Integer stock, String imageUrl, Long userId) {
         this.title = title;
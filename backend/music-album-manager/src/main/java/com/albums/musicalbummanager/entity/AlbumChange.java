@@ -0,0 +1,37 @@
+package com.albums.musicalbummanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * O intrare din jurnalul de modificări al albumelor. seq e atribuit după commit, când intrarea trece din
+ * album_change_inbox aici (vezi AlbumChangeServiceImpl), deci un client care a citit până la seq N nu poate
+ * primi ulterior o intrare cu seq mai mic. Tabela e scrisă doar prin JDBC; entitatea descrie schema.
+ */
+@Entity
+@Table(name = "album_changes", indexes = {
+        // Compactarea caută intrările mai noi pentru același album
+        @Index(name = "idx_album_changes_album_id", columnList = "album_id, seq")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlbumChange {
+
+    @Id
+    @Column(name = "seq")
+    private Long seq;
+
+    @Column(name = "album_id", nullable = false)
+    private Long albumId;
+
+    // SAVED, DELETED sau STOCK_CHANGED (AlbumChangedEvent.Type)
+    @Column(name = "operation", nullable = false, length = 16)
+    private String operation;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,34 @@
+package com.albums.musicalbummanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * O intrare de jurnal comisă, dar încă fără seq: tranzacțiile de album scriu aici, fără lock comun, iar
+ * AlbumChangeServiceImpl le mută în album_changes cu seq-uri consecutive. Tabela e scrisă doar prin JDBC;
+ * entitatea descrie schema.
+ */
+@Entity
+@Table(name = "album_change_inbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlbumChangeInbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "album_id", nullable = false)
+    private Long albumId;
+
+    @Column(name = "operation", nullable = false, length = 16)
+    private String operation;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,29 @@
+package com.albums.musicalbummanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Un singur rând (id = 1): ultimul seq atribuit în album_changes și până unde au fost șterse
+ * intrările DELETED vechi. Rândul e blocat doar de tranzacția scurtă care mută intrările comise din
+ * album_change_inbox în jurnal, nu și de scrierile de album.
+ */
+@Entity
+@Table(name = "album_change_sequence")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlbumChangeSequence {
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+
+    // Clienții rămași în urma acestui seq trebuie să reîncarce lista completă
+    @Column(name = "compacted_through", nullable = false)
+    private long compactedThrough;
+}
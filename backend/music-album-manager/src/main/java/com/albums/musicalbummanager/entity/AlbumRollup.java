@@ -0,0 +1,51 @@
+package com.albums.musicalbummanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Totaluri pe grupuri de albume (gen, artist, an, proprietar), ținute la zi în aceeași tranzacție
+ * cu scrierile de album. Tabela e scrisă doar prin upsert-uri din AlbumRollupServiceImpl;
+ * entitatea descrie schema.
+ */
+@Entity
+@Table(name = "album_rollups")
+@IdClass(AlbumRollup.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlbumRollup {
+
+    @Id
+    @Column(name = "dimension", length = 16)
+    private String dimension;
+
+    // Valoarea după care se grupează; șir gol pentru albumele fără valoare (ex. fără gen)
+    @Id
+    @Column(name = "group_key", length = 100)
+    private String groupKey;
+
+    @Column(name = "album_count", nullable = false)
+    private long albumCount;
+
+    @Column(name = "total_stock", nullable = false)
+    private long totalStock;
+
+    // Suma price * stock
+    @Column(name = "stock_value", nullable = false, precision = 19, scale = 2)
+    private BigDecimal stockValue;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String dimension;
+        private String groupKey;
+    }
+}
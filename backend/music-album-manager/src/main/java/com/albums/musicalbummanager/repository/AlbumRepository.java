@@ -1,7 +1,46 @@
 package com.albums.musicalbummanager.repository;
 
 import com.albums.musicalbummanager.entity.Album;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface AlbumRepository extends JpaRepository<Album, Long> {
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface AlbumRepository extends JpaRepository<Album, Long>, JpaSpecificationExecutor<Album> {
+
+    // Citire forward-only pentru export; pe MySQL fetch size-ul are efect doar cu useCursorFetch=true
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select a from Album a order by a.id")
+    Stream<Album> streamAllBy();
+
+    // Scade stocul doar dacă ajunge; întoarce 0 dacă albumul nu există sau stocul e insuficient.
+    // Versiunea crește ca ETag-ul și scrierile optimiste să vadă schimbarea.
+    @Modifying
+    @Query("update Album a set a.stock = a.stock - :quantity, a.version = a.version + 1 " +
+            "where a.id = :id and a.stock >= :quantity")
+    int reserveStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // Cu ownerId, atinge doar albumul acelui utilizator; întoarce 0 dacă albumul nu există sau e al altcuiva
+    @Modifying
+    @Query("update Album a set a.stock = coalesce(a.stock, 0) + :quantity, a.version = a.version + 1 " +
+            "where a.id = :id and (:ownerId is null or a.userId = :ownerId)")
+    int releaseStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("ownerId") Long ownerId);
+
+    // Coperțile încă folosite (o valoare per fișier, nu per album), pentru curățarea fișierelor orfane
+    @Query("select distinct a.imageUrl from Album a where a.imageUrl like :prefix")
+    List<String> findImageUrlsStartingWith(@Param("prefix") String prefix);
 }
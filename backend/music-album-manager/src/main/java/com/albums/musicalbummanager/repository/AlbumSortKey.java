@@ -0,0 +1,81 @@
+package com.albums.musicalbummanager.repository;
+
+import com.albums.musicalbummanager.entity.Album;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Câmpurile după care se poate sorta lista de albume.
+ * Fiecare cheie știe să-și citească valoarea din entitate și s-o reconstruiască din cursor.
+ */
+public enum AlbumSortKey {
+    ID("id", Album::getId, Long::valueOf),
+    TITLE("title", Album::getTitle, value -> value),
+    ARTIST("artist", Album::getArtist, value -> value),
+    GENRE("genre", Album::getGenre, value -> value),
+    RELEASE_YEAR("releaseYear", Album::getReleaseYear, Integer::valueOf),
+    PRICE("price", Album::getPrice, BigDecimal::new);
+
+    private final String property;
+    private final Function<Album, Object> getter;
+    private final Function<String, Object> parser;
+
+    AlbumSortKey(String property, Function<Album, Object> getter, Function<String, Object> parser) {
+        this.property = property;
+        this.getter = getter;
+        this.parser = parser;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Object valueOf(Album album) {
+        return getter.apply(album);
+    }
+
+    public Object parse(String value) {
+        return value == null ? null : parser.apply(value);
+    }
+
+    public static AlbumSortKey fromProperty(String property) {
+        for (AlbumSortKey key : values()) {
+            if (key.property.equals(property)) {
+                return key;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort field: " + property);
+    }
+
+    /**
+     * Parsează "artist,-releaseYear" (prefixul "-" = descendent) într-o ordine totală:
+     * id-ul este adăugat la final ca departajare, ca paginarea keyset să fie stabilă.
+     */
+    public static List<Sort.Order> parseSort(String sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        if (sort != null && !sort.isBlank()) {
+            for (String part : sort.split(",")) {
+                String field = part.trim();
+                if (field.isEmpty()) {
+                    continue;
+                }
+                boolean descending = field.startsWith("-");
+                AlbumSortKey key = fromProperty(descending ? field.substring(1) : field);
+                if (orders.stream().anyMatch(order -> order.getProperty().equals(key.property))) {
+                    throw new IllegalArgumentException("Duplicate sort field: " + key.property);
+                }
+                orders.add(descending ? Sort.Order.desc(key.property) : Sort.Order.asc(key.property));
+                if (key == ID) {
+                    // id e unic, cheile de după el nu mai contează
+                    return orders;
+                }
+            }
+        }
+        orders.add(Sort.Order.asc(ID.property));
+        return orders;
+    }
+}
@@ -0,0 +1,91 @@
+package com.albums.musicalbummanager.repository;
+
+import com.albums.musicalbummanager.dto.AlbumFilter;
+import com.albums.musicalbummanager.entity.Album;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class AlbumSpecifications {
+
+    private AlbumSpecifications() {}
+
+    // Filtrele din query: egalitate pe genre/artist/recordLabel/userId, intervale închise pe an și preț
+    public static Specification<Album> matching(AlbumFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter == null) {
+                return cb.conjunction();
+            }
+            if (filter.getGenre() != null) {
+                predicates.add(cb.equal(root.get("genre"), filter.getGenre()));
+            }
+            if (filter.getArtist() != null) {
+                predicates.add(cb.equal(root.get("artist"), filter.getArtist()));
+            }
+            if (filter.getRecordLabel() != null) {
+                predicates.add(cb.equal(root.get("recordLabel"), filter.getRecordLabel()));
+            }
+            if (filter.getUserId() != null) {
+                predicates.add(cb.equal(root.get("userId"), filter.getUserId()));
+            }
+            if (filter.getMinYear() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("releaseYear"), filter.getMinYear()));
+            }
+            if (filter.getMaxYear() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("releaseYear"), filter.getMaxYear()));
+            }
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.getMaxPrice()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Predicatul keyset: rândurile aflate strict după (v1, ..., vn) în ordinea dată, adică
+     * (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ...
+     * NULL este tratat ca cea mai mică valoare, la fel ca ordonarea implicită din MySQL.
+     */
+    public static Specification<Album> after(List<Sort.Order> orders, List<Object> values) {
+        return (root, query, cb) -> {
+            List<Predicate> branches = new ArrayList<>();
+            List<Predicate> equalPrefix = new ArrayList<>();
+            for (int i = 0; i < orders.size(); i++) {
+                Sort.Order order = orders.get(i);
+                Path<Object> path = root.get(order.getProperty());
+                Object value = values.get(i);
+
+                Predicate strictlyAfter = strictlyAfter(cb, path, value, order.isAscending());
+                if (strictlyAfter != null) {
+                    List<Predicate> branch = new ArrayList<>(equalPrefix);
+                    branch.add(strictlyAfter);
+                    branches.add(cb.and(branch.toArray(new Predicate[0])));
+                }
+                equalPrefix.add(value == null ? cb.isNull(path) : cb.equal(path, value));
+            }
+            return branches.isEmpty() ? cb.disjunction() : cb.or(branches.toArray(new Predicate[0]));
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate strictlyAfter(CriteriaBuilder cb, Path path, Object value, boolean ascending) {
+        if (value == null) {
+            // După NULL urmează, crescător, orice valoare ne-nulă; descrescător, nimic
+            return ascending ? cb.isNotNull(path) : null;
+        }
+        Comparable comparable = (Comparable) value;
+        if (ascending) {
+            return cb.greaterThan(path, comparable);
+        }
+        return cb.or(cb.lessThan(path, comparable), cb.isNull(path));
+    }
+}
@@ -2,11 +2,40 @@ package com.albums.musicalbummanager.repository;
 
 import com.albums.musicalbummanager.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
     boolean existsByUsername(String username);
+
+    // Promovează doar cine e încă USER (fără citire prealabilă); întoarce câți utilizatori s-au schimbat
+    @Transactional
+    @Modifying
+    @Query("update User u set u.role = 'EDITOR' where u.id in :ids and u.role in ('USER', 'ROLE_USER')")
+    int promoteToEditor(@Param("ids") Collection<Long> ids);
+
+    // Actualizări țintite pe id, pe primary: nu trec printr-o entitate citită (eventual de pe o replică în urmă),
+    // deci nu pot suprascrie celelalte coloane cu valori vechi
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update User u set u.role = :role where u.id = :id")
+    int updateRole(@Param("id") Long id, @Param("role") String role);
+
+    // Un singur DELETE, fără încărcarea entității (deleteById din JpaRepository o citește întâi); 0 dacă nu există
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from User u where u.id = :id")
+    int deleteUser(@Param("id") Long id);
 }
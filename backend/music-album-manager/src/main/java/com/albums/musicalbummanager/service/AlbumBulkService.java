@@ -0,0 +1,30 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.AlbumFilter;
+import com.albums.musicalbummanager.dto.BulkOperationReport;
+
+import java.util.List;
+import java.util.function.LongConsumer;
+
+public interface AlbumBulkService {
+    /**
+     * @param ownerId dacă nu e null, doar albumele acestui utilizator sunt atinse (EDITOR)
+     */
+    BulkOperationReport patch(List<Long> ids, AlbumFilter filter, AlbumPatch patch, Long ownerId);
+
+    default BulkOperationReport delete(List<Long> ids, AlbumFilter filter, Long ownerId) {
+        return delete(ids, filter, ownerId, rows -> {});
+    }
+
+    /**
+     * @param progress primește numărul de albume șterse după fiecare lot confirmat
+     */
+    BulkOperationReport delete(List<Long> ids, AlbumFilter filter, Long ownerId, LongConsumer progress);
+
+    /**
+     * Mută toate albumele unui utilizator la altul (ex. înainte ca primul să fie șters).
+     *
+     * @param progress primește numărul de albume mutate după fiecare lot confirmat
+     */
+    BulkOperationReport reassign(Long fromUserId, Long toUserId, LongConsumer progress);
+}
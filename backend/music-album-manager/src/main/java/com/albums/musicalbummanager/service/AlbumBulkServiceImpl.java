@@ -0,0 +1,277 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.AlbumFilter;
+import com.albums.musicalbummanager.dto.BulkOperationReport;
+import com.albums.musicalbummanager.entity.Album;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Operații pe multe albume deodată, cu instrucțiuni pe mulțimi în loc de un request (și un UPDATE
+ * complet) per album. Albumele sunt parcurse pe loturi, în ordinea id-urilor, fiecare lot în propria
+ * tranzacție: rândurile lotului sunt citite FOR UPDATE (valorile vechi, pentru rollup-uri), apoi un singur
+ * UPDATE ... WHERE id IN (...) scrie doar coloanele din patch. Rollup-urile, jurnalul de modificări și
+ * cache-urile sunt ținute la zi prin aceleași AlbumChangedEvent ca la scrierile individuale. Ștergerea și
+ * mutarea la alt utilizator merg la fel: un DELETE, respectiv un UPDATE, per lot.
+ * <p>
+ * Un lot e atomic; operația întreagă nu este: după o eroare, loturile deja confirmate rămân aplicate.
+ */
+@Service
+public class AlbumBulkServiceImpl implements AlbumBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(AlbumBulkServiceImpl.class);
+
+    private static final String SELECT_SQL = "select id, title, artist, genre, release_year, record_label, price, "
+            + "stock, image_url, user_id, version from albums where ";
+
+    private static final RowMapper<Album> ALBUM_ROW = (rs, rowNum) -> {
+        Album album = new Album(rs.getString("title"), rs.getString("artist"), rs.getString("genre"),
+                rs.getObject("release_year", Integer.class), rs.getString("record_label"), rs.getBigDecimal("price"),
+                rs.getObject("stock", Integer.class), rs.getString("image_url"), rs.getLong("user_id"));
+        album.setId(rs.getLong("id"));
+        album.setVersion(rs.getLong("version"));
+        return album;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AlbumRollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+
+    public AlbumBulkServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                AlbumRollupService rollupService, ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${albums.bulk.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rollupService = rollupService;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Override
+    public BulkOperationReport patch(List<Long> ids, AlbumFilter filter, AlbumPatch patch, Long ownerId) {
+        if (patch.isEmpty()) {
+            throw new IllegalArgumentException("Patch must change at least one field");
+        }
+        long start = System.nanoTime();
+        long[] counts = new long[2]; // matched, affected
+        long requested = forEachChunk(ids, filter, ownerId, (where, args) -> {
+            List<Album> rows = patchChunk(where, args, patch, counts);
+            counts[0] += rows.size();
+            return rows;
+        });
+        return report("patch", counts[0], counts[1], requested, start);
+    }
+
+    @Override
+    public BulkOperationReport delete(List<Long> ids, AlbumFilter filter, Long ownerId, LongConsumer progress) {
+        long start = System.nanoTime();
+        long[] counts = new long[2]; // matched, affected
+        long requested = forEachChunk(ids, filter, ownerId, (where, args) -> {
+            List<Album> rows = deleteChunk(where, args);
+            counts[0] += rows.size();
+            counts[1] += rows.size();
+            progress.accept(rows.size());
+            return rows;
+        });
+        return report("delete", counts[0], counts[1], requested, start);
+    }
+
+    @Override
+    public BulkOperationReport reassign(Long fromUserId, Long toUserId, LongConsumer progress) {
+        if (fromUserId == null || toUserId == null) {
+            throw new IllegalArgumentException("Both users are required");
+        }
+        long start = System.nanoTime();
+        long[] counts = new long[1];
+        AlbumFilter filter = new AlbumFilter();
+        filter.setUserId(fromUserId);
+        forEachChunk(null, filter, null, (where, args) -> {
+            List<Album> rows = reassignChunk(where, args, toUserId);
+            counts[0] += rows.size();
+            progress.accept(rows.size());
+            return rows;
+        });
+        return report("reassign", counts[0], counts[0], 0, start);
+    }
+
+    // Un lot, într-o tranzacție: citire cu lock, un UPDATE pentru albumele care chiar se schimbă, evenimentele
+    private List<Album> patchChunk(String where, List<Object> args, AlbumPatch patch, long[] counts) {
+        return transactionTemplate.execute(status -> {
+            List<Album> rows = jdbcTemplate.query(SELECT_SQL + where + " for update", ALBUM_ROW, args.toArray());
+            List<Album> changed = new ArrayList<>(rows.size());
+            List<AlbumFacts> before = new ArrayList<>(rows.size());
+            for (Album album : rows) {
+                AlbumFacts facts = AlbumFacts.of(album);
+                if (patch.applyTo(album)) {
+                    album.setVersion(album.getVersion() + 1);
+                    changed.add(album);
+                    before.add(facts);
+                }
+            }
+            if (changed.isEmpty()) {
+                return rows;
+            }
+            update(patch, changed);
+            for (int i = 0; i < changed.size(); i++) {
+                rollupService.albumChanged(before.get(i), AlbumFacts.of(changed.get(i)));
+                eventPublisher.publishEvent(AlbumChangedEvent.saved(changed.get(i)));
+            }
+            counts[1] += changed.size();
+            return rows;
+        });
+    }
+
+    // Rândurile citite cu lock dau valorile scăzute din rollup-uri; apoi un singur DELETE pentru tot lotul
+    private List<Album> deleteChunk(String where, List<Object> args) {
+        return transactionTemplate.execute(status -> {
+            List<Album> rows = jdbcTemplate.query(SELECT_SQL + where + " for update", ALBUM_ROW, args.toArray());
+            if (rows.isEmpty()) {
+                return rows;
+            }
+            jdbcTemplate.update("delete from albums where id in (" + placeholders(rows.size()) + ")",
+                    rows.stream().map(Album::getId).toArray());
+            for (Album album : rows) {
+                rollupService.albumChanged(AlbumFacts.of(album), null);
+                eventPublisher.publishEvent(AlbumChangedEvent.deleted(album.getId()));
+            }
+            return rows;
+        });
+    }
+
+    private List<Album> reassignChunk(String where, List<Object> args, Long toUserId) {
+        return transactionTemplate.execute(status -> {
+            List<Album> rows = jdbcTemplate.query(SELECT_SQL + where + " for update", ALBUM_ROW, args.toArray());
+            if (rows.isEmpty()) {
+                return rows;
+            }
+            List<Object> updateArgs = new ArrayList<>(rows.size() + 1);
+            updateArgs.add(toUserId);
+            rows.forEach(album -> updateArgs.add(album.getId()));
+            jdbcTemplate.update("update albums set user_id = ?, version = version + 1 where id in ("
+                    + placeholders(rows.size()) + ")", updateArgs.toArray());
+            for (Album album : rows) {
+                AlbumFacts before = AlbumFacts.of(album);
+                album.setUserId(toUserId);
+                album.setVersion(album.getVersion() + 1);
+                rollupService.albumChanged(before, AlbumFacts.of(album));
+                eventPublisher.publishEvent(AlbumChangedEvent.saved(album));
+            }
+            return rows;
+        });
+    }
+
+    private void update(AlbumPatch patch, List<Album> albums) {
+        StringBuilder sql = new StringBuilder("update albums set ");
+        List<Object> args = new ArrayList<>();
+        for (Map.Entry<AlbumPatch.Field, Object> entry : patch.getValues().entrySet()) {
+            sql.append(entry.getKey().getColumn()).append(" = ?, ");
+            args.add(entry.getValue());
+        }
+        sql.append("version = version + 1 where id in (").append(placeholders(albums.size())).append(')');
+        albums.forEach(album -> args.add(album.getId()));
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    /**
+     * Parcurge albumele cerute pe loturi de cel mult chunkSize: după lista de id-uri (sortată, fără
+     * duplicate) sau, pentru un filtru, keyset după id.
+     *
+     * @return câte id-uri au fost cerute explicit (0 pentru un filtru)
+     */
+    private long forEachChunk(List<Long> ids, AlbumFilter filter, Long ownerId, Chunk chunk) {
+        String owner = ownerId == null ? "" : " and user_id = ?";
+        if (ids != null && !ids.isEmpty()) {
+            List<Long> sorted = ids.stream().filter(Objects::nonNull).distinct().sorted().toList();
+            for (int from = 0; from < sorted.size(); from += chunkSize) {
+                List<Long> part = sorted.subList(from, Math.min(from + chunkSize, sorted.size()));
+                List<Object> args = new ArrayList<>(part);
+                if (ownerId != null) {
+                    args.add(ownerId);
+                }
+                chunk.apply("id in (" + placeholders(part.size()) + ")" + owner, args);
+            }
+            return sorted.size();
+        }
+        if (filter == null || filter.isEmpty()) {
+            throw new IllegalArgumentException("Either ids or a non-empty filter is required");
+        }
+        List<Object> filterArgs = new ArrayList<>();
+        String where = where(filter, filterArgs) + owner;
+        if (ownerId != null) {
+            filterArgs.add(ownerId);
+        }
+        long after = Long.MIN_VALUE;
+        while (true) {
+            List<Object> args = new ArrayList<>(filterArgs);
+            args.add(after);
+            args.add(chunkSize);
+            List<Album> rows = chunk.apply(where + " and id > ? order by id limit ?", args);
+            if (rows.size() < chunkSize) {
+                return 0;
+            }
+            after = rows.get(rows.size() - 1).getId();
+        }
+    }
+
+    // Aceleași criterii ca AlbumSpecifications.matching, în SQL
+    private static String where(AlbumFilter filter, List<Object> args) {
+        List<String> conditions = new ArrayList<>();
+        condition(conditions, args, "genre = ?", filter.getGenre());
+        condition(conditions, args, "artist = ?", filter.getArtist());
+        condition(conditions, args, "record_label = ?", filter.getRecordLabel());
+        condition(conditions, args, "user_id = ?", filter.getUserId());
+        condition(conditions, args, "release_year >= ?", filter.getMinYear());
+        condition(conditions, args, "release_year <= ?", filter.getMaxYear());
+        condition(conditions, args, "price >= ?", filter.getMinPrice());
+        condition(conditions, args, "price <= ?", filter.getMaxPrice());
+        return String.join(" and ", conditions);
+    }
+
+    private static void condition(List<String> conditions, List<Object> args, String sql, Object value) {
+        if (value != null) {
+            conditions.add(sql);
+            args.add(value);
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private BulkOperationReport report(String operation, long matched, long affected, long requested, long start) {
+        long nanos = System.nanoTime() - start;
+        meterRegistry.timer("albums.bulk", "operation", operation).record(nanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("albums.bulk.rows", "operation", operation).increment(affected);
+        BulkOperationReport report = new BulkOperationReport(matched, affected,
+                Math.max(0, requested - matched), TimeUnit.NANOSECONDS.toMillis(nanos));
+        log.info("Bulk {}: {} of {} matched albums in {} ms ({} rows/s)", operation, affected, matched,
+                report.getElapsedMillis(), report.getRowsPerSecond());
+        return report;
+    }
+
+    @FunctionalInterface
+    private interface Chunk {
+        List<Album> apply(String where, List<Object> args);
+    }
+}
@@ -0,0 +1,80 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.entity.Album;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Cache read-through pentru albume după id, invalidat după commit-ul oricărei scrieri.
+ * Încărcările concurente pentru același id sunt comasate: un singur request ajunge la baza de date,
+ * ceilalți așteaptă rezultatul lui (fără să blocheze carrier-ul, vezi {@link CacheLoads}). Cache-ul ține copii, iar apelanții primesc tot copii,
+ * ca modificările făcute pe entitate într-un controller să nu ajungă în cache.
+ */
+@Component
+public class AlbumCache implements MeterBinder {
+
+    private final AsyncCache<Long, Album> albums;
+
+    public AlbumCache(@Value("${albums.cache.max-size:10000}") long maxSize,
+                      @Value("${albums.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.albums = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Optional<Album> get(Long id, Function<Long, Optional<Album>> loader) {
+        Album cached = CacheLoads.get(albums, id, key -> loader.apply(key).map(AlbumCache::copyOf).orElse(null));
+        return Optional.ofNullable(cached).map(AlbumCache::copyOf);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlbumChanged(AlbumChangedEvent event) {
+        albums.synchronous().invalidate(event.getAlbumId());
+    }
+
+    // Expune hit ratio-ul și evacuările ca metrici cache.* cu tag-ul cache="albums"
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, albums.synchronous(), "albums");
+    }
+
+    public void invalidateAll() {
+        albums.synchronous().invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = albums.synchronous().stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", albums.synchronous().estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("loadCount", stats.loadCount());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        return result;
+    }
+
+    static Album copyOf(Album album) {
+        Album copy = new Album(album.getTitle(), album.getArtist(), album.getGenre(), album.getReleaseYear(),
+                album.getRecordLabel(), album.getPrice(), album.getStock(), album.getImageUrl(), album.getUserId());
+        copy.setId(album.getId());
+        copy.setVersion(album.getVersion());
+        return copy;
+    }
+}
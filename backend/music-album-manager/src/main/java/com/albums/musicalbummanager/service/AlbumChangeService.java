@@ -0,0 +1,10 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.AlbumChangesPage;
+
+public interface AlbumChangeService {
+    AlbumChangesPage changesSince(long since, int limit);
+    long latestSeq();
+    int publishPending();
+    int compact();
+}
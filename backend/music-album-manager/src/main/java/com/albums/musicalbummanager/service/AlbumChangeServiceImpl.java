@@ -0,0 +1,310 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.AlbumChangeEntry;
+import com.albums.musicalbummanager.dto.AlbumChangesPage;
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.repository.AlbumRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Jurnalul de modificări al albumelor (album_changes), pentru clienții care țin o copie a catalogului
+ * și vor doar diferențele. Fiecare scriere de album adaugă o intrare în album_change_inbox, în aceeași
+ * tranzacție, fără niciun lock comun: scrierile (inclusiv rezervările de stoc) nu se serializează între ele.
+ * <p>
+ * seq-urile sunt atribuite după commit (publishPending, înaintea fiecărei citiri a jurnalului): o tranzacție
+ * scurtă blochează rândul din album_change_sequence, mută intrările comise din inbox în album_changes cu
+ * seq-uri consecutive și le șterge din inbox. O intrare primește seq abia după ce e vizibilă, deci o
+ * tranzacție mai lentă nu poate face vizibil mai târziu un seq mai mic decât unul deja citit de un client
+ * (cu seq-ul direct din AUTO_INCREMENT, intrarea ei ar fi sărită pentru totdeauna).
+ * <p>
+ * Compactarea păstrează doar ultima intrare a fiecărui album, iar intrările DELETED mai vechi decât
+ * albums.changes.tombstone-retention-hours dispar; clienții rămași în urma lor primesc 410.
+ */
+@Service
+public class AlbumChangeServiceImpl implements AlbumChangeService {
+
+    private static final Logger log = LoggerFactory.getLogger(AlbumChangeServiceImpl.class);
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int COMPACT_BATCH_SIZE = 5000;
+    private static final int PUBLISH_BATCH_SIZE = 1000;
+
+    private static final String INBOX_SQL =
+            "insert into album_change_inbox (album_id, operation, changed_at) values (?, ?, ?)";
+    private static final String INSERT_SQL =
+            "insert into album_changes (seq, album_id, operation, changed_at) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final AlbumRepository albumRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate publishTransaction;
+    private final Duration tombstoneRetention;
+
+    public AlbumChangeServiceImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                                  AlbumRepository albumRepository, PlatformTransactionManager transactionManager,
+                                  @Value("${albums.changes.tombstone-retention-hours:168}") long retentionHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.albumRepository = albumRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Tranzacție proprie, scurtă, chiar dacă apelantul are una deschisă: lock-ul secvenței nu se ține mai mult.
+        // READ_COMMITTED: după lock, inbox-ul se citește așa cum l-a lăsat publicarea anterioară
+        this.publishTransaction = new TransactionTemplate(transactionManager);
+        this.publishTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.publishTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.tombstoneRetention = Duration.ofHours(retentionHours);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeSequence() {
+        try {
+            jdbcTemplate.update("insert into album_change_sequence (id, last_seq, compacted_through) values (1, 0, 0)");
+        } catch (DuplicateKeyException e) {
+            // Există deja (sau l-a creat altă instanță)
+        }
+    }
+
+    // Sincron, în tranzacția scrierii: intrarea se scrie la commit doar dacă tranzacția reușește
+    @EventListener
+    public void onAlbumChanged(AlbumChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(Map.of(event.getAlbumId(), event.getType()));
+            return;
+        }
+        Map<Long, AlbumChangedEvent.Type> changes = pendingChanges();
+        AlbumChangedEvent.Type previous = changes.remove(event.getAlbumId());
+        // O singură intrare per album și tranzacție; o modificare de stoc nu ascunde un SAVED anterior
+        boolean keepSaved = previous == AlbumChangedEvent.Type.SAVED
+                && event.getType() == AlbumChangedEvent.Type.STOCK_CHANGED;
+        changes.put(event.getAlbumId(), keepSaved ? previous : event.getType());
+    }
+
+    /**
+     * Citirile nu rulează într-o tranzacție: compacted_through e citit după pagină, într-o instrucțiune
+     * separată, ca o compactare terminată între timp să fie văzută (și nu doar intrările lipsă).
+     *
+     * @throws ChangeFeedExpiredException dacă intrări de după since au fost compactate
+     */
+    @Override
+    public AlbumChangesPage changesSince(long since, int limit) {
+        publishPending();
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<AlbumChangeEntry> changes = jdbcTemplate.query(
+                "select seq, album_id, operation from album_changes where seq > ? order by seq limit ?",
+                (rs, rowNum) -> new AlbumChangeEntry(rs.getLong(1), rs.getLong(2), rs.getString(3), null),
+                since, pageSize + 1);
+        long compactedThrough = sequenceColumn("compacted_through");
+        if (since < compactedThrough) {
+            throw new ChangeFeedExpiredException(since, compactedThrough);
+        }
+
+        boolean hasMore = changes.size() > pageSize;
+        if (hasMore) {
+            changes = new ArrayList<>(changes.subList(0, pageSize));
+        }
+        Set<Long> ids = changes.stream()
+                .filter(change -> !AlbumChangedEvent.Type.DELETED.name().equals(change.getOperation()))
+                .map(AlbumChangeEntry::getAlbumId)
+                .collect(Collectors.toSet());
+        Map<Long, Album> albums = new HashMap<>();
+        albumRepository.findAllById(ids).forEach(album -> albums.put(album.getId(), album));
+        for (AlbumChangeEntry change : changes) {
+            change.setAlbum(albums.get(change.getAlbumId()));
+        }
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+        return new AlbumChangesPage(changes, nextSince, hasMore);
+    }
+
+    // Punctul de pornire pentru un client nou: seq-ul curent, citit înainte de încărcarea listei complete
+    @Override
+    public long latestSeq() {
+        publishPending();
+        return sequenceColumn("last_seq");
+    }
+
+    /**
+     * Atribuie seq-uri intrărilor comise din inbox, în loturi, fiecare în tranzacția lui. Fără intrări în
+     * așteptare costă o singură citire, fără lock.
+     *
+     * @return numărul de intrări publicate
+     */
+    @Override
+    public int publishPending() {
+        if (jdbcTemplate.queryForList("select id from album_change_inbox limit 1", Long.class).isEmpty()) {
+            return 0;
+        }
+        int published = 0;
+        int batch;
+        do {
+            batch = publishTransaction.execute(status -> publishBatch());
+            published += batch;
+        } while (batch == PUBLISH_BATCH_SIZE);
+        return published;
+    }
+
+    /**
+     * Șterge intrările înlocuite de o intrare mai nouă pentru același album, apoi intrările DELETED
+     * mai vechi decât perioada de retenție (mutând compacted_through peste ele).
+     *
+     * @return numărul de intrări șterse
+     */
+    @Override
+    @Scheduled(initialDelayString = "${albums.changes.compact-interval-millis:600000}",
+            fixedDelayString = "${albums.changes.compact-interval-millis:600000}")
+    public int compact() {
+        // Și fără cititori, inbox-ul nu crește la nesfârșit
+        publishPending();
+        int removed = 0;
+        List<Long> superseded;
+        do {
+            superseded = jdbcTemplate.queryForList("select c.seq from album_changes c where exists "
+                    + "(select 1 from album_changes n where n.album_id = c.album_id and n.seq > c.seq) limit ?",
+                    Long.class, COMPACT_BATCH_SIZE);
+            removed += delete(superseded);
+        } while (superseded.size() == COMPACT_BATCH_SIZE);
+
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(tombstoneRetention));
+        Long expired = jdbcTemplate.queryForObject(
+                "select max(seq) from album_changes where operation = 'DELETED' and changed_at < ?", Long.class, cutoff);
+        if (expired != null) {
+            removed += transactionTemplate.execute(status -> {
+                jdbcTemplate.update("update album_change_sequence set compacted_through = ? "
+                        + "where id = 1 and compacted_through < ?", expired, expired);
+                return jdbcTemplate.update("delete from album_changes where operation = 'DELETED' and seq <= ?",
+                        expired);
+            });
+        }
+        if (removed > 0) {
+            log.info("Album change log compacted: {} entries removed", removed);
+        }
+        return removed;
+    }
+
+    private int delete(List<Long> seqs) {
+        if (seqs.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> rows = seqs.stream().map(seq -> new Object[]{seq}).toList();
+        jdbcTemplate.batchUpdate("delete from album_changes where seq = ?", rows);
+        return seqs.size();
+    }
+
+    private long sequenceColumn(String column) {
+        List<Long> values = jdbcTemplate.queryForList(
+                "select " + column + " from album_change_sequence where id = 1", Long.class);
+        return values.isEmpty() ? 0 : values.get(0);
+    }
+
+    // Modificările tranzacției curente, în ordinea în care au fost făcute. Legate ca resursă a tranzacției:
+    // getSynchronizations() copiază și sortează lista la fiecare apel, iar un bulk patch adaugă câte o
+    // sincronizare per eveniment, deci căutarea în listă ar fi pătratică
+    private Map<Long, AlbumChangedEvent.Type> pendingChanges() {
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+            TransactionSynchronizationManager.bindResource(this, pending);
+        }
+        return pending.changes;
+    }
+
+    private void write(Map<Long, AlbumChangedEvent.Type> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(changes.size());
+        for (Map.Entry<Long, AlbumChangedEvent.Type> change : changes.entrySet()) {
+            rows.add(new Object[]{change.getKey(), change.getValue().name(), now});
+        }
+        jdbcTemplate.batchUpdate(INBOX_SQL, rows);
+    }
+
+    // Sub lock-ul rândului secvenței: publicările (de pe orice instanță) se succed, fără să atingă scrierile
+    private int publishBatch() {
+        List<Long> lastSeq = jdbcTemplate.queryForList(
+                "select last_seq from album_change_sequence where id = 1 for update", Long.class);
+        if (lastSeq.isEmpty()) {
+            initializeSequence();
+            lastSeq = jdbcTemplate.queryForList(
+                    "select last_seq from album_change_sequence where id = 1 for update", Long.class);
+        }
+        List<Object[]> pending = jdbcTemplate.query(
+                "select id, album_id, operation, changed_at from album_change_inbox order by id limit ?",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getTimestamp(4)},
+                PUBLISH_BATCH_SIZE);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        long seq = lastSeq.get(0);
+        List<Object[]> entries = new ArrayList<>(pending.size());
+        List<Object[]> ids = new ArrayList<>(pending.size());
+        for (Object[] row : pending) {
+            entries.add(new Object[]{++seq, row[1], row[2], row[3]});
+            ids.add(new Object[]{row[0]});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries);
+        jdbcTemplate.update("update album_change_sequence set last_seq = ? where id = 1", seq);
+        jdbcTemplate.batchUpdate("delete from album_change_inbox where id = ?", ids);
+        return pending.size();
+    }
+
+    private final class PendingChanges implements TransactionSynchronization {
+        final Map<Long, AlbumChangedEvent.Type> changes = new LinkedHashMap<>();
+
+        // Ultimul dintre callback-uri, după flush-urile celorlalte
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            entityManager.flush();
+            write(changes);
+        }
+
+        // O tranzacție REQUIRES_NEW își începe propria listă; cea suspendată o regăsește la resume
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(AlbumChangeServiceImpl.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(AlbumChangeServiceImpl.this, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(AlbumChangeServiceImpl.this);
+        }
+    }
+}
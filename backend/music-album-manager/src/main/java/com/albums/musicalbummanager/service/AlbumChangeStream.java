@@ -0,0 +1,248 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.AlbumChangeEntry;
+import com.albums.musicalbummanager.dto.AlbumChangesPage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Trimite modificările din jurnal abonaților SSE. Un singur thread citește jurnalul o dată pentru toți
+ * abonații (de la cel mai în urmă) și fiecare primește doar intrările de după ultimul seq trimis lui;
+ * id-ul evenimentului e seq-ul, deci un client reconectat continuă cu Last-Event-ID.
+ * <p>
+ * Thread-ul e trezit după commit-ul fiecărei scrieri pe această instanță și, pentru scrierile făcute
+ * de alte instanțe, la fiecare albums.changes.poll-millis.
+ * <p>
+ * Thread-ul de dispatch nu scrie niciodată pe socket: pune evenimentele în coada mărginită a fiecărui abonat
+ * (albums.changes.subscriber-queue), iar fiecare coadă e golită pe un thread de trimitere separat. Un client
+ * lent își blochează doar propriul thread; dacă rămâne în urmă cu o coadă plină, e deconectat și se
+ * reconectează cu Last-Event-ID, de unde jurnalul îl aduce la zi.
+ */
+@Component
+public class AlbumChangeStream implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AlbumChangeStream.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final AlbumChangeService changeService;
+    private final long timeoutMillis;
+    private final long pollMillis;
+    private final long heartbeatMillis;
+    private final int queueCapacity;
+    private final ScheduledExecutorService executor;
+    private final ExecutorService senders;
+    private final Counter dropped;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+
+    public AlbumChangeStream(AlbumChangeService changeService,
+                             @Value("${albums.changes.sse-timeout-millis:1800000}") long timeoutMillis,
+                             @Value("${albums.changes.poll-millis:1000}") long pollMillis,
+                             @Value("${albums.changes.heartbeat-millis:15000}") long heartbeatMillis,
+                             @Value("${albums.changes.subscriber-queue:1000}") int queueCapacity,
+                             MeterRegistry meterRegistry) {
+        this.changeService = changeService;
+        this.timeoutMillis = timeoutMillis;
+        this.pollMillis = pollMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        this.queueCapacity = queueCapacity;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "album-changes");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::dispatch, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        // Cel mult un thread per abonat, ocupat doar cât are ce trimite
+        this.senders = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "album-changes-send");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dropped = Counter.builder("albums.changes.subscribers.dropped")
+                .description("Abonați SSE deconectați pentru că au rămas prea mult în urmă")
+                .register(meterRegistry);
+        Gauge.builder("albums.changes.subscribers", subscribers, Set::size)
+                .description("Clienți abonați la fluxul SSE de modificări")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param since ultimul seq pe care clientul îl are deja
+     */
+    public SseEmitter subscribe(long since) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, since);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        try {
+            // Trimite imediat antetele; EventSource folosește retry la reconectare
+            emitter.send(SseEmitter.event().reconnectTime(pollMillis).comment("since " + since));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        subscribers.add(subscriber);
+        wakeUp();
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlbumChanged(AlbumChangedEvent event) {
+        wakeUp();
+    }
+
+    // Mai multe commit-uri apropiate produc o singură citire a jurnalului
+    private void wakeUp() {
+        if (!subscribers.isEmpty() && dispatchScheduled.compareAndSet(false, true)) {
+            executor.execute(this::dispatch);
+        }
+    }
+
+    private void dispatch() {
+        dispatchScheduled.set(false);
+        try {
+            while (!subscribers.isEmpty()) {
+                long from = subscribers.stream().mapToLong(subscriber -> subscriber.lastSeq).min().orElseThrow();
+                AlbumChangesPage page;
+                try {
+                    page = changeService.changesSince(from, BATCH_SIZE);
+                } catch (ChangeFeedExpiredException e) {
+                    for (Subscriber subscriber : subscribers) {
+                        if (subscriber.lastSeq < e.getCompactedThrough()) {
+                            subscriber.reset();
+                        }
+                    }
+                    continue;
+                }
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.enqueue(page.getChanges());
+                }
+                if (!page.isHasMore()) {
+                    break;
+                }
+            }
+            long now = System.currentTimeMillis();
+            for (Subscriber subscriber : subscribers) {
+                if (now - subscriber.lastSentAt >= heartbeatMillis) {
+                    subscriber.heartbeat();
+                }
+            }
+        } catch (RuntimeException e) {
+            // Reîncearcă la următorul poll; thread-ul programat nu trebuie să moară
+            log.warn("Album change dispatch failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    // Un eveniment de trimis; last închide conexiunea după el
+    private record Outgoing(SseEmitter.SseEventBuilder event, boolean last) {
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<Outgoing> queue = new ArrayBlockingQueue<>(queueCapacity);
+        final AtomicBoolean draining = new AtomicBoolean();
+        // Scrise doar de thread-ul de dispatch: ultimul seq pus în coadă și momentul în care a fost pus
+        volatile long lastSeq;
+        volatile long lastSentAt = System.currentTimeMillis();
+
+        Subscriber(SseEmitter emitter, long lastSeq) {
+            this.emitter = emitter;
+            this.lastSeq = lastSeq;
+        }
+
+        void enqueue(List<AlbumChangeEntry> changes) {
+            for (AlbumChangeEntry change : changes) {
+                if (change.getSeq() > lastSeq) {
+                    if (!offer(SseEmitter.event().id(String.valueOf(change.getSeq())).name("album")
+                            .data(change, MediaType.APPLICATION_JSON), false)) {
+                        return;
+                    }
+                    lastSeq = change.getSeq();
+                }
+            }
+        }
+
+        // Clientul e în urma compactării: trebuie să reîncarce lista completă și să se reaboneze
+        void reset() {
+            subscribers.remove(this);
+            offer(SseEmitter.event().name("reset").data(changeService.latestSeq()), true);
+        }
+
+        void heartbeat() {
+            offer(SseEmitter.event().comment("keepalive"), false);
+        }
+
+        // false dacă abonatul a fost deconectat: coada plină înseamnă un client care nu mai ține pasul
+        private boolean offer(SseEmitter.SseEventBuilder event, boolean last) {
+            if (!queue.offer(new Outgoing(event, last))) {
+                if (subscribers.remove(this)) {
+                    dropped.increment();
+                    log.info("SSE subscriber fell {} events behind at seq {}, disconnecting", queueCapacity, lastSeq);
+                }
+                queue.clear();
+                emitter.complete();
+                return false;
+            }
+            lastSentAt = System.currentTimeMillis();
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+            return true;
+        }
+
+        // Pe un thread de trimitere: emitter.send blochează cât durează scrierea pe socket
+        private void drain() {
+            try {
+                for (Outgoing outgoing; (outgoing = queue.poll()) != null; ) {
+                    emitter.send(outgoing.event());
+                    if (outgoing.last()) {
+                        emitter.complete();
+                        return;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Clientul a închis conexiunea; containerul finalizează cererea
+                subscribers.remove(this);
+                queue.clear();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // Un eveniment pus între ultimul poll și eliberarea flag-ului nu trebuie să rămână în coadă
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.entity.Album;
+
+/**
+ * Publicat la fiecare scriere de album (save/update/delete, import). Structurile derivate
+ * (indexul de căutare, cache-uri) ascultă după commit, ca o tranzacție anulată să nu le atingă.
+ */
+public class AlbumChangedEvent {
+
+    public enum Type {
+        SAVED,
+        DELETED,
+        STOCK_CHANGED // doar stocul (și versiunea) s-au schimbat, printr-un UPDATE condiționat
+    }
+
+    private final Type type;
+    private final Long albumId;
+    private final Album album; // null pentru DELETED și STOCK_CHANGED
+
+    private AlbumChangedEvent(Type type, Long albumId, Album album) {
+        this.type = type;
+        this.albumId = albumId;
+        this.album = album;
+    }
+
+    public static AlbumChangedEvent saved(Album album) {
+        return new AlbumChangedEvent(Type.SAVED, album.getId(), album);
+    }
+
+    public static AlbumChangedEvent deleted(Long albumId) {
+        return new AlbumChangedEvent(Type.DELETED, albumId, null);
+    }
+
+    public static AlbumChangedEvent stockChanged(Long albumId) {
+        return new AlbumChangedEvent(Type.STOCK_CHANGED, albumId, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getAlbumId() {
+        return albumId;
+    }
+
+    public Album getAlbum() {
+        return album;
+    }
+}
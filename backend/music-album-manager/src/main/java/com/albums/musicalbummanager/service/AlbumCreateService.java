@@ -0,0 +1,7 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.entity.Album;
+
+public interface AlbumCreateService {
+    Album create(Album album, boolean promoteOwner);
+}
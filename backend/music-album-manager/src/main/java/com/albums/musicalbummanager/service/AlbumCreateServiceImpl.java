@@ -0,0 +1,185 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Crearea de albume cu group commit: creările concurente sunt strânse într-o coadă, iar cine prinde
+ * lock-ul le scrie pe toate (inserturile, rollup-urile și promovarea USER → EDITOR a proprietarilor)
+ * într-o singură tranzacție, deci cu un singur commit. Ceilalți parchează până le e gata rezultatul.
+ * <p>
+ * Dacă tranzacția comună eșuează, fiecare creare din lot e reîncercată în tranzacția ei,
+ * ca fiecare apelant să primească propriul rezultat sau propria eroare.
+ */
+@Service
+public class AlbumCreateServiceImpl implements AlbumCreateService {
+
+    // Plasă de siguranță: cine așteaptă își reverifică cererea chiar dacă n-a fost trezit explicit
+    private static final long PARK_NANOS = 1_000_000;
+
+    private final AlbumService albumService;
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final TransactionTemplate requiresNew;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+
+    private final Queue<PendingCreate> queue = new ConcurrentLinkedQueue<>();
+    private final Lock lock = new ReentrantLock();
+
+    public AlbumCreateServiceImpl(AlbumService albumService, UserRepository userRepository, UserCache userCache,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${albums.create.max-batch-size:64}") int maxBatchSize,
+                                  @Value("${albums.create.max-wait-micros:0}") long maxWaitMicros) {
+        this.albumService = albumService;
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+    }
+
+    /**
+     * Rulează mereu în propria tranzacție (poate scrie și albumele altor thread-uri).
+     *
+     * @param promoteOwner true dacă proprietarul e USER și trebuie promovat la EDITOR
+     */
+    @Override
+    public Album create(Album album, boolean promoteOwner) {
+        PendingCreate pending = new PendingCreate(album, promoteOwner);
+        queue.add(pending);
+
+        while (!pending.done) {
+            if (lock.tryLock()) {
+                try {
+                    lingerForBatch();
+                    applyPending();
+                } finally {
+                    lock.unlock();
+                }
+                wakeNext();
+            } else {
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+        }
+
+        if (pending.failure != null) {
+            throw pending.failure;
+        }
+        return pending.result;
+    }
+
+    // Opțional: lotul așteaptă puțin după alte creări, în schimbul unei latențe mai mari
+    private void lingerForBatch() {
+        if (maxWaitNanos <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (queue.size() < maxBatchSize) {
+            long left = deadline - System.nanoTime();
+            if (left <= 0) {
+                return;
+            }
+            LockSupport.parkNanos(this, Math.min(left, 50_000));
+        }
+    }
+
+    // Apelat sub lock: scrie cel mult maxBatchSize creări din coadă (posibil niciuna)
+    private void applyPending() {
+        List<PendingCreate> batch = new ArrayList<>();
+        for (PendingCreate pending; batch.size() < maxBatchSize && (pending = queue.poll()) != null; ) {
+            batch.add(pending);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).failure = e;
+            } else {
+                // Nu știm care creare a stricat lotul: fiecare primește propria tranzacție
+                for (PendingCreate pending : batch) {
+                    try {
+                        write(List.of(pending));
+                    } catch (RuntimeException single) {
+                        pending.failure = single;
+                    }
+                }
+            }
+        } finally {
+            for (PendingCreate pending : batch) {
+                pending.done = true;
+                LockSupport.unpark(pending.owner);
+            }
+        }
+    }
+
+    private void write(List<PendingCreate> batch) {
+        Set<Long> promoted = new TreeSet<>();
+        List<Album> saved = requiresNew.execute(status -> {
+            List<Album> albums = new ArrayList<>(batch.size());
+            for (PendingCreate pending : batch) {
+                // O creare inserează mereu (un id venit de la client nu suprascrie alt album); resetăm și
+                // după un lot anulat, în care IDENTITY apucase deja să completeze id-ul
+                pending.album.setId(null);
+                pending.album.setVersion(0);
+                albums.add(albumService.save(pending.album));
+                if (pending.promoteOwner && pending.album.getUserId() != null) {
+                    promoted.add(pending.album.getUserId());
+                }
+            }
+            // Un singur UPDATE condiționat pentru toți proprietarii din lot, fără citiri prealabile
+            if (!promoted.isEmpty()) {
+                userRepository.promoteToEditor(promoted);
+            }
+            return albums;
+        });
+        // După commit: următorul request al proprietarului își reîncarcă rolul
+        promoted.forEach(userCache::invalidate);
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result = saved.get(i);
+        }
+    }
+
+    // Creările sosite după ce am golit coada: trezim autorul primei, ca să preia el rolul de combiner
+    private void wakeNext() {
+        PendingCreate next = queue.peek();
+        if (next != null) {
+            LockSupport.unpark(next.owner);
+        }
+    }
+
+    private static final class PendingCreate {
+        final Album album;
+        final boolean promoteOwner;
+        final Thread owner = Thread.currentThread();
+        Album result;             // scrise înainte de done, deci vizibile după ce owner-ul citește done == true
+        RuntimeException failure;
+        volatile boolean done;
+
+        PendingCreate(Album album, boolean promoteOwner) {
+            this.album = album;
+            this.promoteOwner = promoteOwner;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.repository.AlbumSortKey;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cursor opac pentru paginarea keyset: valorile cheilor de sortare ale ultimului album
+ * din pagină, împreună cu sortarea pentru care au fost emise (base64url peste JSON).
+ */
+final class AlbumCursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private AlbumCursor() {}
+
+    static String encode(List<Sort.Order> orders, Album last) {
+        List<String> keys = new ArrayList<>();
+        for (Sort.Order order : orders) {
+            Object value = AlbumSortKey.fromProperty(order.getProperty()).valueOf(last);
+            keys.add(value == null ? null : value.toString());
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("s", describe(orders));
+        payload.put("k", keys);
+        try {
+            byte[] json = MAPPER.writeValueAsBytes(payload);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    static List<Object> decode(String cursor, List<Sort.Order> orders) {
+        Map<String, Object> payload;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            payload = MAPPER.readValue(json, new TypeReference<Map<String, Object>>() {});
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        // Un cursor e valid doar pentru sortarea cu care a fost generat
+        if (!describe(orders).equals(payload.get("s")) || !(payload.get("k") instanceof List<?> keys)
+                || keys.size() != orders.size()) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            Object raw = keys.get(i);
+            try {
+                values.add(AlbumSortKey.fromProperty(orders.get(i).getProperty())
+                        .parse(raw == null ? null : raw.toString()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        return values;
+    }
+
+    private static String describe(List<Sort.Order> orders) {
+        StringBuilder sb = new StringBuilder();
+        for (Sort.Order order : orders) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(order.isAscending() ? "" : "-").append(order.getProperty());
+        }
+        return sb.toString();
+    }
+}
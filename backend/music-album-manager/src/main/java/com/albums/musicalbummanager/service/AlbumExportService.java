@@ -0,0 +1,8 @@
+package com.albums.musicalbummanager.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface AlbumExportService {
+    long export(AlbumExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,122 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.repository.AlbumRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class AlbumExportServiceImpl implements AlbumExportService {
+
+    private static final String CSV_HEADER =
+            "id,title,artist,genre,releaseYear,recordLabel,price,stock,imageUrl,userId";
+
+    private final AlbumRepository albumRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public AlbumExportServiceImpl(AlbumRepository albumRepository, EntityManager entityManager,
+                                  ObjectMapper objectMapper) {
+        this.albumRepository = albumRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    // Scrie albumele rând cu rând; fiecare entitate e scoasă din persistence context după ce a fost scrisă,
+    // așa că memoria folosită nu crește cu dimensiunea tabelei
+    @Override
+    @Transactional(readOnly = true)
+    public long export(AlbumExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Album> albums = albumRepository.streamAllBy()) {
+            return format == AlbumExportFormat.CSV
+                    ? writeCsv(albums.iterator(), out)
+                    : writeNdjson(albums.iterator(), out);
+        }
+    }
+
+    private long writeNdjson(Iterator<Album> albums, OutputStream out) throws IOException {
+        long count = 0;
+        // Fără flush după fiecare rând: lăsăm buffer-ul răspunsului să decidă când trimite date
+        try (SequenceWriter rows = objectMapper.writerFor(Album.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            while (albums.hasNext()) {
+                Album album = albums.next();
+                rows.write(album);
+                entityManager.detach(album);
+                count++;
+            }
+        }
+        if (count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<Album> albums, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (albums.hasNext()) {
+            Album album = albums.next();
+            writeCsvRow(writer, album);
+            entityManager.detach(album);
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, Album album) throws IOException {
+        writer.write(csv(album.getId()));
+        writer.write(',');
+        writer.write(csv(album.getTitle()));
+        writer.write(',');
+        writer.write(csv(album.getArtist()));
+        writer.write(',');
+        writer.write(csv(album.getGenre()));
+        writer.write(',');
+        writer.write(csv(album.getReleaseYear()));
+        writer.write(',');
+        writer.write(csv(album.getRecordLabel()));
+        writer.write(',');
+        writer.write(csv(album.getPrice() == null ? null : album.getPrice().toPlainString()));
+        writer.write(',');
+        writer.write(csv(album.getStock()));
+        writer.write(',');
+        writer.write(csv(album.getImageUrl()));
+        writer.write(',');
+        writer.write(csv(album.getUserId()));
+        writer.write('\n');
+    }
+
+    // Escape RFC 4180: ghilimele în jurul valorilor care conțin separatori, ghilimele sau linii noi
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,63 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.entity.Album;
+
+import java.math.BigDecimal;
+
+/**
+ * Câmpurile unui album care contează pentru rollup-uri, copiate într-un moment dat
+ * (ex. înainte ca un merge să suprascrie entitatea).
+ */
+public final class AlbumFacts {
+
+    private final String genre;
+    private final String artist;
+    private final Integer releaseYear;
+    private final Long userId;
+    private final BigDecimal price;
+    private final int stock;
+
+    public AlbumFacts(String genre, String artist, Integer releaseYear, Long userId, BigDecimal price,
+                      Integer stock) {
+        this.genre = genre;
+        this.artist = artist;
+        this.releaseYear = releaseYear;
+        this.userId = userId;
+        this.price = price;
+        this.stock = stock == null ? 0 : stock;
+    }
+
+    public static AlbumFacts of(Album album) {
+        return new AlbumFacts(album.getGenre(), album.getArtist(), album.getReleaseYear(), album.getUserId(),
+                album.getPrice(), album.getStock());
+    }
+
+    public String getGenre() {
+        return genre;
+    }
+
+    public String getArtist() {
+        return artist;
+    }
+
+    public Integer getReleaseYear() {
+        return releaseYear;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public int getStock() {
+        return stock;
+    }
+
+    // price * cantitate; albumele fără preț nu adaugă valoare
+    BigDecimal valueOf(long quantity) {
+        return price == null ? BigDecimal.ZERO : price.multiply(BigDecimal.valueOf(quantity));
+    }
+}
@@ -0,0 +1,11 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.ImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface AlbumImportService {
+    ImportReport importJson(InputStream in, Long userId) throws IOException;
+    ImportReport importCsv(InputStream in, Long userId) throws IOException;
+}
@@ -0,0 +1,296 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.ImportReport;
+import com.albums.musicalbummanager.dto.ImportRowError;
+import com.albums.musicalbummanager.entity.Album;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Import în masă de albume. Album.id folosește IDENTITY, deci Hibernate nu poate grupa INSERT-urile;
+ * de aceea scriem direct prin JDBC, în batch-uri (cu id-urile generate citite înapoi),
+ * câte o tranzacție pe fiecare bucată de rânduri.
+ * Pe MySQL batch-urile devin INSERT-uri multi-row doar cu rewriteBatchedStatements=true în URL.
+ */
+@Service
+public class AlbumImportServiceImpl implements AlbumImportService {
+
+    private static final String INSERT_SQL = "insert into albums (title, artist, genre, release_year, "
+            + "record_label, price, stock, image_url, user_id, version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    // Raportul păstrează doar primele erori, ca un fișier complet greșit să nu umple memoria
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AlbumRollupService rollupService;
+    private final int batchSize;
+    private final int chunkSize;
+
+    public AlbumImportServiceImpl(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper,
+                                  Validator validator,
+                                  ApplicationEventPublisher eventPublisher,
+                                  AlbumRollupService rollupService,
+                                  @Value("${albums.import.batch-size:500}") int batchSize,
+                                  @Value("${albums.import.chunk-size:5000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.rollupService = rollupService;
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    // Așteaptă un array JSON de albume, citit element cu element (nu încărcăm tot array-ul)
+    @Override
+    public ImportReport importJson(InputStream in, Long userId) throws IOException {
+        ImportRun run = new ImportRun(userId);
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of albums");
+            }
+            long row = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                row++;
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    run.reject(row, "Expected a JSON object");
+                    continue;
+                }
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    run.accept(row, objectMapper.treeToValue(node, Album.class));
+                } catch (JsonProcessingException e) {
+                    run.reject(row, "Invalid value: " + e.getOriginalMessage());
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // JSON corupt: ce s-a importat deja rămâne, raportăm unde s-a oprit citirea
+            run.reject(run.received + 1, "Malformed JSON, import stopped: " + e.getOriginalMessage());
+        }
+        return run.finish();
+    }
+
+    // Prima linie trebuie să fie header-ul; coloanele sunt identificate după nume (id și userId sunt ignorate)
+    @Override
+    public ImportReport importCsv(InputStream in, Long userId) throws IOException {
+        ImportRun run = new ImportRun(userId);
+        CsvRecordReader reader = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV header is missing");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i) != null) {
+                columns.put(header.get(i).trim(), i);
+            }
+        }
+
+        long row = 0;
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            if (record.size() == 1 && record.get(0) == null) {
+                continue; // linie goală
+            }
+            row++;
+            try {
+                run.accept(row, fromCsv(record, columns));
+            } catch (NumberFormatException e) {
+                run.reject(row, "Invalid number: " + e.getMessage());
+            }
+        }
+        return run.finish();
+    }
+
+    private static Album fromCsv(List<String> record, Map<String, Integer> columns) {
+        Album album = new Album();
+        album.setTitle(column(record, columns, "title"));
+        album.setArtist(column(record, columns, "artist"));
+        album.setGenre(column(record, columns, "genre"));
+        String year = column(record, columns, "releaseYear");
+        album.setReleaseYear(year == null ? null : Integer.valueOf(year.trim()));
+        album.setRecordLabel(column(record, columns, "recordLabel"));
+        String price = column(record, columns, "price");
+        album.setPrice(price == null ? null : new BigDecimal(price.trim()));
+        String stock = column(record, columns, "stock");
+        album.setStock(stock == null ? null : Integer.valueOf(stock.trim()));
+        album.setImageUrl(column(record, columns, "imageUrl"));
+        return album;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= record.size() ? null : record.get(index);
+    }
+
+    /**
+     * Inserează albumele în batch-uri de câte batchSize și le completează id-urile generate,
+     * apoi le adaugă la rollup-uri și publică evenimentele (ascultătorii le primesc după commit-ul tranzacției curente).
+     */
+    private void insert(List<Album> albums) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                int batchStart = 0;
+                for (int i = 0; i < albums.size(); i++) {
+                    bind(ps, albums.get(i));
+                    ps.addBatch();
+                    if (i - batchStart + 1 == batchSize || i == albums.size() - 1) {
+                        ps.executeBatch();
+                        try (ResultSet keys = ps.getGeneratedKeys()) {
+                            for (int j = batchStart; j <= i && keys.next(); j++) {
+                                albums.get(j).setId(keys.getLong(1));
+                            }
+                        }
+                        batchStart = i + 1;
+                    }
+                }
+            }
+            return null;
+        });
+        for (Album album : albums) {
+            rollupService.albumChanged(null, AlbumFacts.of(album));
+            eventPublisher.publishEvent(AlbumChangedEvent.saved(album));
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Album album) throws SQLException {
+        ps.setString(1, album.getTitle());
+        ps.setString(2, album.getArtist());
+        ps.setString(3, album.getGenre());
+        if (album.getReleaseYear() != null) {
+            ps.setInt(4, album.getReleaseYear());
+        } else {
+            ps.setNull(4, Types.INTEGER);
+        }
+        ps.setString(5, album.getRecordLabel());
+        ps.setBigDecimal(6, album.getPrice());
+        if (album.getStock() != null) {
+            ps.setInt(7, album.getStock());
+        } else {
+            ps.setNull(7, Types.INTEGER);
+        }
+        ps.setString(8, album.getImageUrl());
+        ps.setLong(9, album.getUserId());
+    }
+
+    // Starea unui import: rândurile valide se adună într-o bucată care se scrie într-o singură tranzacție
+    private class ImportRun {
+        private final Long userId;
+        private final long startedAt = System.nanoTime();
+        private final List<Album> chunk = new ArrayList<>();
+        private final List<Long> chunkRows = new ArrayList<>();
+        private final ImportReport report = new ImportReport();
+        private long received;
+        private long imported;
+        private long failed;
+
+        ImportRun(Long userId) {
+            this.userId = userId;
+        }
+
+        void accept(long row, Album album) {
+            received++;
+            Set<ConstraintViolation<Album>> violations = validator.validate(album);
+            if (!violations.isEmpty()) {
+                failed++;
+                addError(row, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            album.setUserId(userId);
+            chunk.add(album);
+            chunkRows.add(row);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String message) {
+            received++;
+            failed++;
+            addError(row, message);
+        }
+
+        ImportReport finish() {
+            flush();
+            report.setReceived(received);
+            report.setImported(imported);
+            report.setFailed(failed);
+            report.setElapsedMillis((System.nanoTime() - startedAt) / 1_000_000);
+            return report;
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(chunk));
+                imported += chunk.size();
+            } catch (DataAccessException e) {
+                // Un singur rând respins de baza de date anulează toată bucata: o reluăm rând cu rând
+                for (int i = 0; i < chunk.size(); i++) {
+                    Album album = chunk.get(i);
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> insert(List.of(album)));
+                        imported++;
+                    } catch (DataAccessException rowError) {
+                        failed++;
+                        addError(chunkRows.get(i), rowError.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+            chunk.clear();
+            chunkRows.clear();
+        }
+
+        private void addError(long row, String message) {
+            if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+                report.getErrors().add(new ImportRowError(row, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.entity.Album;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * JSON-ul fiecărui album, deja serializat (UTF-8), ca listele să fie asamblate din fragmente în loc
+ * să treacă fiecare album prin Jackson la fiecare request. Un fragment e folosit doar pentru aceeași
+ * versiune a albumului, deci nu poate fi mai vechi decât entitatea primită; în plus e invalidat după
+ * commit-ul oricărei scrieri. Cache-ul e mărginit după numărul total de octeți.
+ */
+@Component
+public class AlbumJsonCache implements MeterBinder {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Fragment> fragments;
+
+    public AlbumJsonCache(ObjectMapper objectMapper,
+                          @Value("${albums.json-cache.max-bytes:67108864}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.fragments = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, Fragment fragment) -> fragment.json.length)
+                .recordStats()
+                .build();
+    }
+
+    // Fragmentul JSON al albumului (același conținut ca objectMapper.writeValueAsBytes(album))
+    public byte[] fragment(Album album) throws JsonProcessingException {
+        if (album.getId() == null) {
+            return objectMapper.writeValueAsBytes(album);
+        }
+        Fragment cached = fragments.getIfPresent(album.getId());
+        if (cached != null && cached.version == album.getVersion()) {
+            return cached.json;
+        }
+        byte[] json = objectMapper.writeValueAsBytes(album);
+        fragments.put(album.getId(), new Fragment(album.getVersion(), json));
+        return json;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlbumChanged(AlbumChangedEvent event) {
+        fragments.invalidate(event.getAlbumId());
+    }
+
+    // Hit ratio-ul și evacuările ca metrici cache.* cu tag-ul cache="albums.json"
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, fragments, "albums.json");
+    }
+
+    public void invalidateAll() {
+        fragments.invalidateAll();
+    }
+
+    private static final class Fragment {
+        final long version;
+        final byte[] json;
+
+        Fragment(long version, byte[] json) {
+            this.version = version;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.entity.Album;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Câmpurile de schimbat dintr-un JSON Merge Patch (RFC 7396), deja convertite și validate
+ * (vezi AlbumPatchReader). Un câmp lipsă rămâne neatins, null șterge valoarea.
+ * id, userId și version nu pot fi modificate.
+ */
+public final class AlbumPatch {
+
+    public enum Field {
+        TITLE("title", "title", String.class, Album::getTitle, (album, value) -> album.setTitle((String) value)),
+        ARTIST("artist", "artist", String.class, Album::getArtist, (album, value) -> album.setArtist((String) value)),
+        GENRE("genre", "genre", String.class, Album::getGenre, (album, value) -> album.setGenre((String) value)),
+        RELEASE_YEAR("releaseYear", "release_year", Integer.class, Album::getReleaseYear,
+                (album, value) -> album.setReleaseYear((Integer) value)),
+        RECORD_LABEL("recordLabel", "record_label", String.class, Album::getRecordLabel,
+                (album, value) -> album.setRecordLabel((String) value)),
+        PRICE("price", "price", BigDecimal.class, Album::getPrice, (album, value) -> album.setPrice((BigDecimal) value)),
+        STOCK("stock", "stock", Integer.class, Album::getStock, (album, value) -> album.setStock((Integer) value)),
+        IMAGE_URL("imageUrl", "image_url", String.class, Album::getImageUrl,
+                (album, value) -> album.setImageUrl((String) value));
+
+        private final String property;
+        private final String column;
+        private final Class<?> type;
+        private final Function<Album, Object> getter;
+        private final BiConsumer<Album, Object> setter;
+
+        Field(String property, String column, Class<?> type, Function<Album, Object> getter,
+              BiConsumer<Album, Object> setter) {
+            this.property = property;
+            this.column = column;
+            this.type = type;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        public static Field fromProperty(String property) {
+            for (Field field : values()) {
+                if (field.property.equals(property)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unknown or read-only album field: " + property);
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+    }
+
+    private final Map<Field, Object> values;
+
+    public AlbumPatch(Map<Field, Object> values) {
+        this.values = Collections.unmodifiableMap(new EnumMap<>(values));
+    }
+
+    public Map<Field, Object> getValues() {
+        return values;
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * Aplică patch-ul pe album (entitate sau copie).
+     *
+     * @return true dacă s-a schimbat cel puțin un câmp
+     */
+    public boolean applyTo(Album album) {
+        boolean changed = false;
+        for (Map.Entry<Field, Object> entry : values.entrySet()) {
+            Field field = entry.getKey();
+            if (!same(field.getter.apply(album), entry.getValue())) {
+                field.setter.accept(album, entry.getValue());
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    // 12 și 12.00 sunt același preț: fără asta, fiecare PATCH cu prețul curent ar scrie rândul
+    private static boolean same(Object current, Object value) {
+        if (current instanceof BigDecimal a && value instanceof BigDecimal b) {
+            return a.compareTo(b) == 0;
+        }
+        return Objects.equals(current, value);
+    }
+}
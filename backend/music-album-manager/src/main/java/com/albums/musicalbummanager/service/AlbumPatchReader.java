@@ -0,0 +1,68 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.entity.Album;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Transformă corpul unui JSON Merge Patch în AlbumPatch: fiecare valoare e convertită la tipul câmpului
+ * și verificată cu aceleași constrângeri ca la PUT (@NotBlank, @Size, @DecimalMin...), fără să existe
+ * încă un album pe care să fie aplicată.
+ */
+@Component
+public class AlbumPatchReader {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public AlbumPatchReader(ObjectMapper objectMapper, Validator validator) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * @throws IllegalArgumentException pentru un câmp necunoscut, o valoare de tip greșit sau una invalidă
+     */
+    public AlbumPatch read(JsonNode body) {
+        if (body == null || !body.isObject()) {
+            throw new IllegalArgumentException("Merge patch must be a JSON object");
+        }
+        Map<AlbumPatch.Field, Object> values = new EnumMap<>(AlbumPatch.Field.class);
+        Iterator<Map.Entry<String, JsonNode>> fields = body.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = fields.next();
+            AlbumPatch.Field field = AlbumPatch.Field.fromProperty(entry.getKey());
+            Object value = convert(field, entry.getValue());
+            Set<ConstraintViolation<Album>> violations = validator.validateValue(Album.class, field.getProperty(), value);
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException(field.getProperty() + ": "
+                        + violations.iterator().next().getMessage());
+            }
+            values.put(field, value);
+        }
+        return new AlbumPatch(values);
+    }
+
+    private Object convert(AlbumPatch.Field field, JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (value.isContainerNode()) {
+            throw new IllegalArgumentException("Invalid value for " + field.getProperty());
+        }
+        try {
+            return objectMapper.treeToValue(value, field.getType());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid value for " + field.getProperty());
+        }
+    }
+}
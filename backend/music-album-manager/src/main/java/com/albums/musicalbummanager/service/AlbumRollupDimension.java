@@ -0,0 +1,45 @@
+package com.albums.musicalbummanager.service;
+
+public enum AlbumRollupDimension {
+    GENRE("genre", "genre"),
+    ARTIST("artist", "artist"),
+    YEAR("year", "release_year"),
+    OWNER("owner", "user_id");
+
+    private final String pathName;
+    private final String column;
+
+    AlbumRollupDimension(String pathName, String column) {
+        this.pathName = pathName;
+        this.column = column;
+    }
+
+    public String getPathName() {
+        return pathName;
+    }
+
+    // Coloana din albums după care grupează rebuild-ul
+    String getColumn() {
+        return column;
+    }
+
+    // Cheia grupului pentru un album; albumele fără valoare ajung în grupul ""
+    String keyOf(AlbumFacts facts) {
+        Object value = switch (this) {
+            case GENRE -> facts.getGenre();
+            case ARTIST -> facts.getArtist();
+            case YEAR -> facts.getReleaseYear();
+            case OWNER -> facts.getUserId();
+        };
+        return value == null ? "" : value.toString();
+    }
+
+    public static AlbumRollupDimension fromName(String name) {
+        for (AlbumRollupDimension dimension : values()) {
+            if (dimension.pathName.equalsIgnoreCase(name)) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported rollup dimension: " + name);
+    }
+}
@@ -0,0 +1,12 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.AlbumRollupGroup;
+
+import java.util.List;
+
+public interface AlbumRollupService {
+    void albumChanged(AlbumFacts before, AlbumFacts after);
+    void stockChanged(Long albumId, long delta);
+    List<AlbumRollupGroup> groups(AlbumRollupDimension dimension);
+    int rebuild();
+}
@@ -0,0 +1,242 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.AlbumRollupGroup;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Rollup-uri pe gen, artist, an și proprietar, ținute la zi incremental: fiecare scriere de album
+ * adaugă diferențele (număr de albume, stoc, valoare) la grupurile atinse, iar interogările citesc
+ * doar rândurile grupurilor, nu toate albumele.
+ * <p>
+ * Diferențele se strâng pe tranzacție și se scriu chiar înainte de commit, în aceeași tranzacție cu
+ * albumul: câte un upsert per grup, în ordinea cheilor, ca două tranzacții să nu ia lock-urile
+ * rândurilor de rollup în ordini diferite. Lock-urile pe grupuri sunt ținute doar cât durează commit-ul.
+ */
+@Service
+public class AlbumRollupServiceImpl implements AlbumRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(AlbumRollupServiceImpl.class);
+
+    private static final String UPSERT_SQL = "insert into album_rollups "
+            + "(dimension, group_key, album_count, total_stock, stock_value) values (?, ?, ?, ?, ?) "
+            + "on duplicate key update album_count = album_count + ?, total_stock = total_stock + ?, "
+            + "stock_value = stock_value + ?";
+
+    private static final String FACTS_SQL = "select genre, artist, release_year, user_id, price from albums where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate serializable;
+
+    public AlbumRollupServiceImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.serializable = new TransactionTemplate(transactionManager);
+        this.serializable.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+    }
+
+    // Baze de date existente (sau golite manual): tabela se umple o singură dată, din albume
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        Long groups = jdbcTemplate.queryForObject("select count(*) from album_rollups", Long.class);
+        if (groups != null && groups == 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * @param before albumul înainte de scriere, null pentru un album nou
+     * @param after  albumul după scriere, null pentru un album șters
+     */
+    @Override
+    public void albumChanged(AlbumFacts before, AlbumFacts after) {
+        Map<RollupKey, Delta> deltas = pendingDeltas();
+        if (before != null) {
+            add(deltas, before, -1, -before.getStock(), before.valueOf(before.getStock()).negate());
+        }
+        if (after != null) {
+            add(deltas, after, 1, after.getStock(), after.valueOf(after.getStock()));
+        }
+        writeIfUnsynchronized(deltas);
+    }
+
+    // Apelat după UPDATE-ul condiționat de stoc, cu rândul albumului deja blocat de tranzacția curentă
+    @Override
+    public void stockChanged(Long albumId, long delta) {
+        List<AlbumFacts> facts = jdbcTemplate.query(FACTS_SQL, (rs, rowNum) -> new AlbumFacts(
+                rs.getString(1), rs.getString(2), rs.getObject(3, Integer.class),
+                rs.getLong(4), rs.getBigDecimal(5), 0), albumId);
+        if (facts.isEmpty() || delta == 0) {
+            return;
+        }
+        AlbumFacts album = facts.get(0);
+        Map<RollupKey, Delta> deltas = pendingDeltas();
+        add(deltas, album, 0, delta, album.valueOf(delta));
+        writeIfUnsynchronized(deltas);
+    }
+
+    @Override
+    public List<AlbumRollupGroup> groups(AlbumRollupDimension dimension) {
+        return jdbcTemplate.query("select group_key, album_count, total_stock, stock_value from album_rollups "
+                        + "where dimension = ? and album_count > 0 order by group_key",
+                (rs, rowNum) -> new AlbumRollupGroup(
+                        rs.getString(1).isEmpty() ? null : rs.getString(1),
+                        rs.getLong(2), rs.getLong(3), rs.getBigDecimal(4)),
+                dimension.name());
+    }
+
+    /**
+     * Recalculează toate rollup-urile din albume. Rulează SERIALIZABLE: citirile iau lock-uri partajate
+     * pe albume, așa că scrierile concurente fie sunt deja incluse, fie așteaptă până la commit.
+     *
+     * @return numărul de grupuri scrise
+     */
+    @Override
+    public int rebuild() {
+        Integer groups = serializable.execute(status -> {
+            Map<RollupKey, Delta> totals = new TreeMap<>();
+            for (AlbumRollupDimension dimension : AlbumRollupDimension.values()) {
+                String column = dimension.getColumn();
+                jdbcTemplate.query("select " + column + ", count(*), coalesce(sum(stock), 0), "
+                        + "coalesce(sum(price * stock), 0) from albums group by " + column, rs -> {
+                    String key = rs.getString(1);
+                    Delta delta = new Delta();
+                    delta.albums = rs.getLong(2);
+                    delta.stock = rs.getLong(3);
+                    delta.value = rs.getBigDecimal(4);
+                    totals.merge(new RollupKey(dimension, key == null ? "" : key), delta, Delta::plus);
+                });
+            }
+            jdbcTemplate.update("delete from album_rollups");
+            write(totals);
+            return totals.size();
+        });
+        log.info("Album rollups rebuilt: {} groups", groups);
+        return groups;
+    }
+
+    private static void add(Map<RollupKey, Delta> deltas, AlbumFacts facts, long albums, long stock,
+                            BigDecimal value) {
+        for (AlbumRollupDimension dimension : AlbumRollupDimension.values()) {
+            Delta delta = deltas.computeIfAbsent(new RollupKey(dimension, dimension.keyOf(facts)), key -> new Delta());
+            delta.albums += albums;
+            delta.stock += stock;
+            delta.value = delta.value.add(value);
+        }
+    }
+
+    // Diferențele tranzacției curente; fără tranzacție, o hartă nouă scrisă imediat de apelant
+    private Map<RollupKey, Delta> pendingDeltas() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new TreeMap<>();
+        }
+        // Resursă a tranzacției curente, nu căutare în getSynchronizations() (o copie sortată la fiecare apel);
+        // PendingRollups o scoate la suspend, deci o tranzacție REQUIRES_NEW nu vede diferențele celei exterioare
+        PendingRollups pending = (PendingRollups) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingRollups();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+            TransactionSynchronizationManager.bindResource(this, pending);
+        }
+        return pending.deltas;
+    }
+
+    private void writeIfUnsynchronized(Map<RollupKey, Delta> deltas) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(deltas);
+        }
+    }
+
+    private void write(Map<RollupKey, Delta> deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            if (!delta.isZero()) {
+                rows.add(new Object[]{key.dimension.name(), key.groupKey, delta.albums, delta.stock, delta.value,
+                        delta.albums, delta.stock, delta.value});
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        }
+    }
+
+    private final class PendingRollups implements TransactionSynchronization {
+        final Map<RollupKey, Delta> deltas = new TreeMap<>();
+
+        // Înaintea jurnalului de modificări, care blochează rândul secvenței ultimul
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE - 1;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Întâi rândurile de album (merge-urile din contextul de persistență), apoi rollup-urile:
+            // aceeași ordine a lock-urilor ca la UPDATE-urile de stoc, care blochează albumul de la început
+            entityManager.flush();
+            write(deltas);
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(AlbumRollupServiceImpl.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(AlbumRollupServiceImpl.this, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(AlbumRollupServiceImpl.this);
+        }
+    }
+
+    private record RollupKey(AlbumRollupDimension dimension, String groupKey) implements Comparable<RollupKey> {
+        private static final Comparator<RollupKey> ORDER = Comparator.comparing(RollupKey::dimension)
+                .thenComparing(RollupKey::groupKey);
+
+        @Override
+        public int compareTo(RollupKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private static final class Delta {
+        long albums;
+        long stock;
+        BigDecimal value = BigDecimal.ZERO;
+
+        Delta plus(Delta other) {
+            albums += other.albums;
+            stock += other.stock;
+            value = value.add(other.value);
+            return this;
+        }
+
+        boolean isZero() {
+            return albums == 0 && stock == 0 && value.signum() == 0;
+        }
+    }
+}
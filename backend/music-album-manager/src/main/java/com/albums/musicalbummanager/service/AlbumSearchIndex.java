@@ -0,0 +1,377 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.repository.AlbumRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Index inversat în memorie peste titlu, artist și casa de discuri.
+ * Dicționarul de termeni este sortat, așa că un prefix ("beat" -> "beatles") e un interval din dicționar.
+ * Căutările iau lock-ul de citire, actualizările (după commit-ul fiecărei scrieri de album) pe cel de scriere.
+ */
+@Component
+public class AlbumSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AlbumSearchIndex.class);
+
+    private static final int TITLE = 1;
+    private static final int ARTIST = 2;
+    private static final int RECORD_LABEL = 4;
+
+    // Prefixele mai scurte se potrivesc doar exact; celelalte se extind la cel mult atâția termeni,
+    // cei care apar în cele mai multe albume
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final float PREFIX_FACTOR = 0.6f;
+
+    private final AlbumRepository albumRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean rebuildOnStartup;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private IndexData data = new IndexData();
+    private List<AlbumChangedEvent> changesDuringRebuild; // non-null cât timp rulează un rebuild
+
+    public AlbumSearchIndex(AlbumRepository albumRepository,
+                            EntityManager entityManager,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${albums.search.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.albumRepository = albumRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlbumChanged(AlbumChangedEvent event) {
+        // Stocul nu e indexat, nu avem ce actualiza
+        if (event.getType() == AlbumChangedEvent.Type.STOCK_CHANGED) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            data.apply(event);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reconstruiește indexul din baza de date fără să blocheze căutările: noul index e construit separat,
+     * apoi modificările primite între timp sunt reaplicate peste el și se face schimbul.
+     *
+     * @return numărul de albume indexate
+     */
+    public int rebuild() {
+        // Un singur rebuild odată; ReentrantLock și nu synchronized, ca un thread virtual să nu-și blocheze
+        // carrier-ul pe durata citirii din baza de date
+        rebuildLock.lock();
+        try {
+            return rebuildExclusively();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private int rebuildExclusively() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        IndexData fresh = new IndexData();
+        boolean loaded = false;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Album> albums = albumRepository.streamAllBy()) {
+                    albums.forEach(album -> {
+                        fresh.add(album);
+                        entityManager.detach(album);
+                    });
+                }
+            });
+            loaded = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    changesDuringRebuild.forEach(fresh::apply);
+                    data = fresh;
+                }
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Album search index rebuilt: {} albums, {} terms", fresh.docTerms.size(), fresh.terms.size());
+        return fresh.docTerms.size();
+    }
+
+    /**
+     * Caută albumele care conțin toți termenii din interogare (ultimul cuvânt poate fi incomplet).
+     * Scorul: titlu 3, artist 2, casă de discuri 1 pentru fiecare termen, redus pentru potrivirile pe prefix.
+     * Un prefix care acoperă mai mult de 64 de termeni din dicționar se extinde doar la cei 64 care apar în cele
+     * mai multe albume; albumele care conțin doar termeni rari cu acel prefix apar după ce se tastează mai mult.
+     *
+     * @return id-urile albumelor, în ordinea relevanței
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<List<Match>> matchesPerToken = new ArrayList<>();
+            for (String token : tokens) {
+                List<Match> matches = data.matches(token);
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+                matchesPerToken.add(matches);
+            }
+            // Pornim de la termenul cu cele mai puține documente și verificăm restul prin căutare binară
+            matchesPerToken.sort(Comparator.comparingLong(AlbumSearchIndex::postingCount));
+
+            Map<Long, Float> candidates = new HashMap<>();
+            for (Match match : matchesPerToken.get(0)) {
+                Postings postings = match.postings;
+                for (int i = 0; i < postings.size; i++) {
+                    float score = weight(postings.masks[i]) * match.factor;
+                    candidates.merge(postings.ids[i], score, Math::max);
+                }
+            }
+
+            PriorityQueue<Map.Entry<Long, Float>> top = new PriorityQueue<>(limit + 1, BY_SCORE.reversed());
+            for (Map.Entry<Long, Float> candidate : candidates.entrySet()) {
+                float total = candidate.getValue();
+                boolean matchesAll = true;
+                for (int t = 1; t < matchesPerToken.size() && matchesAll; t++) {
+                    float best = 0;
+                    for (Match match : matchesPerToken.get(t)) {
+                        int mask = match.postings.maskOf(candidate.getKey());
+                        if (mask != 0) {
+                            best = Math.max(best, weight(mask) * match.factor);
+                        }
+                    }
+                    matchesAll = best > 0;
+                    total += best;
+                }
+                if (matchesAll) {
+                    top.add(Map.entry(candidate.getKey(), total));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+
+            List<Map.Entry<Long, Float>> ranked = new ArrayList<>(top);
+            ranked.sort(BY_SCORE);
+            List<Long> ids = new ArrayList<>(ranked.size());
+            ranked.forEach(entry -> ids.add(entry.getKey()));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return data.docTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Scor descrescător, la egalitate id crescător (rezultate stabile)
+    private static final Comparator<Map.Entry<Long, Float>> BY_SCORE =
+            Comparator.<Map.Entry<Long, Float>>comparingDouble(Map.Entry::getValue).reversed()
+                    .thenComparing(Map.Entry::getKey);
+
+    private static long postingCount(List<Match> matches) {
+        long count = 0;
+        for (Match match : matches) {
+            count += match.postings.size;
+        }
+        return count;
+    }
+
+    private static float weight(int mask) {
+        return ((mask & TITLE) != 0 ? 3 : 0) + ((mask & ARTIST) != 0 ? 2 : 0) + ((mask & RECORD_LABEL) != 0 ? 1 : 0);
+    }
+
+    private static final class Match {
+        final Postings postings;
+        final float factor;
+
+        Match(Postings postings, float factor) {
+            this.postings = postings;
+            this.factor = factor;
+        }
+    }
+
+    // Primul scos din extinderile unui prefix: cel cu cele mai puține albume, la egalitate cel mai mare alfabetic
+    private static final Comparator<Map.Entry<String, Postings>> LEAST_FREQUENT_FIRST =
+            Comparator.<Map.Entry<String, Postings>>comparingInt(term -> term.getValue().size)
+                    .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+
+    // Structura propriu-zisă; modificată doar sub lock-ul de scriere (sau înainte de a fi publicată)
+    private static final class IndexData {
+        final TreeMap<String, Postings> terms = new TreeMap<>();
+        final Map<Long, String[]> docTerms = new HashMap<>();
+
+        void apply(AlbumChangedEvent event) {
+            if (event.getType() == AlbumChangedEvent.Type.DELETED) {
+                remove(event.getAlbumId());
+            } else {
+                add(event.getAlbum());
+            }
+        }
+
+        void add(Album album) {
+            if (album == null || album.getId() == null) {
+                return;
+            }
+            remove(album.getId());
+            Map<String, Integer> masks = new HashMap<>();
+            collect(masks, album.getTitle(), TITLE);
+            collect(masks, album.getArtist(), ARTIST);
+            collect(masks, album.getRecordLabel(), RECORD_LABEL);
+            for (Map.Entry<String, Integer> entry : masks.entrySet()) {
+                terms.computeIfAbsent(entry.getKey(), term -> new Postings())
+                        .put(album.getId(), entry.getValue().byteValue());
+            }
+            docTerms.put(album.getId(), masks.keySet().toArray(new String[0]));
+        }
+
+        void remove(Long id) {
+            String[] previous = docTerms.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (String term : previous) {
+                Postings postings = terms.get(term);
+                if (postings != null && postings.remove(id) && postings.size == 0) {
+                    terms.remove(term);
+                }
+            }
+        }
+
+        List<Match> matches(String token) {
+            List<Match> matches = new ArrayList<>();
+            Postings exact = terms.get(token);
+            if (exact != null) {
+                matches.add(new Match(exact, 1f));
+            }
+            if (token.length() >= MIN_PREFIX_LENGTH) {
+                NavigableMap<String, Postings> longer =
+                        terms.subMap(token, false, token + Character.MAX_VALUE, false);
+                // Cei mai frecvenți termeni din interval; la egalitate rămâne cel mai mic alfabetic (rezultate stabile)
+                PriorityQueue<Map.Entry<String, Postings>> frequent = new PriorityQueue<>(MAX_PREFIX_EXPANSIONS + 1,
+                        LEAST_FREQUENT_FIRST);
+                for (Map.Entry<String, Postings> term : longer.entrySet()) {
+                    if (frequent.size() < MAX_PREFIX_EXPANSIONS) {
+                        frequent.add(term);
+                    } else if (term.getValue().size > frequent.peek().getValue().size) {
+                        frequent.poll();
+                        frequent.add(term);
+                    }
+                }
+                for (Map.Entry<String, Postings> term : frequent) {
+                    matches.add(new Match(term.getValue(), PREFIX_FACTOR));
+                }
+            }
+            return matches;
+        }
+
+        private static void collect(Map<String, Integer> masks, String text, int field) {
+            for (String token : SearchTokenizer.tokenize(text)) {
+                masks.merge(token, field, (a, b) -> a | b);
+            }
+        }
+    }
+
+    /**
+     * Lista de documente a unui termen: id-uri sortate crescător și, pe aceeași poziție, câmpurile în care apare.
+     * Id-urile noi sunt mereu cele mai mari (IDENTITY), deci adăugarea e de obicei un simplu append.
+     */
+    private static final class Postings {
+        long[] ids = new long[2];
+        byte[] masks = new byte[2];
+        int size;
+
+        void put(long id, byte mask) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                masks[index] = mask;
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                masks = Arrays.copyOf(masks, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(masks, insertAt, masks, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            masks[insertAt] = mask;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(masks, index + 1, masks, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        int maskOf(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            return index >= 0 ? masks[index] : 0;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.albums.musicalbummanager.service;
 
+import com.albums.musicalbummanager.dto.AlbumFilter;
+import com.albums.musicalbummanager.dto.AlbumPage;
 import com.albums.musicalbummanager.entity.Album;
 
 import java.util.List;
@@ -7,8 +9,29 @@ import java.util.Optional;
 
 public interface AlbumService {
     List<Album> findAll();
+    AlbumPage findPage(AlbumFilter filter, String sort, String cursor, int limit);
+    List<Album> search(String query, int limit);
     Optional<Album> findById(Long id);
     Album save(Album album);
     Album update(Album album);
+
+    /**
+     * Aplică patch-ul cu o singură citire a rândului, în care se verifică și drepturile.
+     *
+     * @param ownerId dacă nu e null, albumul trebuie să fie al acestui utilizator (EDITOR)
+     * @return albumul după patch, gol dacă albumul nu există
+     * @throws org.springframework.security.access.AccessDeniedException dacă albumul e al altui utilizator
+     */
+    Optional<Album> patch(Long id, AlbumPatch patch, Long ownerId);
+
     void deleteById(Long id);
+
+    /**
+     * Șterge albumul cu o singură citire a rândului (fără încărcarea separată pentru verificarea drepturilor).
+     *
+     * @param ownerId dacă nu e null, albumul trebuie să fie al acestui utilizator (EDITOR)
+     * @return false dacă albumul nu există
+     * @throws org.springframework.security.access.AccessDeniedException dacă albumul e al altui utilizator
+     */
+    boolean deleteById(Long id, Long ownerId);
 }
@@ -1,47 +1,177 @@
 package com.albums.musicalbummanager.service;
 
+import com.albums.musicalbummanager.config.ReplicaRoutingDataSource;
+import com.albums.musicalbummanager.dto.AlbumFilter;
+import com.albums.musicalbummanager.dto.AlbumPage;
 import com.albums.musicalbummanager.entity.Album;
 import com.albums.musicalbummanager.repository.AlbumRepository;
+import com.albums.musicalbummanager.repository.AlbumSortKey;
+import com.albums.musicalbummanager.repository.AlbumSpecifications;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class AlbumServiceImpl implements AlbumService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_SEARCH_RESULTS = 50;
     
     private final AlbumRepository albumRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AlbumSearchIndex searchIndex;
+    private final AlbumCache albumCache;
+    private final AlbumRollupService rollupService;
     
-    public AlbumServiceImpl(AlbumRepository albumRepository) {
+    public AlbumServiceImpl(AlbumRepository albumRepository, ApplicationEventPublisher eventPublisher,
+                            AlbumSearchIndex searchIndex, AlbumCache albumCache,
+                            AlbumRollupService rollupService) {
         this.albumRepository = albumRepository;
+        this.eventPublisher = eventPublisher;
+        this.searchIndex = searchIndex;
+        this.albumCache = albumCache;
+        this.rollupService = rollupService;
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<Album> findAll() {
-        return albumRepository.findAll();
+        return ReplicaRoutingDataSource.onReplica(albumRepository::findAll);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public AlbumPage findPage(AlbumFilter filter, String sort, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Sort.Order> orders = AlbumSortKey.parseSort(sort);
+
+        Specification<Album> spec = AlbumSpecifications.matching(filter);
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(AlbumSpecifications.after(orders, AlbumCursor.decode(cursor, orders)));
+        }
+
+        // Cerem un rând în plus ca să știm dacă mai urmează o pagină (fără COUNT)
+        Specification<Album> matching = spec;
+        List<Album> rows = ReplicaRoutingDataSource.onReplica(() -> albumRepository.findBy(matching, query -> query
+                .sortBy(Sort.by(orders))
+                .limit(pageSize + 1)
+                .all()));
+
+        if (rows.size() <= pageSize) {
+            return new AlbumPage(rows, null);
+        }
+        List<Album> items = new ArrayList<>(rows.subList(0, pageSize));
+        return new AlbumPage(items, AlbumCursor.encode(orders, items.get(pageSize - 1)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Album> search(String query, int limit) {
+        List<Long> ids = searchIndex.search(query, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // O singură interogare după cheia primară, apoi refacem ordinea relevanței
+        Map<Long, Album> byId = new HashMap<>();
+        ReplicaRoutingDataSource.onReplica(() -> albumRepository.findAllById(ids))
+                .forEach(album -> byId.put(album.getId(), album));
+        List<Album> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Album album = byId.get(id);
+            if (album != null) {
+                results.add(album);
+            }
+        }
+        return results;
+    }
+
+    // Încărcarea în cache citește de pe primary: o replică în urmă ar pune în cache (până la expirare)
+    // albumul de dinaintea unei scrieri abia invalidate
     @Override
     public Optional<Album> findById(Long id) {
-        return albumRepository.findById(id);
+        return albumCache.get(id, albumRepository::findById);
     }
     
     @Override
+    @Transactional
     public Album save(Album album) {
-        return albumRepository.save(album);
+        // Valorile vechi se copiază înainte ca merge-ul să suprascrie entitatea din contextul de persistență
+        AlbumFacts before = album.getId() == null ? null
+                : albumRepository.findById(album.getId()).map(AlbumFacts::of).orElse(null);
+        Album saved = albumRepository.save(album);
+        rollupService.albumChanged(before, AlbumFacts.of(saved));
+        eventPublisher.publishEvent(AlbumChangedEvent.saved(saved));
+        return saved;
     }
     
     @Override
     public Album update(Album album) {
         if (album.getId() != null && albumRepository.existsById(album.getId())) {
-            return albumRepository.save(album);
+            return save(album);
         } else {
             throw new RuntimeException("Album not found with id: " + album.getId());
         }
     }
     
+    /**
+     * Aplică doar câmpurile din patch pe entitatea încărcată (o singură citire, care servește și verificării
+     * proprietarului); cu @DynamicUpdate, UPDATE-ul scrie doar
+     * coloanele care s-au schimbat. Un patch care nu schimbă nimic nu scrie nimic.
+     */
+    @Override
+    @Transactional
+    public Optional<Album> patch(Long id, AlbumPatch patch, Long ownerId) {
+        Album album = albumRepository.findById(id).orElse(null);
+        if (album == null) {
+            return Optional.empty();
+        }
+        if (ownerId != null && !Objects.equals(album.getUserId(), ownerId)) {
+            throw new AccessDeniedException("Album " + id + " belongs to another user");
+        }
+        AlbumFacts before = AlbumFacts.of(album);
+        if (!patch.applyTo(album)) {
+            return Optional.of(album);
+        }
+        // Flush acum, ca versiunea întoarsă (ETag-ul) să fie cea nouă
+        Album saved = albumRepository.saveAndFlush(album);
+        rollupService.albumChanged(before, AlbumFacts.of(saved));
+        eventPublisher.publishEvent(AlbumChangedEvent.saved(saved));
+        return Optional.of(saved);
+    }
+
     @Override
+    @Transactional
     public void deleteById(Long id) {
-        albumRepository.deleteById(id);
+        albumRepository.findById(id).ifPresent(album -> {
+            rollupService.albumChanged(AlbumFacts.of(album), null);
+            albumRepository.delete(album);
+        });
+        eventPublisher.publishEvent(AlbumChangedEvent.deleted(id));
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteById(Long id, Long ownerId) {
+        Album album = albumRepository.findById(id).orElse(null);
+        if (album == null) {
+            return false;
+        }
+        if (ownerId != null && !Objects.equals(album.getUserId(), ownerId)) {
+            throw new AccessDeniedException("Album " + id + " belongs to another user");
+        }
+        rollupService.albumChanged(AlbumFacts.of(album), null);
+        albumRepository.delete(album);
+        eventPublisher.publishEvent(AlbumChangedEvent.deleted(id));
+        return true;
     }
 }
@@ -0,0 +1,23 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.StockOrderItem;
+
+import java.util.List;
+
+public interface AlbumStockService {
+    void reserve(Long albumId, int quantity);
+    void reserveAll(List<StockOrderItem> items);
+
+    /**
+     * Adaugă stoc înapoi (ex. comandă anulată).
+     *
+     * @param ownerId dacă nu e null, albumul trebuie să fie al acestui utilizator (EDITOR)
+     * @throws org.springframework.security.access.AccessDeniedException dacă albumul e al altui utilizator
+     */
+    void release(Long albumId, int quantity, Long ownerId);
+
+    /**
+     * Eliberează toate pozițiile sau niciuna, cu aceleași reguli de proprietar ca {@link #release}.
+     */
+    void releaseAll(List<StockOrderItem> items, Long ownerId);
+}
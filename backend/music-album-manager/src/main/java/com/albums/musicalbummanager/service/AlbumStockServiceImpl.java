@@ -0,0 +1,244 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.StockOrderItem;
+import com.albums.musicalbummanager.repository.AlbumRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rezervări de stoc prin UPDATE-uri condiționate ({@code stock >= cantitate}), fără citire prealabilă:
+ * baza de date garantează că stocul nu devine niciodată negativ, indiferent câte request-uri vin odată.
+ * <p>
+ * Pentru albumele „fierbinți”, rezervările simple concurente pe același album sunt comasate: cine prinde
+ * lock-ul albumului le aplică pe toate cele din coadă într-un singur UPDATE (și o singură tranzacție),
+ * în loc ca fiecare request să aștepte separat după lock-ul de rând din baza de date. Ceilalți doar
+ * parchează până când cererea lor e marcată ca aplicată.
+ */
+@Service
+public class AlbumStockServiceImpl implements AlbumStockService {
+
+    // Plasă de siguranță: cine așteaptă își reverifică cererea chiar dacă n-a fost trezit explicit
+    private static final long PARK_NANOS = 1_000_000;
+
+    private final AlbumRepository albumRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AlbumRollupService rollupService;
+    private final TransactionTemplate requiresNew;
+
+    // Un combiner per album; valorile slabe îl lasă să dispară când nu mai are nimeni nevoie de el
+    private final Cache<Long, StockCombiner> combiners = Caffeine.newBuilder().weakValues().build();
+
+    public AlbumStockServiceImpl(AlbumRepository albumRepository, ApplicationEventPublisher eventPublisher,
+                                 AlbumRollupService rollupService, PlatformTransactionManager transactionManager) {
+        this.albumRepository = albumRepository;
+        this.eventPublisher = eventPublisher;
+        this.rollupService = rollupService;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Rulează mereu în propria tranzacție (poate aplica și rezervările altor thread-uri).
+     *
+     * @throws InsufficientStockException dacă stocul nu ajunge
+     */
+    @Override
+    public void reserve(Long albumId, int quantity) {
+        requirePositive(quantity);
+        StockCombiner combiner = combiners.get(albumId, StockCombiner::new);
+        PendingReservation pending = new PendingReservation(quantity);
+        combiner.queue.add(pending);
+
+        // Ori devenim noi combiner-ul, ori așteptăm ca thread-ul care are lock-ul să ne aplice cererea
+        while (!pending.done) {
+            if (combiner.lock.tryLock()) {
+                try {
+                    combiner.applyPending();
+                } finally {
+                    combiner.lock.unlock();
+                }
+                combiner.wakeNext();
+            } else {
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+        }
+
+        if (pending.failure != null) {
+            throw pending.failure;
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(Long albumId, int quantity, Long ownerId) {
+        requirePositive(quantity);
+        if (albumRepository.releaseStock(albumId, quantity, ownerId) == 0) {
+            throw releaseFailureFor(albumId);
+        }
+        rollupService.stockChanged(albumId, quantity);
+        eventPublisher.publishEvent(AlbumChangedEvent.stockChanged(albumId));
+    }
+
+    /**
+     * Rezervă toate pozițiile comenzii sau niciuna. Albumele sunt actualizate în ordinea id-urilor,
+     * ca două comenzi concurente să ia lock-urile de rând în aceeași ordine (fără deadlock).
+     */
+    @Override
+    @Transactional
+    public void reserveAll(List<StockOrderItem> items) {
+        for (Map.Entry<Long, Integer> entry : mergeById(items).entrySet()) {
+            Long albumId = entry.getKey();
+            if (albumRepository.reserveStock(albumId, entry.getValue()) == 0) {
+                // Excepția anulează și rezervările deja făcute în această tranzacție
+                throw failureFor(albumId);
+            }
+            rollupService.stockChanged(albumId, -entry.getValue());
+            eventPublisher.publishEvent(AlbumChangedEvent.stockChanged(albumId));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void releaseAll(List<StockOrderItem> items, Long ownerId) {
+        for (Map.Entry<Long, Integer> entry : mergeById(items).entrySet()) {
+            Long albumId = entry.getKey();
+            if (albumRepository.releaseStock(albumId, entry.getValue(), ownerId) == 0) {
+                // Excepția anulează și eliberările deja făcute în această tranzacție
+                throw releaseFailureFor(albumId);
+            }
+            rollupService.stockChanged(albumId, entry.getValue());
+            eventPublisher.publishEvent(AlbumChangedEvent.stockChanged(albumId));
+        }
+    }
+
+    // Pozițiile pentru același album se adună; TreeMap dă ordinea crescătoare a id-urilor
+    private static Map<Long, Integer> mergeById(List<StockOrderItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one item is required");
+        }
+        Map<Long, Integer> merged = new TreeMap<>();
+        for (StockOrderItem item : items) {
+            if (item.getAlbumId() == null) {
+                throw new IllegalArgumentException("Album id is required");
+            }
+            requirePositive(item.getQuantity());
+            merged.merge(item.getAlbumId(), item.getQuantity(), Math::addExact);
+        }
+        return merged;
+    }
+
+    private static void requirePositive(int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1");
+        }
+    }
+
+    // UPDATE-ul a atins 0 rânduri: fie albumul nu există, fie stocul nu ajunge (verificăm doar pe acest drum)
+    private RuntimeException failureFor(Long albumId) {
+        if (!albumRepository.existsById(albumId)) {
+            return new RuntimeException("Album not found with id: " + albumId);
+        }
+        return new InsufficientStockException(albumId);
+    }
+
+    // UPDATE-ul de eliberare a atins 0 rânduri: albumul nu există sau e al altui utilizator
+    private RuntimeException releaseFailureFor(Long albumId) {
+        if (!albumRepository.existsById(albumId)) {
+            return new RuntimeException("Album not found with id: " + albumId);
+        }
+        return new AccessDeniedException("Album " + albumId + " belongs to another user");
+    }
+
+    private static final class PendingReservation {
+        final int quantity;
+        final Thread owner = Thread.currentThread();
+        RuntimeException failure; // scris înainte de done, deci vizibil după ce owner-ul citește done == true
+        volatile boolean done;
+
+        PendingReservation(int quantity) {
+            this.quantity = quantity;
+        }
+    }
+
+    private final class StockCombiner {
+        final Long albumId;
+        final Queue<PendingReservation> queue = new ConcurrentLinkedQueue<>();
+        final Lock lock = new ReentrantLock();
+
+        StockCombiner(Long albumId) {
+            this.albumId = albumId;
+        }
+
+        // Apelat sub lock: aplică tot ce s-a strâns în coadă (posibil nimic, dacă alt combiner a golit-o deja)
+        void applyPending() {
+            List<PendingReservation> batch = new ArrayList<>();
+            long total = 0;
+            for (PendingReservation pending; (pending = queue.poll()) != null; ) {
+                batch.add(pending);
+                total += pending.quantity;
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                long combined = total;
+                requiresNew.executeWithoutResult(status -> {
+                    // Cazul obișnuit: stocul ajunge pentru toată coada, un singur UPDATE
+                    boolean allReserved = combined <= Integer.MAX_VALUE
+                            && albumRepository.reserveStock(albumId, (int) combined) == 1;
+                    long reserved = allReserved ? combined : 0;
+                    if (!allReserved) {
+                        // Stocul e pe terminate: aplicăm pe rând, în ordinea sosirii, cât se mai poate
+                        RuntimeException failure = null;
+                        for (PendingReservation pending : batch) {
+                            if (albumRepository.reserveStock(albumId, pending.quantity) == 0) {
+                                if (failure == null) {
+                                    failure = failureFor(albumId);
+                                }
+                                pending.failure = failure;
+                            } else {
+                                reserved += pending.quantity;
+                            }
+                        }
+                    }
+                    rollupService.stockChanged(albumId, -reserved);
+                    eventPublisher.publishEvent(AlbumChangedEvent.stockChanged(albumId));
+                });
+            } catch (RuntimeException e) {
+                // Tranzacția a eșuat cu totul: nicio rezervare din acest lot nu a fost aplicată
+                batch.forEach(pending -> pending.failure = e);
+            } finally {
+                for (PendingReservation pending : batch) {
+                    pending.done = true;
+                    LockSupport.unpark(pending.owner);
+                }
+            }
+        }
+
+        // Cererile sosite după ce am golit coada: trezim autorul primei, ca să preia el rolul de combiner
+        void wakeNext() {
+            PendingReservation next = queue.peek();
+            if (next != null) {
+                LockSupport.unpark(next.owner);
+            }
+        }
+    }
+}
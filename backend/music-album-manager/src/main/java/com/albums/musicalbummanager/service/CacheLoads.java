@@ -0,0 +1,44 @@
+package com.albums.musicalbummanager.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Încărcare comasată în afara lock-urilor interne ale cache-ului. {@code Cache.get(key, loader)} rulează
+ * loader-ul în interiorul {@code ConcurrentHashMap.compute}, adică într-un bloc synchronized: un thread virtual
+ * care face acolo o interogare își blochează carrier-ul. Aici în map intră doar un future gol; primul apelant
+ * face încărcarea pe thread-ul lui, ceilalți așteaptă future-ul (fără să țină vreun monitor).
+ */
+final class CacheLoads {
+
+    private CacheLoads() {
+    }
+
+    /**
+     * @return valoarea din cache sau cea încărcată; {@code null} dacă loader-ul nu a găsit nimic (nu se memorează)
+     */
+    static <K, V> V get(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> created);
+        if (future == created) {
+            try {
+                // O valoare null scoate intrarea din cache, la fel ca o excepție
+                created.complete(loader.apply(key));
+            } catch (RuntimeException | Error e) {
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+}
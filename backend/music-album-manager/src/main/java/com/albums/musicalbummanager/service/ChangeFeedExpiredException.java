@@ -0,0 +1,19 @@
+package com.albums.musicalbummanager.service;
+
+/**
+ * Intrările de după since au fost compactate (ștergeri mai vechi decât perioada de retenție);
+ * clientul trebuie să reîncarce lista completă și să continue de la seq-ul curent.
+ */
+public class ChangeFeedExpiredException extends RuntimeException {
+
+    private final long compactedThrough;
+
+    public ChangeFeedExpiredException(long since, long compactedThrough) {
+        super("Changes since " + since + " are no longer available, reload the album list");
+        this.compactedThrough = compactedThrough;
+    }
+
+    public long getCompactedThrough() {
+        return compactedThrough;
+    }
+}
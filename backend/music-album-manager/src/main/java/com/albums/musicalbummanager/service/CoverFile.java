@@ -0,0 +1,38 @@
+package com.albums.musicalbummanager.service;
+
+import java.nio.file.Path;
+
+/**
+ * Un fișier de copertă gata de servit: conținutul nu se schimbă niciodată pentru același nume
+ * (numele vine din hash-ul conținutului), deci poate fi cache-uit oricât.
+ */
+public class CoverFile {
+
+    private final Path path;
+    private final String contentType;
+    private final String etag;
+    private final long length;
+
+    public CoverFile(Path path, String contentType, String etag, long length) {
+        this.path = path;
+        this.contentType = contentType;
+        this.etag = etag;
+        this.length = length;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public long getLength() {
+        return length;
+    }
+}
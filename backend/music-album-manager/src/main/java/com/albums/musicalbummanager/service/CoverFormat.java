@@ -0,0 +1,62 @@
+package com.albums.musicalbummanager.service;
+
+public enum CoverFormat {
+    JPEG("image/jpeg", "jpg", "jpg", new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}),
+    PNG("image/png", "png", "png", new byte[]{(byte) 0x89, 'P', 'N', 'G'}),
+    GIF("image/gif", "gif", "png", new byte[]{'G', 'I', 'F', '8'}); // miniaturile GIF se scriu ca PNG
+
+    private final String contentType;
+    private final String extension;
+    private final String thumbnailExtension;
+    private final byte[] magic;
+
+    CoverFormat(String contentType, String extension, String thumbnailExtension, byte[] magic) {
+        this.contentType = contentType;
+        this.extension = extension;
+        this.thumbnailExtension = thumbnailExtension;
+        this.magic = magic;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getThumbnailExtension() {
+        return thumbnailExtension;
+    }
+
+    // Primii octeți ai fișierului trebuie să corespundă formatului declarat
+    boolean matches(byte[] header, int length) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (header[i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static CoverFormat fromContentType(String contentType) {
+        for (CoverFormat format : values()) {
+            if (contentType != null && contentType.toLowerCase().startsWith(format.contentType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported cover type: " + contentType);
+    }
+
+    public static CoverFormat fromExtension(String extension) {
+        for (CoverFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported cover extension: " + extension);
+    }
+}
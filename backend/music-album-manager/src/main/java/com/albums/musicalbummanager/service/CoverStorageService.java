@@ -0,0 +1,12 @@
+package com.albums.musicalbummanager.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+public interface CoverStorageService {
+    String store(InputStream in, String contentType) throws IOException;
+    Optional<CoverFile> find(String name, Integer size) throws IOException;
+    String urlOf(String name);
+    int deleteUnreferenced();
+}
@@ -0,0 +1,363 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.repository.AlbumRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Coperți stocate local, adresate după conținut: numele fișierului este SHA-256-ul octeților, deci
+ * aceeași imagine încărcată de mai multe ori ocupă un singur fișier, iar un nume nu-și schimbă niciodată
+ * conținutul. Fișierele sunt împărțite pe două niveluri de directoare după primele caractere din hash.
+ * <p>
+ * Miniaturile (dimensiunile din albums.covers.thumbnail-sizes) sunt generate la upload, pe un executor
+ * mic, separat; dacă acesta e ocupat, miniatura se generează la prima cerere. Dimensiunile imaginii se citesc
+ * din antet înainte de orice decodare: peste albums.covers.max-pixels upload-ul e refuzat și nicio miniatură
+ * nu e generată, ca un fișier mic care declară 50000×50000 pixeli să nu aloce gigaocteți.
+ * <p>
+ * Fișierele pe care niciun album nu le mai folosește sunt șterse periodic (deleteUnreferenced), după o
+ * perioadă de grație în care un upload abia terminat își poate lega coperta de album.
+ */
+@Service
+public class CoverStorageServiceImpl implements CoverStorageService, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CoverStorageServiceImpl.class);
+
+    // Doar extensiile din CoverFormat: alte fișiere din director (temporare, note) nu sunt coperți
+    private static final Pattern NAME = Pattern.compile("([0-9a-f]{64})\\.(jpg|png|gif)");
+    private static final String URL_PREFIX = "/api/covers/";
+
+    private final Path root;
+    private final long maxBytes;
+    private final long maxPixels;
+    private final long cleanupGraceMillis;
+    private final AlbumRepository albumRepository;
+    private final int[] thumbnailSizes;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService thumbnailExecutor;
+
+    public CoverStorageServiceImpl(@Value("${albums.covers.dir:covers}") String dir,
+                                   @Value("${albums.covers.max-bytes:5242880}") long maxBytes,
+                                   @Value("${albums.covers.thumbnail-sizes:128,256,512}") int[] thumbnailSizes,
+                                   @Value("${albums.covers.thumbnail-threads:1}") int thumbnailThreads,
+                                   @Value("${albums.covers.max-pixels:16000000}") long maxPixels,
+                                   @Value("${albums.covers.cleanup-grace-minutes:60}") long cleanupGraceMinutes,
+                                   AlbumRepository albumRepository,
+                                   MeterRegistry meterRegistry) {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        this.maxPixels = maxPixels;
+        this.cleanupGraceMillis = TimeUnit.MINUTES.toMillis(cleanupGraceMinutes);
+        this.albumRepository = albumRepository;
+        this.thumbnailSizes = thumbnailSizes.clone();
+        Arrays.sort(this.thumbnailSizes);
+        // Coada e mărginită: la un val de upload-uri miniaturile rămase pe dinafară se fac la cerere
+        this.pool = new ThreadPoolExecutor(thumbnailThreads, thumbnailThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(64), new ThumbnailThreadFactory(), new ThreadPoolExecutor.DiscardPolicy());
+        this.thumbnailExecutor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "covers.thumbnails");
+    }
+
+    /**
+     * Scrie imaginea într-un fișier temporar calculând hash-ul din mers (fără s-o țină în memorie),
+     * apoi o mută atomic la numele final, dacă nu există deja.
+     *
+     * @return numele copertei, de forma {@code <sha256>.<extensie>}
+     * @throws IllegalArgumentException pentru un tip nesuportat, un conținut care nu e imaginea declarată
+     *                                  sau o imagine mai mare decât albums.covers.max-bytes sau max-pixels
+     */
+    @Override
+    public String store(InputStream in, String contentType) throws IOException {
+        CoverFormat format = CoverFormat.fromContentType(contentType);
+        Files.createDirectories(root);
+        Path temp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[8192];
+                for (int read; (read = in.readNBytes(buffer, 0, buffer.length)) > 0; ) {
+                    if (size == 0 && !format.matches(buffer, read)) {
+                        throw new IllegalArgumentException("Cover content is not " + format.getContentType());
+                    }
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new IllegalArgumentException("Cover must be at most " + maxBytes + " bytes");
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            if (size == 0) {
+                throw new IllegalArgumentException("Cover is empty");
+            }
+            // Doar antetul: dimensiunile declarate, fără să decodăm imaginea
+            read(temp, reader -> null);
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String name = hash + "." + format.getExtension();
+            Path target = originalPath(hash, format);
+            if (Files.exists(target)) {
+                // Fișierul existent intră din nou în perioada de grație, ca curățarea să nu-l șteargă înainte
+                // ca albumul care tocmai l-a încărcat să-l refere
+                Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Aceeași imagine încărcată concurent: fișierul celuilalt e identic
+                }
+                for (int thumbnailSize : thumbnailSizes) {
+                    thumbnailExecutor.execute(() -> thumbnail(hash, format, thumbnailSize));
+                }
+            }
+            return name;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @param size latura miniaturii sau null pentru imaginea originală
+     * @throws IllegalArgumentException dacă dimensiunea nu e una dintre cele configurate
+     */
+    @Override
+    public Optional<CoverFile> find(String name, Integer size) throws IOException {
+        Matcher matcher = NAME.matcher(name);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        String hash = matcher.group(1);
+        CoverFormat format = CoverFormat.fromExtension(matcher.group(2));
+        Path original = originalPath(hash, format);
+        if (!Files.exists(original)) {
+            return Optional.empty();
+        }
+        if (size == null) {
+            return Optional.of(new CoverFile(original, format.getContentType(), "\"" + hash + "\"",
+                    Files.size(original)));
+        }
+
+        if (Arrays.binarySearch(thumbnailSizes, size) < 0) {
+            throw new IllegalArgumentException("Unsupported cover size: " + size);
+        }
+        Path thumbnail = thumbnail(hash, format, size);
+        if (thumbnail == null) {
+            return Optional.empty();
+        }
+        String contentType = CoverFormat.fromExtension(format.getThumbnailExtension()).getContentType();
+        return Optional.of(new CoverFile(thumbnail, contentType, "\"" + hash + "-" + size + "\"",
+                Files.size(thumbnail)));
+    }
+
+    @Override
+    public String urlOf(String name) {
+        return URL_PREFIX + name;
+    }
+
+    /**
+     * Șterge originalele (și miniaturile lor) pe care niciun album nu le mai referă și care sunt mai vechi
+     * decât albums.covers.cleanup-grace-minutes.
+     *
+     * @return câte coperți au fost șterse
+     */
+    @Override
+    @Scheduled(initialDelayString = "${albums.covers.cleanup-interval-millis:3600000}",
+            fixedDelayString = "${albums.covers.cleanup-interval-millis:3600000}")
+    public int deleteUnreferenced() {
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        // Referințele se citesc înaintea listării: o copertă legată după citire e protejată de perioada de grație
+        Set<String> referenced = new HashSet<>();
+        for (String url : albumRepository.findImageUrlsStartingWith(URL_PREFIX + "%")) {
+            referenced.add(url.substring(URL_PREFIX.length()));
+        }
+        long cutoff = System.currentTimeMillis() - cleanupGraceMillis;
+        // Întâi lista, apoi ștergerea: un fișier șters din directorul pe care walk încă îl parcurge l-ar opri
+        List<Path> candidates;
+        try (Stream<Path> files = Files.walk(root, 3)) {
+            candidates = files.filter(file -> {
+                Matcher matcher = NAME.matcher(file.getFileName().toString());
+                return matcher.matches() && !referenced.contains(matcher.group());
+            }).toList();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Cover cleanup could not list {}: {}", root, e.getMessage());
+            return 0;
+        }
+        int deleted = 0;
+        try {
+            for (Path file : candidates) {
+                if (!Files.isRegularFile(file) || Files.getLastModifiedTime(file).toMillis() > cutoff) {
+                    continue;
+                }
+                String name = file.getFileName().toString();
+                String hash = name.substring(0, name.indexOf('.'));
+                CoverFormat format = CoverFormat.fromExtension(name.substring(name.indexOf('.') + 1));
+                for (int thumbnailSize : thumbnailSizes) {
+                    Files.deleteIfExists(thumbnailPath(hash, thumbnailSize, format));
+                }
+                Files.deleteIfExists(file);
+                deleted++;
+            }
+        } catch (IOException e) {
+            log.warn("Cover cleanup stopped after {} covers: {}", deleted, e.getMessage());
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} unreferenced covers", deleted);
+        }
+        return deleted;
+    }
+
+    // Generează miniatura dacă lipsește (idempotent: scrie în temporar și mută atomic); null dacă nu se poate
+    private Path thumbnail(String hash, CoverFormat format, int size) {
+        Path target = thumbnailPath(hash, size, format);
+        if (Files.exists(target)) {
+            return target;
+        }
+        try {
+            BufferedImage image;
+            try {
+                image = read(originalPath(hash, format), reader -> reader.read(0));
+            } catch (IllegalArgumentException e) {
+                log.warn("Cover {}: {}, no thumbnail generated", hash, e.getMessage());
+                return null;
+            }
+            BufferedImage scaled = scale(image, size, format);
+            Path temp = Files.createTempFile(target.getParent(), "thumbnail-", ".tmp");
+            try {
+                ImageIO.write(scaled, format.getThumbnailExtension().equals("jpg") ? "jpeg" : "png", temp.toFile());
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return target;
+        } catch (IOException e) {
+            log.warn("Thumbnail {} for cover {} failed: {}", size, hash, e.getMessage());
+            return null;
+        }
+    }
+
+    // Micșorează păstrând proporțiile, ca latura mai lungă să fie cel mult size (nu mărește niciodată)
+    private static BufferedImage scale(BufferedImage image, int size, CoverFormat format) {
+        double ratio = Math.min(1.0, (double) size / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        int type = format == CoverFormat.JPEG ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Deschide imaginea cu un ImageReader și verifică dimensiunile din antet înainte de work (care poate decoda).
+     *
+     * @throws IllegalArgumentException dacă formatul nu e recunoscut sau imaginea are mai mult de max-pixels
+     */
+    private <T> T read(Path file, ReaderWork<T> work) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Cover content cannot be decoded");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IllegalArgumentException("Cover must be at most " + maxPixels + " pixels, got "
+                            + width + "x" + height);
+                }
+                return work.apply(reader);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private interface ReaderWork<T> {
+        T apply(ImageReader reader) throws IOException;
+    }
+
+    private Path thumbnailPath(String hash, int size, CoverFormat format) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4))
+                .resolve(hash + "-" + size + "." + format.getThumbnailExtension());
+    }
+
+    private Path originalPath(String hash, CoverFormat format) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4))
+                .resolve(hash + "." + format.getExtension());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+
+    private static final class ThumbnailThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "cover-thumbnails-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.albums.musicalbummanager.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cititor CSV minimal (RFC 4180), înregistrare cu înregistrare: câmpuri între ghilimele,
+ * ghilimele dublate și linii noi în interiorul ghilimelelor. Perechea lui writeCsv din export.
+ */
+final class CsvRecordReader {
+
+    private final Reader reader;
+    private int pending = -2; // un caracter citit în avans; -2 = nimic
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // Următoarea înregistrare sau null la sfârșitul fișierului; valorile goale devin null
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(value(field, wasQuoted));
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pending = following;
+                    }
+                }
+                fields.add(value(field, wasQuoted));
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private static String value(StringBuilder field, boolean wasQuoted) {
+        return field.length() == 0 && !wasQuoted ? null : field.toString();
+    }
+}
@@ -3,13 +3,14 @@ package com.albums.musicalbummanager.service;
 import com.albums.musicalbummanager.entity.User;
 import com.albums.musicalbummanager.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -19,9 +20,20 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        // Mereu de pe primary: o replică în urmă ar accepta încă o parolă veche, un cont dezactivat sau un rol retras
+        return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
 
+    // Apelat de Spring Security după un login reușit, dacă hash-ul salvat are alt cost decât cel configurat
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        // De obicei primim chiar entitatea întoarsă de loadUserByUsername, fără să mai interogăm
+        User user = userDetails instanceof User entity ? entity : userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userDetails.getUsername()));
+        // Doar coloana password: entitatea nu are @Version, un save() ar rescrie și rolul și starea contului
+        userRepository.updatePassword(user.getId(), newPassword);
+        user.setPassword(newPassword);
         return user;
     }
 }
@@ -0,0 +1,18 @@
+package com.albums.musicalbummanager.service;
+
+/**
+ * Rezervarea ar fi dus stocul sub zero; nimic nu a fost scăzut.
+ */
+public class InsufficientStockException extends RuntimeException {
+
+    private final Long albumId;
+
+    public InsufficientStockException(Long albumId) {
+        super("Insufficient stock for album with id: " + albumId);
+        this.albumId = albumId;
+    }
+
+    public Long getAlbumId() {
+        return albumId;
+    }
+}
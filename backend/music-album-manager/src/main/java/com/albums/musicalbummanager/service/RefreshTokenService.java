@@ -0,0 +1,16 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.config.AuthenticatedUser;
+
+import java.util.Optional;
+
+public interface RefreshTokenService {
+    String issue(Long userId);
+    Optional<Rotation> rotate(String refreshToken);
+    void revokeAll(Long userId);
+    int purgeExpired();
+
+    // Utilizatorul, așa cum e acum (rolul poate diferi de cel de la login), și refresh token-ul care îl înlocuiește pe cel folosit
+    record Rotation(AuthenticatedUser user, String refreshToken) {
+    }
+}
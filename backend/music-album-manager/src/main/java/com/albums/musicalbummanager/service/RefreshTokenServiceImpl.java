@@ -0,0 +1,103 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.config.AuthenticatedUser;
+import com.albums.musicalbummanager.config.JwtUtils;
+import com.albums.musicalbummanager.config.TokenRevocations;
+import com.albums.musicalbummanager.entity.RefreshToken;
+import com.albums.musicalbummanager.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh token-uri opace și rotative: fiecare folosire îl consumă pe cel prezentat și emite altul din
+ * aceeași familie. Un token deja consumat care apare din nou înseamnă că a fost copiat; atunci toată
+ * familia e ștearsă și token-urile de acces ale utilizatorului sunt revocate.
+ * <p>
+ * Doar login-ul, înregistrarea și refresh-ul ajung aici; request-urile obișnuite nu ating tabela.
+ */
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserCache userCache;
+    private final TokenRevocations revocations;
+    private final Duration lifetime;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository, UserCache userCache,
+                                   TokenRevocations revocations,
+                                   @Value("${jwt.refresh.expiration:1209600000}") long lifetimeMillis) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userCache = userCache;
+        this.revocations = revocations;
+        this.lifetime = Duration.ofMillis(lifetimeMillis);
+    }
+
+    // O familie nouă, la login sau înregistrare
+    @Override
+    public String issue(Long userId) {
+        return store(userId, UUID.randomUUID().toString());
+    }
+
+    @Override
+    @Transactional
+    public Optional<Rotation> rotate(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(JwtUtils.digest(refreshToken)).orElse(null);
+        if (current == null) {
+            return Optional.empty();
+        }
+        // Condiționat: din două refresh-uri concurente cu același token, doar unul trece
+        if (current.isUsed() || refreshTokenRepository.markUsed(current.getId()) == 0) {
+            log.warn("Refresh token reused for user {}, revoking its sessions", current.getUserId());
+            refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            revocations.revoke(current.getUserId());
+            return Optional.empty();
+        }
+        if (current.getExpiresAt().isBefore(Instant.now())) {
+            return Optional.empty();
+        }
+        AuthenticatedUser user = userCache.get(current.getUserId()).orElse(null);
+        if (user == null || !user.isEnabled()) {
+            refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            return Optional.empty();
+        }
+        return Optional.of(new Rotation(user, store(user.getId(), current.getFamilyId())));
+    }
+
+    @Override
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    // Token-urile consumate rămân până expiră, ca refolosirea lor să fie recunoscută
+    @Override
+    @Scheduled(initialDelayString = "${jwt.refresh.purge-interval-millis:3600000}",
+            fixedDelayString = "${jwt.refresh.purge-interval-millis:3600000}")
+    public int purgeExpired() {
+        return refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    private String store(Long userId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(null, JwtUtils.digest(token), userId, familyId,
+                Instant.now().plus(lifetime), false));
+        return token;
+    }
+}
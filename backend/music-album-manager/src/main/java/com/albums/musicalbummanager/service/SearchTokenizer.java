@@ -0,0 +1,43 @@
+package com.albums.musicalbummanager.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Împarte textul în termeni pentru indexul de căutare: litere mici, fără diacritice
+ * ("Țară Șoimilor" -> "tara", "soimilor"), separare la orice caracter care nu e literă sau cifră.
+ */
+final class SearchTokenizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchTokenizer() {}
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        for (String token : SEPARATORS.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    static String normalize(String text) {
+        // NFD separă litera de semn (ș = s + virgulă dedesubt, ş = s + sedilă), apoi eliminăm semnele
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return stripped.toLowerCase(Locale.ROOT)
+                .replace("ß", "ss")
+                .replace('ł', 'l')
+                .replace('đ', 'd')
+                .replace('ø', 'o');
+    }
+}
@@ -0,0 +1,55 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.config.AuthenticatedUser;
+import com.albums.musicalbummanager.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache mărginit de utilizatori folosit la autentificarea fiecărui request.
+ * UserServiceImpl îl invalidează la orice modificare sau ștergere de utilizator;
+ * expirarea după scriere acoperă doar modificările făcute direct în baza de date.
+ */
+@Component
+public class UserCache implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final AsyncCache<Long, AuthenticatedUser> users;
+
+    public UserCache(UserRepository userRepository,
+                     @Value("${users.cache.max-size:10000}") long maxSize,
+                     @Value("${users.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .buildAsync();
+    }
+
+    // Încărcările concurente pentru același id ajung o singură dată în baza de date
+    public Optional<AuthenticatedUser> get(Long id) {
+        return Optional.ofNullable(CacheLoads.get(users, id, key -> userRepository.findById(key)
+                .map(AuthenticatedUser::from)
+                .orElse(null)));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, users.synchronous(), "users");
+    }
+
+    public void invalidate(Long id) {
+        if (id != null) {
+            users.synchronous().invalidate(id);
+        }
+    }
+}
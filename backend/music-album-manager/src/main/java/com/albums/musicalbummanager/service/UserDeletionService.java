@@ -0,0 +1,18 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.UserDeletionJob;
+
+import java.util.Optional;
+
+public interface UserDeletionService {
+    /**
+     * Șterge utilizatorul imediat (token-urile lui sunt revocate) și pornește în fundal ștergerea albumelor
+     * lui sau mutarea lor la reassignTo.
+     *
+     * @return job-ul, gol dacă utilizatorul nu există (nimic nu s-a schimbat)
+     * @throws IllegalArgumentException dacă reassignTo e chiar utilizatorul șters sau nu există
+     */
+    Optional<UserDeletionJob> delete(Long userId, Long reassignTo);
+
+    Optional<UserDeletionJob> job(String id);
+}
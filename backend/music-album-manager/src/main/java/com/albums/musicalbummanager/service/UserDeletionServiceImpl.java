@@ -0,0 +1,125 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.AlbumFilter;
+import com.albums.musicalbummanager.dto.BulkOperationReport;
+import com.albums.musicalbummanager.dto.UserDeletionJob;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Ștergerea unui utilizator fără o tranzacție lungă pe request: rândul utilizatorului și refresh token-urile
+ * dispar imediat, iar albumele lui sunt șterse (sau mutate) pe loturi de AlbumBulkService, pe un thread
+ * separat. Progresul se citește din job, păstrat în memorie albums.users.deletion-retention-minutes după
+ * terminare.
+ * <p>
+ * Job-urile nu supraviețuiesc unui restart: albumele rămase au în continuare user_id-ul vechi și pot fi
+ * șterse cu un bulk delete după filtrul userId.
+ */
+@Service
+public class UserDeletionServiceImpl implements UserDeletionService, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(UserDeletionServiceImpl.class);
+
+    private final UserService userService;
+    private final AlbumBulkService albumBulkService;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration retention;
+    private final ExecutorService pool;
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<String, UserDeletionJob> jobs = new ConcurrentHashMap<>();
+
+    public UserDeletionServiceImpl(UserService userService, AlbumBulkService albumBulkService,
+                                   JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                                   @Value("${albums.users.deletion-retention-minutes:60}") long retentionMinutes) {
+        this.userService = userService;
+        this.albumBulkService = albumBulkService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        // Un singur thread: ștergerile se fac pe rând, fără să concureze între ele pentru lock-uri
+        this.pool = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-deletions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "users.deletions");
+    }
+
+    @Override
+    public Optional<UserDeletionJob> delete(Long userId, Long reassignTo) {
+        if (reassignTo != null) {
+            if (Objects.equals(reassignTo, userId)) {
+                throw new IllegalArgumentException("Albums cannot be reassigned to the deleted user");
+            }
+            if (userService.findById(reassignTo).isEmpty()) {
+                throw new IllegalArgumentException("User not found with id: " + reassignTo);
+            }
+        }
+        // Întâi ștergerea: dacă utilizatorul nu (mai) există, moștenitorul nu e promovat degeaba
+        if (!userService.deleteById(userId)) {
+            return Optional.empty();
+        }
+        if (reassignTo != null) {
+            // Ca la crearea unui album: un USER care primește albume devine EDITOR
+            userService.promoteToEditor(reassignTo);
+        }
+
+        Instant now = Instant.now();
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().plus(retention).isBefore(now));
+        UserDeletionJob job = new UserDeletionJob(UUID.randomUUID().toString(), userId, reassignTo, now);
+        jobs.put(job.getId(), job);
+        executor.execute(() -> run(job));
+        return Optional.of(job);
+    }
+
+    @Override
+    public Optional<UserDeletionJob> job(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    // finishedAt înaintea stării: cine vede job-ul terminat vede și momentul terminării
+    private void run(UserDeletionJob job) {
+        try {
+            job.setTotalAlbums(jdbcTemplate.queryForObject("select count(*) from albums where user_id = ?",
+                    Long.class, job.getUserId()));
+            BulkOperationReport report;
+            if (job.getReassignTo() != null) {
+                report = albumBulkService.reassign(job.getUserId(), job.getReassignTo(), job::addProcessedAlbums);
+            } else {
+                AlbumFilter filter = new AlbumFilter();
+                filter.setUserId(job.getUserId());
+                report = albumBulkService.delete(null, filter, null, job::addProcessedAlbums);
+            }
+            job.setFinishedAt(Instant.now());
+            job.setState(UserDeletionJob.State.COMPLETED);
+            log.info("Deleted user {}: {} albums {} in {} ms", job.getUserId(), report.getAffected(),
+                    job.getReassignTo() != null ? "reassigned to user " + job.getReassignTo() : "deleted",
+                    report.getElapsedMillis());
+        } catch (RuntimeException e) {
+            // Loturile confirmate rămân aplicate; restul albumelor pot fi șterse cu un bulk delete
+            job.setError(e.getMessage());
+            job.setFinishedAt(Instant.now());
+            job.setState(UserDeletionJob.State.FAILED);
+            log.error("Album cleanup for deleted user {} failed", job.getUserId(), e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+}
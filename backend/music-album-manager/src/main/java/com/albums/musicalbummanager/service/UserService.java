@@ -11,6 +11,13 @@ public interface UserService {
     Optional<User> findByUsername(String username);
     User createUser(String username, String password, String role);
     User updateUser(User user);
-    void deleteById(Long id);
+    Optional<User> updateRole(Long id, String role);
+    boolean promoteToEditor(Long id);
+
+    /**
+     * @return false dacă utilizatorul nu există
+     */
+    boolean deleteById(Long id);
+
     boolean existsByUsername(String username);
 }
@@ -1,9 +1,12 @@
 package com.albums.musicalbummanager.service;
 
+import com.albums.musicalbummanager.config.ReplicaRoutingDataSource;
+import com.albums.musicalbummanager.config.TokenRevocations;
 import com.albums.musicalbummanager.entity.User;
 import com.albums.musicalbummanager.repository.UserRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,25 +17,35 @@ public class UserServiceImpl implements UserService{
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
+    private final TokenRevocations revocations;
+    private final RefreshTokenService refreshTokenService;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, UserCache userCache,
+                           TokenRevocations revocations, RefreshTokenService refreshTokenService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
+        this.revocations = revocations;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> findAll() {
-        return userRepository.findAll();
+        return ReplicaRoutingDataSource.onReplica(userRepository::findAll);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findById(Long id) {
-        return userRepository.findById(id);
+        return ReplicaRoutingDataSource.onReplica(() -> userRepository.findById(id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return ReplicaRoutingDataSource.onReplica(() -> userRepository.findByUsername(username));
     }
 
     @Override
@@ -59,19 +72,65 @@ public class UserServiceImpl implements UserService{
                 // "$2a$" este prefixul pentru BCrypt hash
                 user.setPassword(passwordEncoder.encode(user.getPassword()));
             }
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            // Rolul, parola sau starea s-au putut schimba: token-urile de acces emise până acum sunt respinse
+            // din memorie, iar clientul obține prin refresh un token nou, cu utilizatorul reîncărcat
+            userCache.invalidate(saved.getId());
+            revocations.revoke(saved.getId());
+            return saved;
         } else {
             throw new RuntimeException("User not found with id: " + user.getId());
         }
     }
 
+    /**
+     * Un singur UPDATE pe coloana role, apoi utilizatorul recitit de pe primary (niciodată un merge al unei entități
+     * citite de pe replică). Token-urile emise cu rolul vechi sunt revocate, ca la updateUser.
+     *
+     * @return utilizatorul actualizat, gol dacă nu există
+     */
+    @Override
+    public Optional<User> updateRole(Long id, String role) {
+        if (userRepository.updateRole(id, role) == 0) {
+            return Optional.empty();
+        }
+        userCache.invalidate(id);
+        revocations.revoke(id);
+        return userRepository.findById(id);
+    }
+
+    /**
+     * USER → EDITOR printr-un singur UPDATE condiționat. Cache-ul se invalidează după commit,
+     * ca un request concurent să nu pună la loc rolul vechi. Token-urile nu sunt revocate: autoritățile vin
+     * din UserCache, deci rolul mai mare se vede de la următorul request.
+     *
+     * @return true dacă utilizatorul a fost promovat acum
+     */
     @Override
-    public void deleteById(Long id) {
-        userRepository.deleteById(id);
+    public boolean promoteToEditor(Long id) {
+        if (userRepository.promoteToEditor(List.of(id)) == 0) {
+            return false;
+        }
+        userCache.invalidate(id);
+        return true;
+    }
+
+    // Rândul utilizatorului dispare primul (commit-uit înainte de invalidarea cache-ului, ca un request concurent
+    // să nu-l pună la loc); apoi refresh token-urile lui
+    @Override
+    public boolean deleteById(Long id) {
+        if (userRepository.deleteUser(id) == 0) {
+            return false;
+        }
+        refreshTokenService.revokeAll(id);
+        userCache.invalidate(id);
+        revocations.revoke(id);
+        return true;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByUsername(String username) {
-        return userRepository.existsByUsername(username);
+        return ReplicaRoutingDataSource.onReplica(() -> userRepository.existsByUsername(username));
     }
 }
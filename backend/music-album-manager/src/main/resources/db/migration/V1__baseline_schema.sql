@@ -0,0 +1,27 @@
+-- Schema de dinainte de Flyway, identică cu cea pe care ddl-auto=update o crea din entitățile User și Album.
+-- O bază existentă, creată de Hibernate, e marcată ca fiind la versiunea 1 (spring.flyway.baseline-on-migrate)
+-- și primește doar migrările următoare, deci aici nu se adaugă nimic peste acea schemă.
+
+create table users (
+    id bigint not null auto_increment,
+    username varchar(50) not null,
+    password varchar(255) not null,
+    role varchar(50) not null,
+    enabled bit not null,
+    primary key (id),
+    constraint uk_users_username unique (username)
+) engine=InnoDB;
+
+create table albums (
+    id bigint not null auto_increment,
+    title varchar(200) not null,
+    artist varchar(100) not null,
+    genre varchar(50),
+    release_year integer,
+    record_label varchar(100),
+    price decimal(10,2),
+    stock integer,
+    image_url varchar(500),
+    user_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
@@ -0,0 +1,13 @@
+-- Versiunea albumului (ETag, blocare optimistă); albumele existente pornesc de la 0
+alter table albums add column version bigint not null default 0;
+
+-- Fiecare index se termină cu id: filtrul și paginarea keyset (order by ..., id) folosesc același index,
+-- iar ștergerea unui utilizator își găsește albumele fără să scaneze tabela
+create index idx_albums_user_id on albums (user_id, id);
+create index idx_albums_genre on albums (genre, id);
+create index idx_albums_artist on albums (artist, id);
+create index idx_albums_title on albums (title, id);
+create index idx_albums_release_year on albums (release_year, id);
+create index idx_albums_price on albums (price, id);
+create index idx_albums_genre_release_year on albums (genre, release_year, id);
+create index idx_albums_artist_release_year on albums (artist, release_year, id);
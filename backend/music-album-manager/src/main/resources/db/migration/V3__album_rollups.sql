@@ -0,0 +1,11 @@
+-- Totaluri pe gen, artist, an și proprietar. Pe o bază cu albume, tabela goală e umplută la pornire
+-- (AlbumRollupServiceImpl.rebuildIfEmpty).
+
+create table album_rollups (
+    dimension varchar(16) not null,
+    group_key varchar(100) not null,
+    album_count bigint not null,
+    total_stock bigint not null,
+    stock_value decimal(19,2) not null,
+    primary key (dimension, group_key)
+) engine=InnoDB;
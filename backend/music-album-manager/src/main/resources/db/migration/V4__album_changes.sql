@@ -0,0 +1,17 @@
+create table album_changes (
+    seq bigint not null,
+    album_id bigint not null,
+    operation varchar(16) not null,
+    changed_at datetime(6) not null,
+    primary key (seq)
+) engine=InnoDB;
+
+create index idx_album_changes_album_id on album_changes (album_id, seq);
+
+-- Un singur rând (id = 1), inserat de aplicație (AlbumChangeServiceImpl.initializeSequence)
+create table album_change_sequence (
+    id integer not null,
+    last_seq bigint not null,
+    compacted_through bigint not null,
+    primary key (id)
+) engine=InnoDB;
@@ -0,0 +1,13 @@
+create table refresh_tokens (
+    id bigint not null auto_increment,
+    token_hash varchar(44) not null,
+    user_id bigint not null,
+    family_id varchar(36) not null,
+    expires_at datetime(6) not null,
+    used bit not null,
+    primary key (id),
+    constraint uk_refresh_tokens_token_hash unique (token_hash)
+) engine=InnoDB;
+
+create index idx_refresh_tokens_user_id on refresh_tokens (user_id);
+create index idx_refresh_tokens_family_id on refresh_tokens (family_id);
@@ -0,0 +1,11 @@
+-- Intrările jurnalului scrise de tranzacțiile de album, încă fără seq. Inserarea (cu AUTO_INCREMENT) nu ia
+-- niciun lock comun, deci scrierile concurente nu se mai așteaptă una pe alta la commit; seq-urile se atribuie
+-- după commit, în ordinea în care intrările devin vizibile (AlbumChangeServiceImpl.publishPending).
+
+create table album_change_inbox (
+    id bigint not null auto_increment,
+    album_id bigint not null,
+    operation varchar(16) not null,
+    changed_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
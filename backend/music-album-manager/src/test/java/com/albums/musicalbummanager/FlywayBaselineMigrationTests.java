@@ -0,0 +1,121 @@
+package com.albums.musicalbummanager;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// O bază creată de versiunea de dinainte de Flyway (ddl-auto=update) e marcată ca V1 și trebuie să ajungă,
+// doar prin migrările următoare, la aceeași schemă ca o bază goală migrată de la zero
+class FlywayBaselineMigrationTests {
+
+    private static final String URL = "jdbc:h2:mem:%s;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    // DDL-ul generat de Hibernate (MySQLDialect) din entitățile User și Album ale versiunii de dinainte de Flyway
+    private static final String[] PRE_FLYWAY_SCHEMA = {
+            "create table albums (id bigint not null auto_increment, artist varchar(100) not null, "
+                    + "genre varchar(50), image_url varchar(500), price decimal(10,2), record_label varchar(100), "
+                    + "release_year integer, stock integer, title varchar(200) not null, user_id bigint not null, "
+                    + "primary key (id)) engine=InnoDB",
+            "create table users (id bigint not null auto_increment, enabled bit not null, "
+                    + "password varchar(255) not null, role varchar(50) not null, username varchar(50) not null, "
+                    + "primary key (id)) engine=InnoDB",
+            "alter table users add constraint UK_r43af9ap4edm43mmtq01oddj6 unique (username)",
+            "insert into users (enabled, password, role, username) values (1, 'hash', 'EDITOR', 'legacy')",
+            "insert into albums (artist, genre, price, stock, title, user_id) "
+                    + "values ('Artist', 'Rock', 9.99, 3, 'Legacy', 1)"
+    };
+
+    @Test
+    void preFlywayDatabaseIsMigratedToTheCurrentSchema() throws SQLException {
+        String baselineUrl = URL.formatted("flyway_baseline");
+        try (Connection connection = DriverManager.getConnection(baselineUrl, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (String sql : PRE_FLYWAY_SCHEMA) {
+                statement.execute(sql);
+            }
+        }
+        Flyway baseline = flyway(baselineUrl);
+        baseline.migrate();
+
+        String freshUrl = URL.formatted("flyway_fresh");
+        flyway(freshUrl).migrate();
+
+        // V1 e doar marcată (baseline), toate celelalte sunt aplicate
+        MigrationInfo[] applied = baseline.info().applied();
+        assertThat(applied[0].getVersion().getVersion()).isEqualTo("1");
+        assertThat(applied[0].getDescription()).isEqualTo("<< Flyway Baseline >>");
+        assertThat(baseline.info().current().getVersion())
+                .isEqualTo(flyway(freshUrl).info().current().getVersion());
+
+        try (Connection migrated = DriverManager.getConnection(baselineUrl, "sa", "");
+             Connection fresh = DriverManager.getConnection(freshUrl, "sa", "")) {
+            assertThat(columns(migrated)).isEqualTo(columns(fresh));
+            assertThat(indexes(migrated)).isEqualTo(indexes(fresh));
+            assertThat(indexes(migrated)).contains("albums.idx_albums_user_id", "album_changes.idx_album_changes_album_id");
+
+            // Rândurile existente rămân, cu versiunea de pornire
+            try (Statement statement = migrated.createStatement();
+                 ResultSet album = statement.executeQuery("select title, version from albums")) {
+                assertThat(album.next()).isTrue();
+                assertThat(album.getString("title")).isEqualTo("Legacy");
+                assertThat(album.getLong("version")).isZero();
+            }
+        }
+    }
+
+    private static Flyway flyway(String url) {
+        return Flyway.configure()
+                .dataSource(url, "sa", "")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    // tabelă.coloană tip(dimensiune) nullable, fără istoricul Flyway
+    private static Set<String> columns(Connection connection) throws SQLException {
+        Set<String> columns = new TreeSet<>();
+        try (ResultSet rs = connection.getMetaData().getColumns(null, "public", "%", "%")) {
+            while (rs.next()) {
+                String table = rs.getString("TABLE_NAME");
+                if (!table.startsWith("flyway")) {
+                    columns.add(table + "." + rs.getString("COLUMN_NAME") + " " + rs.getString("TYPE_NAME")
+                            + "(" + rs.getInt("COLUMN_SIZE") + ") " + rs.getString("IS_NULLABLE"));
+                }
+            }
+        }
+        return columns;
+    }
+
+    // Doar indecșii neunici: numele constrângerilor unice generate de Hibernate diferă de cele din V1
+    private static Set<String> indexes(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        Set<String> indexes = new TreeSet<>();
+        try (ResultSet tables = metaData.getTables(null, "public", "%", new String[]{"TABLE"})) {
+            while (tables.next()) {
+                String table = tables.getString("TABLE_NAME");
+                if (table.startsWith("flyway")) {
+                    continue;
+                }
+                try (ResultSet rs = metaData.getIndexInfo(null, "public", table, false, false)) {
+                    while (rs.next()) {
+                        if (rs.getBoolean("NON_UNIQUE")) {
+                            indexes.add(table + "." + rs.getString("INDEX_NAME"));
+                        }
+                    }
+                }
+            }
+        }
+        return indexes;
+    }
+}
@@ -0,0 +1,18 @@
+package com.albums.musicalbummanager;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Echivalentul lui create-drop: fiecare context de test pornește de la o schemă proaspăt migrată
+@Configuration
+public class FlywayTestConfig {
+
+    @Bean
+    public FlywayMigrationStrategy cleanMigrateStrategy() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
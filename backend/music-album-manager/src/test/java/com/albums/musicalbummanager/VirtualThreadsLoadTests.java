@@ -0,0 +1,178 @@
+package com.albums.musicalbummanager;
+
+import com.albums.musicalbummanager.config.JwtUtils;
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.repository.AlbumRepository;
+import com.albums.musicalbummanager.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compară modul cu thread-uri platformă și cel cu thread-uri virtuale la concurență mare, cu o latență
+ * artificială pe fiecare instrucțiune SQL (ca rețeaua până la MySQL). Rulează doar pe Java 21:
+ * {@code mvn -Pjava21,load-tests test -Dtest=VirtualThreadsLoadTests}.
+ */
+@Tag("load")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadsLoadTests {
+
+    private static final int CONCURRENCY = Integer.getInteger("vt.concurrency", 400);
+    private static final long DURATION_MILLIS = Long.getLong("vt.millis", 5_000);
+    private static final long DB_LATENCY_MILLIS = Long.getLong("vt.db-latency-millis", 50);
+    private static final int PLATFORM_THREADS = Integer.getInteger("vt.platform-threads", 200);
+
+    @Test
+    void virtualThreadsServeBlockingRequestsAtHighConcurrency() throws Exception {
+        LoadResult platform = run("platform", false);
+        LoadResult virtual = run("virtual", true);
+
+        System.out.printf("%d clients, %d ms SQL latency, %d Tomcat platform threads%n",
+                CONCURRENCY, DB_LATENCY_MILLIS, PLATFORM_THREADS);
+        System.out.println("platform: " + platform);
+        System.out.println("virtual:  " + virtual);
+
+        assertThat(platform.errors).isZero();
+        assertThat(virtual.errors).isZero();
+    }
+
+    private LoadResult run(String mode, boolean virtualThreads) throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:vt-" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.threads.virtual.enabled", virtualThreads);
+        properties.put("server.port", 0);
+        properties.put("server.tomcat.threads.max", PLATFORM_THREADS);
+        // Pool-ul nu trebuie să fie gâtuirea: comparăm thread-urile, nu conexiunile
+        properties.put("spring.datasource.hikari.maximum-pool-size", CONCURRENCY);
+        properties.put("albums.search.rebuild-on-startup", false);
+        properties.put("logging.level.root", "WARN");
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MusicAlbumManagerApplication.class)
+                .properties(properties)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new SlowDatabase()))
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            User user = context.getBean(UserRepository.class).save(new User("load-" + mode, "unused", "USER"));
+            String token = context.getBean(JwtUtils.class).generateToken(user);
+            AlbumRepository albums = context.getBean(AlbumRepository.class);
+            for (int i = 0; i < 100; i++) {
+                albums.save(new Album("Title " + i, "Artist", "Rock", 2000, "Label", BigDecimal.ONE, 1, null, user.getId()));
+            }
+
+            HttpClient client = HttpClient.newHttpClient();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/albums?limit=20"))
+                    .header("Authorization", "Bearer " + token).GET().build();
+            load(client, request, Math.min(DURATION_MILLIS, 2_000)); // încălzire
+            return load(client, request, DURATION_MILLIS);
+        }
+    }
+
+    // CONCURRENCY cereri în zbor tot timpul, până la termen
+    private static LoadResult load(HttpClient client, HttpRequest request, long durationMillis) throws Exception {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        long start = System.nanoTime();
+        long deadline = start + durationMillis * 1_000_000;
+        while (System.nanoTime() < deadline) {
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            pending.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (failure != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        } else {
+                            latencies.add((System.nanoTime() - sent) / 1_000_000);
+                        }
+                        inFlight.release();
+                    }));
+            pending.removeIf(CompletableFuture::isDone);
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        long elapsedNanos = System.nanoTime() - start;
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new LoadResult(sorted, errors.get(), elapsedNanos);
+    }
+
+    // Întârzie fiecare execuție de instrucțiune SQL cu DB_LATENCY_MILLIS (Thread.sleep: un thread virtual cedează carrier-ul)
+    private static final class SlowDatabase implements BeanPostProcessor {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            return bean instanceof DataSource dataSource ? delayed(dataSource, DataSource.class) : bean;
+        }
+
+        private static <T> T delayed(T target, Class<T> type) {
+            Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+                if (target instanceof Statement && method.getName().startsWith("execute")) {
+                    Thread.sleep(DB_LATENCY_MILLIS);
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                    return delayed(connection, Connection.class);
+                }
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                    return delayed(statement, PreparedStatement.class);
+                }
+                if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                    return delayed(statement, Statement.class);
+                }
+                return result;
+            });
+            return type.cast(proxy);
+        }
+    }
+
+    private record LoadResult(List<Long> latenciesMillis, int errors, long elapsedNanos) {
+        long percentile(double percentile) {
+            if (latenciesMillis.isEmpty()) {
+                return 0;
+            }
+            return latenciesMillis.get(Math.min(latenciesMillis.size() - 1,
+                    (int) Math.ceil(percentile * latenciesMillis.size()) - 1));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, p50 %d ms, p99 %d ms, p99.9 %d ms, errors %d",
+                    latenciesMillis.size() * 1e9 / elapsedNanos, percentile(0.50), percentile(0.99),
+                    percentile(0.999), errors);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.albums.musicalbummanager.config;
+
+import com.albums.musicalbummanager.dto.AlbumFilter;
+import com.albums.musicalbummanager.dto.AlbumPage;
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.repository.UserRepository;
+import com.albums.musicalbummanager.service.AlbumBulkService;
+import com.albums.musicalbummanager.service.AlbumImportService;
+import com.albums.musicalbummanager.service.AlbumService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.compression.enabled=true",
+        "server.compression.mime-types=application/json",
+        "server.compression.min-response-size=2KB"})
+class AlbumJsonHttpMessageConverterTests {
+
+    private static final int ROWS = 300;
+    private static final String LABEL = "json-converter-test";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AlbumJsonHttpMessageConverter converter;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumImportService albumImportService;
+
+    @Autowired
+    private AlbumBulkService albumBulkService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    // Prin import, ca rollup-urile și jurnalul de modificări să rămână consistente; ștergerea, tot prin serviciu
+    @BeforeEach
+    void setUp() throws Exception {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(Map.of("title", "Album " + i + " „ediție” \"deluxe\"", "artist", "Artist " + (i % 50),
+                    "genre", "Rock", "releaseYear", 1970 + i % 50, "recordLabel", LABEL,
+                    "price", BigDecimal.valueOf(9.99 + i % 10), "stock", 10,
+                    "imageUrl", "/api/covers/" + "a".repeat(64) + ".png"));
+        }
+        albumImportService.importJson(new ByteArrayInputStream(objectMapper.writeValueAsBytes(rows)), 1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        albumBulkService.delete(null, ownRows(), null, deleted -> { });
+    }
+
+    @Test
+    void writesTheSameJsonAsJacksonAndSeesUpdates() throws Exception {
+        AlbumPage page = albumService.findPage(ownRows(), null, null, 200);
+        assertThat(page.getNextCursor()).isNotNull();
+        assertThat(write(page)).isEqualTo(objectMapper.writeValueAsString(page));
+        // A doua oară din fragmentele din cache: același rezultat
+        assertThat(write(page)).isEqualTo(objectMapper.writeValueAsString(page));
+
+        List<Album> search = page.getItems().subList(0, 3);
+        MockHttpOutputMessage list = new MockHttpOutputMessage();
+        converter.write(search, new ParameterizedTypeReference<List<Album>>() { }.getType(),
+                MediaType.APPLICATION_JSON, list);
+        assertThat(list.getBodyAsString(StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(search));
+        assertThat(converter.canWrite(List.class, List.class, MediaType.APPLICATION_JSON)).isFalse();
+
+        Album first = albumService.findById(page.getItems().get(0).getId()).orElseThrow();
+        first.setTitle("Renamed");
+        albumService.save(first);
+        AlbumPage after = albumService.findPage(ownRows(), null, null, 200);
+        assertThat(write(after)).isEqualTo(objectMapper.writeValueAsString(after)).contains("\"Renamed\"");
+    }
+
+    @Test
+    void compressesLargePagesOnTheWire() throws Exception {
+        String token = jwtUtils.generateToken(userRepository.findByUsername("json-reader")
+                .orElseGet(() -> userRepository.save(new User("json-reader", "x", "USER"))));
+        String query = "/api/albums?recordLabel=" + LABEL + "&limit=";
+        HttpResponse<byte[]> plain = get(query + 200, token, null);
+        HttpResponse<byte[]> gzip = get(query + 200, token, "gzip");
+        HttpResponse<byte[]> small = get(query + 1, token, "gzip");
+
+        assertThat(plain.statusCode()).isEqualTo(200);
+        assertThat(plain.headers().firstValue("Content-Length")).hasValue(String.valueOf(plain.body().length));
+        assertThat(plain.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(gzip.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(gzip.body())).readAllBytes()).isEqualTo(plain.body());
+        assertThat(gzip.body().length).isLessThan(plain.body().length / 4);
+        // Sub prag (2 KB) răspunsul rămâne necomprimat
+        assertThat(small.headers().firstValue("Content-Encoding")).isEmpty();
+    }
+
+    private static AlbumFilter ownRows() {
+        AlbumFilter filter = new AlbumFilter();
+        filter.setRecordLabel(LABEL);
+        return filter;
+    }
+
+    private String write(AlbumPage page) throws Exception {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(page, AlbumPage.class, MediaType.APPLICATION_JSON, message);
+        assertThat(message.getHeaders().getContentLength()).isEqualTo(message.getBodyAsBytes().length);
+        return message.getBodyAsString(StandardCharsets.UTF_8);
+    }
+
+    private HttpResponse<byte[]> get(String path, String token, String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token);
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,133 @@
+package com.albums.musicalbummanager.config;
+
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.repository.UserRepository;
+import com.albums.musicalbummanager.service.RefreshTokenService;
+import com.albums.musicalbummanager.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class JwtAuthenticationFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @SpyBean
+    private UserRepository userRepository;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.findByUsername("filter-user").ifPresent(userRepository::delete);
+        user = userService.createUser("filter-user", "secret123", "USER");
+        token = jwtUtils.generateToken(user);
+        clearInvocations(userRepository);
+    }
+
+    @Test
+    void steadyStateRequestsDoNotQueryUsers() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/albums").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+
+        // O singură încărcare (prima), restul din cache; niciodată după username
+        verify(userRepository, times(1)).findById(user.getId());
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void roleChangeRevokesIssuedTokensAndRefreshCarriesTheNewRole() throws Exception {
+        String refreshToken = refreshTokenService.issue(user.getId());
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+
+        user.setRole("ADMIN");
+        userService.updateUser(user);
+        clearInvocations(userRepository);
+
+        // Token-ul vechi e respins din memorie, fără să mai ajungem la utilizator
+        mockMvc.perform(get("/api/albums").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        verify(userRepository, never()).findById(anyLong());
+
+        JsonNode refreshed = refreshed(refreshToken);
+        assertThat(refreshed.get("role").asText()).isEqualTo("ADMIN");
+        assertThat(refreshed.get("expiresIn").asLong()).isPositive();
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + refreshed.get("token").asText()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void reusedRefreshTokenRevokesTheWholeSession() throws Exception {
+        String first = refreshTokenService.issue(user.getId());
+        String second = refreshed(first).get("refreshToken").asText();
+        assertThat(second).isNotEqualTo(first);
+
+        // Token-ul deja rotit apare din nou: familia dispare, inclusiv token-ul legitim, iar accesul e revocat
+        refresh(first).andExpect(status().isUnauthorized());
+        refresh(second).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/albums").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void deletedUserIsRejectedWithoutQueryingUsers() throws Exception {
+        String refreshToken = refreshTokenService.issue(user.getId());
+        userService.deleteById(user.getId());
+        clearInvocations(userRepository);
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/albums").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isForbidden());
+        }
+        verify(userRepository, never()).findById(anyLong());
+        refresh(refreshToken).andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}"));
+    }
+
+    private JsonNode refreshed(String refreshToken) throws Exception {
+        return objectMapper.readTree(refresh(refreshToken).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,76 @@
+package com.albums.musicalbummanager.config;
+
+import com.albums.musicalbummanager.entity.User;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilsTests {
+
+    private static final String SECRET = "mySecretKey123456789012345678901234567890";
+
+    private JwtUtils jwtUtils;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = newJwtUtils(86_400_000L);
+        user = new User("ana", "$2a$10$hash", "ROLE_EDITOR");
+    }
+
+    @Test
+    void verifiesTokenAndExposesClaims() {
+        String token = jwtUtils.generateToken(user);
+
+        VerifiedToken verified = jwtUtils.verify(token);
+
+        assertThat(verified.getUsername()).isEqualTo("ana");
+        assertThat(verified.getRole()).isEqualTo("ROLE_EDITOR");
+        assertThat(jwtUtils.validateToken(token, user)).isTrue();
+    }
+
+    @Test
+    void rejectsTamperedAndExpiredTokens() {
+        String token = jwtUtils.generateToken(user);
+        // Schimbăm un caracter din mijlocul semnăturii (ultimul caracter are biți de padding ignorați la decodare)
+        int index = token.lastIndexOf('.') + 10;
+        String tampered = token.substring(0, index) + (token.charAt(index) == 'A' ? 'B' : 'A') + token.substring(index + 1);
+        String expired = newJwtUtils(-1_000L).generateToken(user);
+
+        assertThatThrownBy(() -> jwtUtils.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtUtils.verify(expired)).isInstanceOf(JwtException.class);
+        assertThat(jwtUtils.validateToken(expired, user)).isFalse();
+    }
+
+    @Test
+    void repeatedVerificationIsServedFromTheCache() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        jwtUtils.bindTo(registry);
+        String token = jwtUtils.generateToken(user);
+
+        VerifiedToken first = jwtUtils.verify(token);
+        VerifiedToken second = jwtUtils.verify(token);
+        jwtUtils.verify(jwtUtils.generateToken(new User("ion", "$2a$10$hash", "ROLE_USER")));
+
+        // Al doilea apel nu mai parsează token-ul: aceeași instanță, un hit; fiecare token nou e un miss
+        assertThat(second).isSameAs(first);
+        assertThat(registry.get("cache.gets").tags("cache", "jwt.tokens", "result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tags("cache", "jwt.tokens", "result", "miss")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    private static JwtUtils newJwtUtils(long expiration) {
+        JwtUtils utils = new JwtUtils(new TokenRevocations(expiration, 1024));
+        ReflectionTestUtils.setField(utils, "secret", SECRET);
+        ReflectionTestUtils.setField(utils, "expiration", expiration);
+        ReflectionTestUtils.setField(utils, "cacheMaxSize", 10_000L);
+        utils.init();
+        return utils;
+    }
+}
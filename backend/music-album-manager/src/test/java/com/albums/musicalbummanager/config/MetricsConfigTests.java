@@ -0,0 +1,125 @@
+package com.albums.musicalbummanager.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.repository.AlbumRepository;
+import com.albums.musicalbummanager.repository.UserRepository;
+import com.albums.musicalbummanager.service.UserCache;
+import com.albums.musicalbummanager.service.UserService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsConfigTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void hotPathMetricsAreScrapeable() throws Exception {
+        userRepository.findByUsername("metrics-user").ifPresent(userRepository::delete);
+        User user = userService.createUser("metrics-user", "secret123", "USER");
+        String token = jwtUtils.generateToken(user);
+        Album album = albumRepository.save(new Album("Metrics", "Artist", "Rock", 2000, "Label",
+                BigDecimal.ONE, 1, null, user.getId()));
+
+        mockMvc.perform(get("/api/albums/{id}", album.getId()).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Request-ul a încărcat albumul din baza de date: cel puțin o instrucțiune și o entitate
+        DistributionSummary statements = meterRegistry.get("hibernate.request.statements")
+                .tags("uri", "/api/albums/{id}", "method", "GET").summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("hibernate.request.entity.loads")
+                .tags("uri", "/api/albums/{id}").summary().totalAmount()).isGreaterThanOrEqualTo(1);
+
+        // Scrape-ul Prometheus nu e public pe portul aplicației; cu token de ADMIN conține metricile căilor fierbinți
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        userRepository.findByUsername("metrics-admin").ifPresent(userRepository::delete);
+        User admin = userService.createUser("metrics-admin", "secret123", "ADMIN");
+        // Alte contexte de test refac schema, deci id-ul poate fi deja în cache cu alt utilizator
+        userCache.invalidate(admin.getId());
+        String adminToken = jwtUtils.generateToken(admin);
+        String scrape = mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket")
+                .contains("auth_token_verify_seconds_bucket")
+                .contains("auth_user_load_seconds_count")
+                .contains("auth_password_hash_seconds_count{operation=\"encode\"")
+                .contains("http_json_write_seconds_count{uri=\"/api/albums/{id}\"")
+                .contains("hibernate_request_statements_count")
+                .contains("cache_gets_total{cache=\"albums\"")
+                .contains("cache_gets_total{cache=\"users\"")
+                .contains("cache_gets_total{cache=\"jwt.tokens\"")
+                .contains("hikaricp_connections_acquire_seconds")
+                .contains("hibernate_query_executions_total")
+                .contains("jdbc_statement_seconds_count{operation=\"select\"");
+    }
+
+    @Test
+    void sqlLogShowsOnlyTheTypeAndLengthOfStrings() {
+        Logger sqlLog = (Logger) LoggerFactory.getLogger(QueryRecordingListener.class);
+        ListAppender<ILoggingEvent> statements = new ListAppender<>();
+        statements.start();
+        Level level = sqlLog.getLevel();
+        sqlLog.setLevel(Level.DEBUG);
+        sqlLog.addAppender(statements);
+        try {
+            jdbcTemplate.queryForList("select id from users where username = ? and id > ?", Long.class,
+                    "$2a$10$not-a-real-hash", 7L);
+        } finally {
+            sqlLog.detachAppender(statements);
+            sqlLog.setLevel(level);
+        }
+
+        assertThat(statements.list).singleElement().extracting(ILoggingEvent::getFormattedMessage).asString()
+                .contains("where username = ?", "[1=<String(22)>, 2=7]")
+                .doesNotContain("$2a$");
+    }
+}
@@ -0,0 +1,200 @@
+package com.albums.musicalbummanager.config;
+
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "albums.rate-limit.enabled=true",
+        "albums.rate-limit.auth.per-minute=6",
+        "albums.rate-limit.auth.burst=3",
+        "albums.rate-limit.writes.per-second=0.2",
+        "albums.rate-limit.writes.burst=2"})
+@AutoConfigureMockMvc
+class RateLimiterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void bucketAllowsBurstThenRefillsAtTheConfiguredRate() {
+        AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+        RateLimiter limiter = new RateLimiter(2, 3, 1_000, clock::get);
+
+        assertThat(limiter.tryAcquire("a").remaining()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("a").remaining()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("a").remaining()).isZero();
+        RateLimiter.Decision rejected = limiter.tryAcquire("a");
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+        // Altă cheie are găleata ei
+        assertThat(limiter.tryAcquire("b").allowed()).isTrue();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(limiter.tryAcquire("a").allowed()).isTrue();
+        assertThat(limiter.tryAcquire("a").allowed()).isFalse();
+
+        // După 1,5 s fără cereri gălețile sunt din nou pline și sunt uitate la curățare
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_500));
+        assertThat(limiter.tryAcquire("b").remaining()).isEqualTo(2);
+        assertThat(limiter.trackedKeys()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("a").remaining()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedTheBurst() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        RateLimiter limiter = new RateLimiter(1, 100, 1_000, clock::get);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 1_000; j++) {
+                    if (limiter.tryAcquire("shared").allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+        assertThat(allowed.get()).isEqualTo(100);
+    }
+
+    @Test
+    void trackedKeysNeverExceedMaxKeys() throws Exception {
+        AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+        RateLimiter limiter = new RateLimiter(1, 2, 3, clock::get);
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("known-" + i).allowed()).isTrue();
+        }
+
+        // Harta e plină: fiecare IP nou cade în aceeași găleată de rezervă, care se golește după burst
+        assertThat(limiter.tryAcquire("rotating-0").allowed()).isTrue();
+        assertThat(limiter.tryAcquire("rotating-1").allowed()).isTrue();
+        assertThat(limiter.tryAcquire("rotating-2").allowed()).isFalse();
+        assertThat(limiter.trackedKeys()).isEqualTo(3);
+        // Cheile deja urmărite nu sunt afectate
+        assertThat(limiter.tryAcquire("known-0").allowed()).isTrue();
+
+        // Multe chei noi, din mai multe thread-uri: limita ține și sub concurență
+        AtomicLong concurrentClock = new AtomicLong();
+        RateLimiter concurrent = new RateLimiter(1, 1, 100, concurrentClock::get);
+        AtomicLong maxSeen = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 5_000; j++) {
+                    concurrent.tryAcquire("ip-" + thread + "-" + j);
+                    maxSeen.accumulateAndGet(concurrent.trackedKeys(), Math::max);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+        assertThat(maxSeen.get()).isLessThanOrEqualTo(100);
+        assertThat(concurrent.trackedKeys()).isEqualTo(100);
+
+        // După ce gălețile se umplu, curățarea eliberează locurile pentru chei noi
+        concurrentClock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertThat(concurrent.tryAcquire("after-sweep").allowed()).isTrue();
+        assertThat(concurrent.trackedKeys()).isEqualTo(1);
+    }
+
+    @Test
+    void loginsAreLimitedPerIpAndWritesPerUser() throws Exception {
+        String login = "{\"username\":\"nobody\",\"password\":\"wrong-password\"}";
+        for (int remaining = 2; remaining >= 0; remaining--) {
+            mockMvc.perform(json(post("/api/auth/login"), login).with(ip("10.0.0.1")))
+                    .andExpect(status().isUnauthorized())
+                    .andExpect(header().string("RateLimit-Limit", "3"))
+                    .andExpect(header().string("RateLimit-Remaining", String.valueOf(remaining)));
+        }
+        // Respinsă înainte de BCrypt; un alt IP nu e afectat
+        String retryAfter = mockMvc.perform(json(post("/api/auth/login"), login).with(ip("10.0.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andReturn().getResponse().getHeader("Retry-After");
+        assertThat(Long.parseLong(retryAfter)).isBetween(1L, 10L);
+        mockMvc.perform(json(post("/api/auth/login"), login).with(ip("10.0.0.2")))
+                .andExpect(status().isUnauthorized());
+
+        String first = token("limited-writer");
+        String second = token("other-writer");
+        // Cererile invalide (400) consumă și ele: limita e pe muncă trimisă serverului, nu pe reușite
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(json(post("/api/albums"), "{}").header("Authorization", first))
+                    .andExpect(status().isBadRequest());
+        }
+        retryAfter = mockMvc.perform(json(post("/api/albums"), "{}").header("Authorization", first))
+                .andExpect(status().isTooManyRequests())
+                .andReturn().getResponse().getHeader("Retry-After");
+        assertThat(Long.parseLong(retryAfter)).isBetween(1L, 5L);
+        mockMvc.perform(json(post("/api/albums"), "{}").header("Authorization", second))
+                .andExpect(status().isBadRequest());
+        // Citirile nu sunt limitate
+        mockMvc.perform(get("/api/albums").header("Authorization", first))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("RateLimit-Limit"));
+    }
+
+    private String token(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseGet(() -> userRepository.save(new User(username, "x", "USER")));
+        return "Bearer " + jwtUtils.generateToken(user);
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private static RequestPostProcessor ip(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
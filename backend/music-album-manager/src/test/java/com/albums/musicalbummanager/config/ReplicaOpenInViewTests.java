@@ -0,0 +1,119 @@
+package com.albums.musicalbummanager.config;
+
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.repository.UserRepository;
+import com.albums.musicalbummanager.service.UserCache;
+import com.albums.musicalbummanager.service.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Open-in-view pornit și fără fereastra read-your-writes: citirea din request merge sigur pe replică
+@SpringBootTest(properties = {
+        "albums.datasource.replica-urls=" + ReplicaOpenInViewTests.REPLICA_URL,
+        "albums.datasource.replica-username=sa",
+        "albums.datasource.replica-health-millis=100",
+        "albums.datasource.read-your-writes-millis=0",
+        "spring.jpa.open-in-view=true"})
+@AutoConfigureMockMvc
+class ReplicaOpenInViewTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica_osiv_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // DELETE /api/users/{id}?reassignTo= citește moștenitorul de pe replică, apoi șterge utilizatorul în aceeași
+    // cerere
+    @Test
+    void writeAfterAReplicaReadInTheSameRequestGoesToThePrimary() throws Exception {
+        User admin = user("osiv-admin", "ADMIN");
+        User deleted = user("osiv-deleted", "USER");
+        User heir = user("osiv-heir", "USER");
+        replicate();
+        awaitHealthyReplica();
+        double replicaReads = meterRegistry.get("datasource.routing").tag("target", "replica").counter().count();
+
+        mockMvc.perform(delete("/api/users/{id}", deleted.getId()).param("reassignTo", heir.getId().toString())
+                        .header("Authorization", "Bearer " + jwtUtils.generateToken(admin)))
+                .andExpect(status().isAccepted());
+
+        assertThat(meterRegistry.get("datasource.routing").tag("target", "replica").counter().count())
+                .isGreaterThan(replicaReads);
+        assertThat(userRepository.existsById(deleted.getId())).isFalse();
+        assertThat(replicaHasUser(deleted.getId())).isTrue();
+    }
+
+    private User user(String username, String role) {
+        userRepository.findByUsername(username).ifPresent(userRepository::delete);
+        User user = userService.createUser(username, "secret123", role);
+        userCache.invalidate(user.getId());
+        return user;
+    }
+
+    private void awaitHealthyReplica() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (meterRegistry.get("datasource.replica.healthy").gauge().value() == 1) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("Replica never became healthy");
+    }
+
+    // Copiază schema și datele primary-ului pe replică, ca în ReplicaRoutingDataSourceTests
+    private void replicate() throws Exception {
+        String script = "target/replica-osiv-" + System.nanoTime() + ".sql";
+        try (Connection primary = primaryDataSource.getConnection(); Statement statement = primary.createStatement()) {
+            statement.execute("script to '" + script + "'");
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("drop all objects");
+            statement.execute("runscript from '" + script + "'");
+        }
+    }
+
+    private static boolean replicaHasUser(Long id) throws Exception {
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             PreparedStatement statement = replica.prepareStatement("select count(*) from users where id = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet rows = statement.executeQuery()) {
+                rows.next();
+                return rows.getLong(1) == 1;
+            }
+        }
+    }
+}
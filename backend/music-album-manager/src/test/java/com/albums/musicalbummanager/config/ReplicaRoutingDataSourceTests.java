@@ -0,0 +1,192 @@
+package com.albums.musicalbummanager.config;
+
+import com.albums.musicalbummanager.dto.AlbumFilter;
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.repository.AlbumRepository;
+import com.albums.musicalbummanager.service.AlbumBulkService;
+import com.albums.musicalbummanager.service.AlbumService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Două baze H2 în memorie: cea din spring.datasource.url e primary-ul, replica_db e replica, „replicată”
+// la cerere cu SCRIPT/RUNSCRIPT. A doua replică nu răspunde niciodată.
+@SpringBootTest(properties = {
+        "albums.datasource.replica-urls=" + ReplicaRoutingDataSourceTests.REPLICA_URL + ",jdbc:h2:tcp://localhost:1/down",
+        "albums.datasource.replica-username=sa",
+        "albums.datasource.replica-health-millis=100"})
+class ReplicaRoutingDataSourceTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String LABEL = "Replica Label";
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private AlbumBulkService albumBulkService;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        albumBulkService.delete(null, ownRows(), null, deleted -> { });
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToTheReplicaAndWritesToThePrimary() throws Exception {
+        albumService.save(album("Replicated"));
+        replicate();
+        albumService.save(album("Not yet replicated"));
+
+        // Scrierea a ajuns doar pe primary; citirile read-only ale serviciului văd replica, rămasă în urmă,
+        // iar cele care nu au optat pentru replică (aici findAll din repository) rămân pe primary
+        assertThat(albumRepository.findAll()).filteredOn(album -> LABEL.equals(album.getRecordLabel())).hasSize(2);
+        double replicaReads = routed("replica");
+        assertThat(titles()).containsExactly("Replicated");
+        assertThat(routed("replica")).isEqualTo(replicaReads + 1);
+
+        // Cine a scris recent își citește scrierile de pe primary; ceilalți rămân pe replică
+        signIn("writer");
+        readYourWrites.wrote("writer");
+        assertThat(titles()).containsExactlyInAnyOrder("Replicated", "Not yet replicated");
+        signIn("reader");
+        assertThat(titles()).containsExactly("Replicated");
+
+        replicate();
+        assertThat(titles()).containsExactlyInAnyOrder("Replicated", "Not yet replicated");
+        // Replica oprită nu e folosită; cea sănătoasă preia toate citirile
+        assertThat(meterRegistry.get("datasource.replica.healthy").tag("pool", "replica-1").gauge().value())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("datasource.replica.healthy").tag("pool", "replica-2").gauge().value())
+                .isEqualTo(0);
+    }
+
+    @Test
+    void fallsBackToThePrimaryWhenNoReplicaIsAvailable() throws Exception {
+        HikariDataSource down = new HikariDataSource();
+        down.setPoolName("down");
+        down.setJdbcUrl("jdbc:h2:tcp://localhost:1/down");
+        down.setConnectionTimeout(250);
+        down.setInitializationFailTimeout(-1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primaryDataSource, List.of(down),
+                readYourWrites, 60_000, registry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try (Connection connection = ReplicaRoutingDataSource.onReplica(() -> connect(router))) {
+            assertThat(connection.getMetaData().getURL()).isEqualTo("jdbc:h2:mem:music_album_db");
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            router.destroy();
+        }
+        assertThat(registry.get("datasource.routing").tag("reason", "replica-unavailable").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void connectionsWithExplicitCredentialsAreRoutedToo() throws Exception {
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(new DriverManagerDataSource(REPLICA_URL),
+                List.of(), readYourWrites, 60_000, new SimpleMeterRegistry());
+        try (Connection connection = router.getConnection("sa", "")) {
+            assertThat(connection.getMetaData().getURL()).isEqualTo("jdbc:h2:mem:replica_db");
+        } finally {
+            router.destroy();
+        }
+    }
+
+    @Test
+    void readYourWritesWindowStartsWhenTheWriteFinishes() throws Exception {
+        ReadYourWrites window = new ReadYourWrites(200);
+        signIn("slow-writer");
+        // Scrierea durează mai mult decât fereastra
+        new ReadYourWritesFilter(window).doFilter(new MockHttpServletRequest("PATCH", "/api/albums"),
+                new MockHttpServletResponse(), (request, response) -> sleep(300));
+        assertThat(window.currentUserRecentlyWrote()).isTrue();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Connection connect(DataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<String> titles() {
+        return albumService.findPage(ownRows(), null, null, 50).getItems().stream()
+                .map(Album::getTitle)
+                .toList();
+    }
+
+    private double routed(String target) {
+        return meterRegistry.get("datasource.routing").tag("target", target).counter().count();
+    }
+
+    // Copiază schema și datele primary-ului pe replică, ca o replicare care tocmai a ajuns din urmă
+    private void replicate() throws Exception {
+        String script = "target/replica-" + System.nanoTime() + ".sql";
+        try (Connection primary = primaryDataSource.getConnection(); Statement statement = primary.createStatement()) {
+            statement.execute("script to '" + script + "'");
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("drop all objects");
+            statement.execute("runscript from '" + script + "'");
+        }
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    private static AlbumFilter ownRows() {
+        AlbumFilter filter = new AlbumFilter();
+        filter.setRecordLabel(LABEL);
+        return filter;
+    }
+
+    private static Album album(String title) {
+        return new Album(title, "Replica Artist", "Rock", 2000, LABEL, BigDecimal.TEN, 1, null, 1L);
+    }
+}
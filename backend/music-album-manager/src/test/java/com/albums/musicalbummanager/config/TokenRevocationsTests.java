@@ -0,0 +1,126 @@
+package com.albums.musicalbummanager.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationsTests {
+
+    private static final long ACCESS_TOKEN_MILLIS = TimeUnit.MINUTES.toMillis(15);
+    private static final int ROUNDS = 200;
+
+    @Test
+    void revokedEpochsRejectOlderTokensUntilTheyExpire() {
+        AtomicLong clock = new AtomicLong(1_000_000);
+        TokenRevocations revocations = new TokenRevocations(ACCESS_TOKEN_MILLIS, 1024, clock::get);
+        assertThat(revocations.epoch(1L)).isZero();
+        assertThat(revocations.isRevoked(1L, 0)).isFalse();
+        assertThat(revocations.isRevoked(null, 0)).isFalse();
+
+        long first = revocations.revoke(1L);
+        assertThat(revocations.isRevoked(1L, 0)).isTrue();
+        assertThat(revocations.isRevoked(1L, first)).isFalse();
+        assertThat(revocations.isRevoked(2L, 0)).isFalse();
+        // Două revocări în aceeași milisecundă: a doua invalidează și token-urile emise între ele
+        long second = revocations.revoke(1L);
+        assertThat(second).isGreaterThan(first);
+        assertThat(revocations.isRevoked(1L, first)).isTrue();
+
+        // După durata de viață a unui token de acces, intrarea e uitată la următoarea curățare
+        clock.addAndGet(ACCESS_TOKEN_MILLIS + 10);
+        long other = revocations.revoke(2L);
+        assertThat(revocations.trackedUsers()).isEqualTo(1);
+        assertThat(revocations.epoch(1L)).isZero();
+        assertThat(revocations.isRevoked(2L, 0)).isTrue();
+        // Epocile rămân crescătoare: o revocare nouă o depășește pe cea uitată
+        assertThat(revocations.revoke(1L)).isGreaterThan(second);
+        assertThat(revocations.epoch(2L)).isEqualTo(other);
+    }
+
+    // Odată ce revoke() s-a întors, orice verificare ulterioară, de pe orice thread, vede revocarea
+    @Test
+    void revocationIsVisibleToCheckersOnOtherThreads() throws Exception {
+        TokenRevocations revocations = new TokenRevocations(ACCESS_TOKEN_MILLIS, 65_536);
+        int checkers = 4;
+        CyclicBarrier revoked = new CyclicBarrier(checkers + 1);
+        CyclicBarrier checked = new CyclicBarrier(checkers + 1);
+        AtomicInteger missed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(checkers);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < checkers; i++) {
+            workers.add(executor.submit(() -> {
+                for (long userId = 1; userId <= ROUNDS; userId++) {
+                    revoked.await();
+                    if (!revocations.isRevoked(userId, 0)) {
+                        missed.incrementAndGet();
+                    }
+                    checked.await();
+                }
+                return null;
+            }));
+        }
+        for (long userId = 1; userId <= ROUNDS; userId++) {
+            revocations.revoke(userId);
+            revoked.await(5, TimeUnit.SECONDS);
+            checked.await(5, TimeUnit.SECONDS);
+        }
+        for (Future<?> worker : workers) {
+            worker.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertThat(missed.get()).isZero();
+    }
+
+    // Curățarea înlocuiește filtrul cât timp alte thread-uri verifică: o revocare încă valabilă nu dispare nicio clipă
+    @Test
+    void sweepNeverHidesALiveRevocation() throws Exception {
+        AtomicLong clock = new AtomicLong(1_000_000);
+        TokenRevocations revocations = new TokenRevocations(ACCESS_TOKEN_MILLIS, 1024, clock::get);
+        revocations.revoke(1L);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger missed = new AtomicInteger();
+        AtomicInteger checks = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            workers.add(executor.submit(() -> {
+                started.countDown();
+                do {
+                    if (!revocations.isRevoked(1L, 0)) {
+                        missed.incrementAndGet();
+                    }
+                    checks.incrementAndGet();
+                } while (running.get());
+                return null;
+            }));
+        }
+        started.await(5, TimeUnit.SECONDS);
+        // La fiecare pas utilizatorul 1 e revocat din nou, iar alt utilizator, vechi, e uitat la curățare
+        for (long userId = 2; userId <= ROUNDS; userId++) {
+            clock.addAndGet(ACCESS_TOKEN_MILLIS / 2 + 1);
+            revocations.revoke(1L);
+            revocations.revoke(userId);
+        }
+        running.set(false);
+        for (Future<?> worker : workers) {
+            worker.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertThat(checks.get()).isPositive();
+        assertThat(missed.get()).isZero();
+        assertThat(revocations.trackedUsers()).isLessThanOrEqualTo(4);
+    }
+}
@@ -0,0 +1,181 @@
+package com.albums.musicalbummanager.controller;
+
+import com.albums.musicalbummanager.config.JwtUtils;
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.repository.UserRepository;
+import com.albums.musicalbummanager.service.CustomUserDetailsService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Tomcat real (port aleatoriu), ca valul de login-uri să concureze pe aceleași thread-uri ca restul API-ului
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "auth.password.hashing-threads=1",
+        "auth.password.queue-capacity=2",
+        "server.tomcat.threads.max=16"
+})
+class AuthControllerTests {
+
+    private static final int LOGIN_CLIENTS = Integer.getInteger("storm.clients", 24);
+    private static final long STORM_MILLIS = Long.getLong("storm.millis", 4_000);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void loginRehashesPasswordsStoredWithAnotherCost() throws Exception {
+        userRepository.findByUsername("rehash-user").ifPresent(userRepository::delete);
+        userRepository.save(new User("rehash-user", new BCryptPasswordEncoder(4).encode("secret123"), "USER"));
+
+        HttpResponse<String> response = login("rehash-user", "secret123");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).contains("\"token\"");
+        // Costul configurat (10) a înlocuit hash-ul vechi, iar parola rămâne aceeași
+        String stored = userRepository.findByUsername("rehash-user").orElseThrow().getPassword();
+        assertThat(stored).startsWith("$2a$10$");
+        assertThat(login("rehash-user", "secret123").statusCode()).isEqualTo(200);
+        assertThat(login("rehash-user", "wrong").statusCode()).isEqualTo(401);
+    }
+
+    @Test
+    void rehashUpdatesOnlyThePassword() {
+        userRepository.findByUsername("rehash-stale").ifPresent(userRepository::delete);
+        userRepository.save(new User("rehash-stale", new BCryptPasswordEncoder(4).encode("secret123"), "USER"));
+        User loaded = (User) userDetailsService.loadUserByUsername("rehash-stale");
+
+        // Rolul se schimbă între citire și rehash; entitatea din mână are încă rolul vechi
+        userRepository.updateRole(loaded.getId(), "EDITOR");
+        userDetailsService.updatePassword(loaded, "$2a$10$rehashed");
+
+        User stored = userRepository.findById(loaded.getId()).orElseThrow();
+        assertThat(stored.getRole()).isEqualTo("EDITOR");
+        assertThat(stored.getPassword()).isEqualTo("$2a$10$rehashed");
+    }
+
+    // Test de încărcare: rulează doar cu mvn -Pload-tests test
+    @Test
+    @Tag("load")
+    void loginStormIsShedWhileOtherEndpointsStayResponsive() throws Exception {
+        userRepository.findByUsername("storm-user").ifPresent(userRepository::delete);
+        User user = userRepository.save(new User("storm-user", new BCryptPasswordEncoder(10).encode("secret123"), "USER"));
+        String token = jwtUtils.generateToken(user);
+
+        // Încălzire (JIT) și latența de referință, fără login-uri în paralel
+        for (int i = 0; i < 20; i++) {
+            login("storm-user", "secret123");
+        }
+        readAlbums(token, System.currentTimeMillis() + 1_000, new ArrayList<>());
+        List<Long> baselineLatencies = new ArrayList<>();
+        readAlbums(token, System.currentTimeMillis() + 1_000, baselineLatencies);
+
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger rejectedWithoutRetryAfter = new AtomicInteger();
+        long deadline = System.currentTimeMillis() + STORM_MILLIS;
+
+        ExecutorService storm = Executors.newFixedThreadPool(LOGIN_CLIENTS);
+        List<Future<?>> clients = new ArrayList<>();
+        for (int i = 0; i < LOGIN_CLIENTS; i++) {
+            clients.add(storm.submit(() -> {
+                while (System.currentTimeMillis() < deadline) {
+                    HttpResponse<String> response = login("storm-user", "secret123");
+                    if (response.statusCode() == 200) {
+                        accepted.incrementAndGet();
+                    } else if (response.statusCode() == 503) {
+                        rejected.incrementAndGet();
+                        // Clienții respectă Retry-After (în secunde)
+                        String retryAfter = response.headers().firstValue("Retry-After").orElse(null);
+                        if (retryAfter == null) {
+                            rejectedWithoutRetryAfter.incrementAndGet();
+                        } else {
+                            Thread.sleep(Long.parseLong(retryAfter) * 1_000);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+
+        // În paralel cu valul: un client care citește albumele, cu latența măsurată la fiecare request
+        List<Long> albumLatencies = new ArrayList<>();
+        int albumErrors = readAlbums(token, deadline, albumLatencies);
+        for (Future<?> future : clients) {
+            future.get();
+        }
+        storm.shutdown();
+
+        Collections.sort(albumLatencies);
+        Collections.sort(baselineLatencies);
+        System.out.printf("GET /api/albums without storm: %d requests, p50 %d us, p99 %d us%n",
+                baselineLatencies.size(), percentile(baselineLatencies, 0.50), percentile(baselineLatencies, 0.99));
+        System.out.printf("Login storm (%d clients, %d ms): %d logins ok (%.1f/s), %d rejected with 503%n",
+                LOGIN_CLIENTS, STORM_MILLIS, accepted.get(), accepted.get() * 1000.0 / STORM_MILLIS, rejected.get());
+        System.out.printf("GET /api/albums during storm: %d requests, p50 %d us, p99 %d us, max %d us%n",
+                albumLatencies.size(), percentile(albumLatencies, 0.50), percentile(albumLatencies, 0.99),
+                albumLatencies.get(albumLatencies.size() - 1));
+
+        assertThat(accepted.get()).isPositive();
+        assertThat(rejected.get()).isPositive();
+        assertThat(rejectedWithoutRetryAfter.get()).isZero();
+        assertThat(albumErrors).isZero();
+    }
+
+    // Citește albume secvențial până la termen; întoarce numărul de răspunsuri care nu au fost 200
+    private int readAlbums(String token, long deadline, List<Long> latenciesMicros) throws Exception {
+        int errors = 0;
+        while (System.currentTimeMillis() < deadline) {
+            long start = System.nanoTime();
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/albums"))
+                    .header("Authorization", "Bearer " + token).GET().build(), HttpResponse.BodyHandlers.ofString());
+            latenciesMicros.add((System.nanoTime() - start) / 1_000);
+            if (response.statusCode() != 200) {
+                errors++;
+            }
+        }
+        return errors;
+    }
+
+    private HttpResponse<String> login(String username, String password) throws Exception {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+        return client.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(percentile * sorted.size()) - 1));
+    }
+}
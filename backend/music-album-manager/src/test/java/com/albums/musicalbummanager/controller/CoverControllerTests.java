@@ -0,0 +1,326 @@
+package com.albums.musicalbummanager.controller;
+
+import com.albums.musicalbummanager.config.JwtUtils;
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.repository.AlbumRepository;
+import com.albums.musicalbummanager.repository.UserRepository;
+import com.albums.musicalbummanager.service.CoverStorageService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Tomcat real (port aleatoriu): sendfile există doar pe conectorul adevărat, nu și în MockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CoverControllerTests {
+
+    private static final int CLIENTS = Integer.getInteger("covers.clients", 32);
+    private static final long MILLIS = Long.getLong("covers.millis", 3_000);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private CoverStorageService coverStorageService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void uploadDeduplicatesAndServesRangesAndThumbnails() throws Exception {
+        userRepository.findByUsername("cover-editor").ifPresent(userRepository::delete);
+        User editor = userRepository.save(new User("cover-editor", "x", "EDITOR"));
+        String token = jwtUtils.generateToken(editor);
+        Album first = albumRepository.save(new Album("First", "Artist", "Rock", 2000, "Label",
+                BigDecimal.TEN, 1, null, editor.getId()));
+        Album second = albumRepository.save(new Album("Second", "Artist", "Rock", 2000, "Label",
+                BigDecimal.TEN, 1, null, editor.getId()));
+        byte[] png = png(800, 600, 1);
+
+        HttpResponse<String> uploaded = upload(first.getId(), png, token);
+        assertThat(uploaded.statusCode()).isEqualTo(200);
+        String imageUrl = albumRepository.findById(first.getId()).orElseThrow().getImageUrl();
+        assertThat(imageUrl).matches("/api/covers/[0-9a-f]{64}\\.png");
+        // Aceeași imagine pe alt album: același fișier
+        assertThat(upload(second.getId(), png, token).statusCode()).isEqualTo(200);
+        assertThat(albumRepository.findById(second.getId()).orElseThrow().getImageUrl()).isEqualTo(imageUrl);
+        assertThat(upload(second.getId(), "not an image".getBytes(), token).statusCode()).isEqualTo(400);
+
+        // Fără token: coperțile sunt publice și imutabile
+        HttpResponse<byte[]> full = get(imageUrl, Map.of());
+        assertThat(full.statusCode()).isEqualTo(200);
+        assertThat(full.body()).isEqualTo(png);
+        assertThat(full.headers().firstValue("Cache-Control")).hasValueSatisfying(
+                value -> assertThat(value).contains("immutable").contains("max-age=31536000"));
+        String etag = full.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<byte[]> partial = get(imageUrl, Map.of("Range", "bytes=100-199"));
+        assertThat(partial.statusCode()).isEqualTo(206);
+        assertThat(partial.headers().firstValue("Content-Range")).hasValue("bytes 100-199/" + png.length);
+        assertThat(partial.body()).isEqualTo(Arrays.copyOfRange(png, 100, 200));
+
+        HttpResponse<byte[]> suffix = get(imageUrl, Map.of("Range", "bytes=-10", "If-Range", etag));
+        assertThat(suffix.body()).isEqualTo(Arrays.copyOfRange(png, png.length - 10, png.length));
+        assertThat(get(imageUrl, Map.of("Range", "bytes=-10", "If-Range", "\"stale\"")).statusCode()).isEqualTo(200);
+        assertThat(get(imageUrl, Map.of("Range", "bytes=" + png.length + "-")).statusCode()).isEqualTo(416);
+        assertThat(get(imageUrl, Map.of("If-None-Match", etag)).statusCode()).isEqualTo(304);
+
+        HttpResponse<byte[]> thumbnail = get(imageUrl + "?size=128", Map.of());
+        assertThat(thumbnail.statusCode()).isEqualTo(200);
+        BufferedImage small = ImageIO.read(new ByteArrayInputStream(thumbnail.body()));
+        assertThat(small.getWidth()).isEqualTo(128);
+        assertThat(small.getHeight()).isEqualTo(96);
+        assertThat(get(imageUrl + "?size=100", Map.of()).statusCode()).isEqualTo(400);
+        assertThat(get("/api/covers/" + "0".repeat(64) + ".png", Map.of()).statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void rejectsImagesDeclaringTooManyPixels() throws Exception {
+        userRepository.findByUsername("cover-bomb").ifPresent(userRepository::delete);
+        User editor = userRepository.save(new User("cover-bomb", "x", "EDITOR"));
+        Album album = albumRepository.save(new Album("Bomb", "Artist", "Rock", 2000, "Label",
+                BigDecimal.TEN, 1, null, editor.getId()));
+
+        // Câțiva zeci de octeți care declară 50000×50000 pixeli: refuzat din antet, fără decodare
+        HttpResponse<String> response = upload(album.getId(), pngHeader(50_000, 50_000), jwtUtils.generateToken(editor));
+
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(response.body()).contains("pixels");
+        assertThat(albumRepository.findById(album.getId()).orElseThrow().getImageUrl()).isNull();
+    }
+
+    @Test
+    void deletesCoversNoAlbumReferences() throws Exception {
+        userRepository.findByUsername("cover-cleanup").ifPresent(userRepository::delete);
+        User editor = userRepository.save(new User("cover-cleanup", "x", "EDITOR"));
+        Album album = albumRepository.save(new Album("Kept", "Artist", "Rock", 2000, "Label",
+                BigDecimal.TEN, 1, null, editor.getId()));
+        assertThat(upload(album.getId(), png(40, 30, 3), jwtUtils.generateToken(editor)).statusCode()).isEqualTo(200);
+        String kept = albumRepository.findById(album.getId()).orElseThrow().getImageUrl().substring("/api/covers/".length());
+        String orphan = coverStorageService.store(new ByteArrayInputStream(png(40, 30, 4)), "image/png");
+        String recent = coverStorageService.store(new ByteArrayInputStream(png(40, 30, 5)), "image/png");
+        Path orphanThumbnail = coverStorageService.find(orphan, 128).orElseThrow().getPath();
+        // Ambele în afara perioadei de grație; recent rămâne proaspăt
+        age(kept);
+        age(orphan);
+
+        assertThat(coverStorageService.deleteUnreferenced()).isGreaterThanOrEqualTo(1);
+
+        assertThat(coverStorageService.find(orphan, null)).isEmpty();
+        assertThat(orphanThumbnail).doesNotExist();
+        assertThat(coverStorageService.find(kept, null)).isPresent();
+        assertThat(coverStorageService.find(recent, null)).isPresent();
+    }
+
+    @Test
+    void cleanupSkipsFilesWithUnknownExtensions() throws Exception {
+        String orphan = coverStorageService.store(new ByteArrayInputStream(png(40, 30, 6)), "image/png");
+        Path directory = coverStorageService.find(orphan, null).orElseThrow().getPath().getParent();
+        String hash = orphan.substring(0, orphan.indexOf('.'));
+        // Fișiere străine cu nume de copertă, vechi: nu opresc curățenia și nu sunt atinse
+        Path tmp = Files.write(directory.resolve(hash + ".tmp"), new byte[]{1});
+        Path txt = Files.write(directory.resolve(hash + ".txt"), new byte[]{1});
+        for (Path stray : List.of(tmp, txt)) {
+            Files.setLastModifiedTime(stray, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1)));
+        }
+        age(orphan);
+
+        try {
+            assertThat(coverStorageService.deleteUnreferenced()).isGreaterThanOrEqualTo(1);
+
+            assertThat(coverStorageService.find(orphan, null)).isEmpty();
+            assertThat(tmp).exists();
+            assertThat(txt).exists();
+        } finally {
+            Files.deleteIfExists(tmp);
+            Files.deleteIfExists(txt);
+        }
+    }
+
+    private void age(String name) throws IOException {
+        Path file = coverStorageService.find(name, null).orElseThrow().getPath();
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1)));
+    }
+
+    // Un număr fix de request-uri concurente: conținutul e servit întreg, fără să treacă prin heap-ul serverului
+    @Test
+    void servesLargeCoversWithoutCopyingThemThroughTheHeap() throws Exception {
+        byte[] png = png(1000, 1000, 2);
+        String url = coverStorageService.urlOf(coverStorageService.store(new ByteArrayInputStream(png), "image/png"));
+        get(url, Map.of()); // încălzire
+
+        Map<Long, Long> allocatedBefore = serverThreadAllocations();
+        AtomicInteger remaining = new AtomicInteger(64);
+        long requests = serve(url, png.length, 8, () -> remaining.getAndDecrement() > 0);
+
+        assertThat(requests).isEqualTo(64);
+        assertThat(allocatedSince(allocatedBefore) / requests).isLessThan(png.length / 4);
+    }
+
+    // Test de încărcare (mvn -Pload-tests test): debitul și memoria cu mulți clienți, raportate la consolă
+    @Test
+    @Tag("load")
+    void coverThroughputWithManyConcurrentClients() throws Exception {
+        // Zgomot: PNG-ul nu se poate comprima, deci fișierul are câțiva MB
+        byte[] png = png(1000, 1000, 2);
+        String url = coverStorageService.urlOf(coverStorageService.store(new ByteArrayInputStream(png), "image/png"));
+        get(url, Map.of()); // încălzire
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong peakHeap = new AtomicLong();
+        Map<Long, Long> allocatedBefore = serverThreadAllocations();
+        long deadline = System.currentTimeMillis() + MILLIS;
+        Thread sampler = new Thread(() -> {
+            while (System.currentTimeMillis() < deadline) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+        });
+        sampler.start();
+        long startedAt = System.nanoTime();
+        long requests = serve(url, png.length, CLIENTS, () -> System.currentTimeMillis() < deadline);
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        sampler.join();
+
+        System.out.printf("Covers: %d clients, %d bytes per cover: %.0f req/s, %.1f MB/s; "
+                        + "Tomcat threads allocated %.1f KB per request; peak heap %d MB%n",
+                CLIENTS, png.length, requests / seconds, requests * (double) png.length / seconds / 1e6,
+                allocatedSince(allocatedBefore) / 1024.0 / requests, peakHeap.get() / (1024 * 1024));
+        assertThat(requests).isPositive();
+    }
+
+    // Fiecare client trimite request-uri cât timp more() permite; întoarce câte au reușit
+    private long serve(String url, int length, int clients, BooleanSupplier more) throws Exception {
+        AtomicLong requests = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            workers.add(executor.submit(() -> {
+                while (more.getAsBoolean()) {
+                    HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(base() + url)).build(),
+                            HttpResponse.BodyHandlers.discarding());
+                    assertThat(response.statusCode()).isEqualTo(200);
+                    assertThat(response.headers().firstValueAsLong("Content-Length")).hasValue(length);
+                    requests.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+        return requests.get();
+    }
+
+    private static long allocatedSince(Map<Long, Long> before) {
+        long allocated = 0;
+        for (Map.Entry<Long, Long> entry : serverThreadAllocations().entrySet()) {
+            allocated += entry.getValue() - before.getOrDefault(entry.getKey(), 0L);
+        }
+        return allocated;
+    }
+
+    private HttpResponse<String> upload(Long albumId, byte[] image, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base() + "/api/albums/" + albumId + "/cover"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "image/png")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(image))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<byte[]> get(String path, Map<String, String> headers) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base() + path));
+        headers.forEach(request::header);
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private String base() {
+        return "http://localhost:" + port;
+    }
+
+    // Octeții alocați până acum de fiecare thread Tomcat (http-nio-*), după id
+    private static Map<Long, Long> serverThreadAllocations() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Map<Long, Long> allocated = new HashMap<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("http-nio-")) {
+                long bytes = threads.getThreadAllocatedBytes(thread.getId());
+                if (bytes >= 0) {
+                    allocated.put(thread.getId(), bytes);
+                }
+            }
+        }
+        return allocated;
+    }
+
+    // Semnătura PNG și un IHDR valid (cu CRC), fără date de imagine
+    private static byte[] pngHeader(int width, int height) {
+        ByteBuffer ihdr = ByteBuffer.allocate(17).put("IHDR".getBytes()).putInt(width).putInt(height)
+                .put((byte) 8).put((byte) 2).put((byte) 0).put((byte) 0).put((byte) 0);
+        CRC32 crc = new CRC32();
+        crc.update(ihdr.array());
+        return ByteBuffer.allocate(8 + 4 + 17 + 4)
+                .put(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'})
+                .putInt(13).put(ihdr.array()).putInt((int) crc.getValue())
+                .array();
+    }
+
+    private static byte[] png(int width, int height, long seed) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(seed);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
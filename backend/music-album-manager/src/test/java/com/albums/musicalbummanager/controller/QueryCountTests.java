@@ -0,0 +1,197 @@
+package com.albums.musicalbummanager.controller;
+
+import com.albums.musicalbummanager.config.JwtUtils;
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.repository.UserRepository;
+import com.albums.musicalbummanager.service.AlbumCache;
+import com.albums.musicalbummanager.service.AlbumChangeService;
+import com.albums.musicalbummanager.service.AlbumService;
+import com.albums.musicalbummanager.service.UserCache;
+import com.albums.musicalbummanager.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Numărul exact de instrucțiuni SQL per endpoint: o interogare în plus (N+1, o încărcare repetată a
+// utilizatorului) pică build-ul. Dacă o schimbare e intenționată, se actualizează numărul de aici.
+// Token-urile au id-ul utilizatorului, deci autentificarea vine din cache-ul de utilizatori (încălzit în setUp).
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryCountTests {
+
+    private static final String ALBUM_JSON = "{\"title\":\"Recounted\",\"artist\":\"Counter\",\"genre\":\"Jazz\","
+            + "\"releaseYear\":2002,\"recordLabel\":\"Label\",\"price\":12,\"stock\":6}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumCache albumCache;
+
+    @Autowired
+    private AlbumChangeService albumChangeService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private StatementCounter counter;
+    private User admin;
+    private User editor;
+    private Album album;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        counter = new StatementCounter(mockMvc, meterRegistry);
+        admin = user("count-admin", "ADMIN");
+        editor = user("count-editor", "EDITOR");
+        // Prin serviciu, ca albumul să ajungă și în indexul de căutare, rollup-uri și jurnal
+        album = albumService.save(new Album("Counted", "Counter", "Rock", 2001, "Label",
+                BigDecimal.TEN, 5, null, editor.getId()));
+        albumCache.invalidateAll();
+        mockMvc.perform(as(admin, get("/api/albums/cache/stats")));
+        mockMvc.perform(as(editor, get("/api/albums/cache/stats")));
+    }
+
+    @Test
+    void albumEndpoints() throws Exception {
+        // Prima citire încarcă albumul în cache, a doua nu mai ajunge la baza de date
+        counter.assertStatements(1, "GET /api/albums/{id} (cold)",
+                as(editor, get("/api/albums/{id}", album.getId())), status().isOk());
+        counter.assertStatements(0, "GET /api/albums/{id} (cached)",
+                as(editor, get("/api/albums/{id}", album.getId())), status().isOk());
+        counter.assertStatements(1, "GET /api/albums",
+                as(editor, get("/api/albums").param("limit", "20")), status().isOk());
+        counter.assertStatements(1, "GET /api/albums/search",
+                as(editor, get("/api/albums/search").param("q", "counted")), status().isOk());
+        counter.assertStatements(1, "GET /api/albums/rollups/{dimension}",
+                as(editor, get("/api/albums/rollups/genre")), status().isOk());
+        // latestSeq publică intrările scrise până acum; cititorii de mai jos găsesc inbox-ul gol (o citire)
+        long seq = albumChangeService.latestSeq();
+        counter.assertStatements(2, "GET /api/albums/changes",
+                as(editor, get("/api/albums/changes")), status().isOk());
+        // Inbox-ul, pagina, apoi compacted_through (ca să detecteze o compactare concurentă)
+        counter.assertStatements(3, "GET /api/albums/changes?since",
+                as(editor, get("/api/albums/changes").param("since", String.valueOf(seq))), status().isOk());
+        counter.assertStatements(0, "GET /api/albums/cache/stats",
+                as(admin, get("/api/albums/cache/stats")), status().isOk());
+
+        // Scrierile: rândul albumului, upsert-ul rollup-urilor (un batch) și intrarea din inbox-ul jurnalului
+        // (fără lock comun); la update merge-ul citește întâi albumul, la stoc se citesc dimensiunile
+        counter.assertStatements(3, "POST /api/albums",
+                json(as(editor, post("/api/albums")), ALBUM_JSON), status().isCreated());
+        counter.assertStatements(4, "PUT /api/albums/{id}",
+                json(as(editor, put("/api/albums/{id}", album.getId())), ALBUM_JSON), status().isOk());
+        counter.assertStatements(4, "PATCH /api/albums/{id}",
+                as(editor, patch("/api/albums/{id}", album.getId())).contentType("application/merge-patch+json")
+                        .content("{\"price\":13}"), status().isOk());
+        // Un chunk: select for update, un singur UPDATE, rollup-uri și inbox-ul jurnalului
+        counter.assertStatements(4, "PATCH /api/albums",
+                json(as(editor, patch("/api/albums")), "{\"ids\":[" + album.getId() + "],\"patch\":{\"stock\":9}}"),
+                status().isOk());
+        counter.assertStatements(4, "POST /api/albums/{id}/stock/reserve",
+                json(as(editor, post("/api/albums/{id}/stock/reserve", album.getId())), "{\"quantity\":1}"),
+                status().isNoContent());
+        counter.assertStatements(4, "POST /api/albums/stock/reserve",
+                json(as(editor, post("/api/albums/stock/reserve")),
+                        "{\"items\":[{\"albumId\":" + album.getId() + ",\"quantity\":1}]}"),
+                status().isNoContent());
+        // O singură citire a albumului (cu cache-ul rece), în tranzacția ștergerii
+        albumCache.invalidateAll();
+        counter.assertStatements(4, "DELETE /api/albums/{id}",
+                as(editor, delete("/api/albums/{id}", album.getId())), status().isNoContent());
+    }
+
+    @Test
+    void userEndpoints() throws Exception {
+        User target = user("count-target", "USER");
+        counter.assertStatements(1, "GET /api/users",
+                as(admin, get("/api/users")), status().isOk());
+        counter.assertStatements(1, "GET /api/users/{id}",
+                as(admin, get("/api/users/{id}", target.getId())), status().isOk());
+        // update pe coloana role, recitirea de pe primary
+        counter.assertStatements(2, "PUT /api/users/{id}/role",
+                json(as(admin, put("/api/users/{id}/role", target.getId())), "{\"role\":\"EDITOR\"}"),
+                status().isOk());
+        // DELETE-ul utilizatorului (fără citire prealabilă), apoi al refresh token-urilor; albumele sunt curățate
+        // în fundal, în afara request-ului
+        counter.assertStatements(2, "DELETE /api/users/{id}",
+                as(admin, delete("/api/users/{id}", target.getId())), status().isAccepted());
+        // Utilizatorul nu mai există: doar DELETE-ul, care nu atinge niciun rând
+        counter.assertStatements(1, "DELETE /api/users/{id} (missing)",
+                as(admin, delete("/api/users/{id}", target.getId())), status().isNotFound());
+    }
+
+    @Test
+    void authEndpoints() throws Exception {
+        userRepository.findByUsername("count-registered").ifPresent(userRepository::delete);
+        // existsByUsername + insert; la login, o singură citire a utilizatorului; fiecare emite un refresh token
+        counter.assertStatements(3, "POST /api/auth/register",
+                json(post("/api/auth/register"), "{\"username\":\"count-registered\",\"password\":\"secret123\"}"),
+                status().isCreated());
+        // Id-ul poate fi refolosit după recrearea schemei de alt context; cache-ul trebuie să fie rece
+        userRepository.findByUsername("count-registered").map(User::getId).ifPresent(userCache::invalidate);
+        String login = mockMvc.perform(json(post("/api/auth/login"),
+                        "{\"username\":\"count-registered\",\"password\":\"secret123\"}"))
+                .andReturn().getResponse().getContentAsString();
+        String refreshToken = objectMapper.readTree(login).get("refreshToken").asText();
+        counter.assertStatements(2, "POST /api/auth/login",
+                json(post("/api/auth/login"), "{\"username\":\"count-registered\",\"password\":\"secret123\"}"),
+                status().isOk());
+        // Căutarea după hash, marcarea ca folosit, utilizatorul (cache rece), noul token
+        counter.assertStatements(4, "POST /api/auth/refresh",
+                json(post("/api/auth/refresh"), "{\"refreshToken\":\"" + refreshToken + "\"}"),
+                status().isOk());
+    }
+
+    // Alt context de test recreează schema și id-urile o iau de la capăt: cache-ul acestui context poate ține
+    // încă un utilizator vechi cu același id
+    private User user(String username, String role) {
+        userRepository.findByUsername(username).ifPresent(userRepository::delete);
+        User user = userService.createUser(username, "secret123", role);
+        userCache.invalidate(user.getId());
+        return user;
+    }
+
+    private MockHttpServletRequestBuilder as(User user, MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + jwtUtils.generateToken(user));
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+}
@@ -0,0 +1,42 @@
+package com.albums.musicalbummanager.controller;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Numără instrucțiunile SQL executate de un request MockMvc, din distribuția jdbc.request.statements
+ * (toate instrucțiunile de pe conexiune: Hibernate, JdbcTemplate, jurnalul de modificări).
+ * Request-urile trebuie trimise secvențial, câte unul.
+ */
+final class StatementCounter {
+
+    private final MockMvc mockMvc;
+    private final MeterRegistry meterRegistry;
+
+    StatementCounter(MockMvc mockMvc, MeterRegistry meterRegistry) {
+        this.mockMvc = mockMvc;
+        this.meterRegistry = meterRegistry;
+    }
+
+    int count(RequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        double before = total();
+        mockMvc.perform(request).andExpect(expectedStatus);
+        return (int) (total() - before);
+    }
+
+    void assertStatements(int expected, String endpoint, RequestBuilder request, ResultMatcher expectedStatus)
+            throws Exception {
+        assertThat(count(request, expectedStatus)).as("SQL statements issued by %s", endpoint).isEqualTo(expected);
+    }
+
+    private double total() {
+        return meterRegistry.find("jdbc.request.statements").summaries().stream()
+                .mapToDouble(DistributionSummary::totalAmount)
+                .sum();
+    }
+}
@@ -0,0 +1,250 @@
+package com.albums.musicalbummanager.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.albums.musicalbummanager.config.JwtUtils;
+import com.albums.musicalbummanager.config.QueryRecordingListener;
+import com.albums.musicalbummanager.dto.AlbumFilter;
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AlbumBulkServiceImplTests {
+
+    private static final String LABEL = "Bulk Label";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumBulkService albumBulkService;
+
+    @Autowired
+    private AlbumRollupService albumRollupService;
+
+    @Autowired
+    private AlbumChangeService albumChangeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    private User admin;
+    private User editor;
+    private User otherEditor;
+
+    @BeforeEach
+    void setUp() {
+        admin = user("bulk-admin", "ADMIN");
+        editor = user("bulk-editor", "EDITOR");
+        otherEditor = user("bulk-other", "EDITOR");
+    }
+
+    // Prin serviciu, ca rollup-urile, jurnalul de modificări și cache-urile să rămână consistente pentru alte teste
+    @AfterEach
+    void tearDown() {
+        AlbumFilter filter = new AlbumFilter();
+        filter.setRecordLabel(LABEL);
+        albumBulkService.delete(null, filter, null, deleted -> { });
+    }
+
+    @Test
+    void mergePatchWritesOnlyTheSuppliedColumns() throws Exception {
+        Album album = albumService.save(new Album("Patched", "Artist", "Rock", 1999, LABEL,
+                BigDecimal.TEN, 3, null, editor.getId()));
+        Logger sqlLog = (Logger) LoggerFactory.getLogger(QueryRecordingListener.class);
+        ListAppender<ILoggingEvent> statements = new ListAppender<>();
+        statements.start();
+        Level level = sqlLog.getLevel();
+        sqlLog.setLevel(Level.DEBUG);
+        sqlLog.addAppender(statements);
+        try {
+            mockMvc.perform(as(editor, patch("/api/albums/{id}", album.getId()))
+                            .contentType("application/merge-patch+json")
+                            .content("{\"price\":19.99,\"genre\":null}"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"" + (album.getVersion() + 1) + "\""))
+                    .andExpect(jsonPath("$.price").value(19.99))
+                    .andExpect(jsonPath("$.genre").doesNotExist())
+                    .andExpect(jsonPath("$.title").value("Patched"));
+        } finally {
+            sqlLog.detachAppender(statements);
+            sqlLog.setLevel(level);
+        }
+
+        List<String> updates = statements.list.stream().map(ILoggingEvent::getFormattedMessage)
+                .filter(message -> message.contains("update albums")).toList();
+        assertThat(updates).hasSize(1);
+        assertThat(updates.get(0)).contains("price", "genre", "version").doesNotContain("title", "artist", "stock");
+
+        // Câmpurile read-only și valorile invalide sunt respinse, ca la PUT
+        mockMvc.perform(as(editor, patch("/api/albums/{id}", album.getId()))
+                        .contentType("application/merge-patch+json").content("{\"userId\":1}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(as(editor, patch("/api/albums/{id}", album.getId()))
+                        .contentType("application/merge-patch+json").content("{\"price\":-1}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(as(otherEditor, patch("/api/albums/{id}", album.getId()))
+                        .contentType("application/merge-patch+json").content("{\"price\":1}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(as(editor, patch("/api/albums/{id}", Long.MAX_VALUE))
+                        .contentType("application/merge-patch+json").content("{\"price\":1}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void bulkPatchByFilterKeepsRollupsAndChangeLogInSync() throws Exception {
+        seed(2_500, editor.getId());
+        long seq = albumChangeService.latestSeq();
+
+        mockMvc.perform(as(admin, patch("/api/albums")).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":{\"recordLabel\":\"" + LABEL + "\"},\"patch\":{\"price\":7.5}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(2_500))
+                .andExpect(jsonPath("$.affected").value(2_500));
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from albums where record_label = ? and price = 7.5",
+                Long.class, LABEL)).isEqualTo(2_500);
+        assertThat(albumChangeService.latestSeq() - seq).isEqualTo(2_500);
+        // Rollup-urile actualizate incremental sunt identice cu cele recalculate din albume
+        List<String> incremental = owners();
+        albumRollupService.rebuild();
+        assertThat(owners()).isEqualTo(incremental);
+    }
+
+    @Test
+    void editorBulkPatchSkipsAlbumsOfOtherUsers() throws Exception {
+        List<Long> own = seed(3, editor.getId());
+        List<Long> others = seed(2, otherEditor.getId());
+        List<Long> ids = new ArrayList<>(own);
+        ids.addAll(others);
+        ids.add(Long.MAX_VALUE);
+
+        mockMvc.perform(as(editor, patch("/api/albums")).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":" + ids + ",\"patch\":{\"stock\":42}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(3))
+                .andExpect(jsonPath("$.affected").value(3))
+                .andExpect(jsonPath("$.skipped").value(3));
+
+        assertThat(jdbcTemplate.queryForList("select stock from albums where record_label = ? order by id",
+                Integer.class, LABEL)).containsExactly(42, 42, 42, 0, 3);
+        // Fără id-uri și fără filtru nu se atinge nimic
+        mockMvc.perform(as(admin, patch("/api/albums")).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"patch\":{\"stock\":1}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkDeleteKeepsRollupsAndChangeLogInSync() throws Exception {
+        List<Long> own = seed(1_500, editor.getId());
+        List<Long> others = seed(2, otherEditor.getId());
+        long seq = albumChangeService.latestSeq();
+
+        // Un EDITOR șterge doar albumele lui, restul id-urilor sunt sărite
+        List<Long> ids = new ArrayList<>(own.subList(0, 1_200));
+        ids.addAll(others);
+        mockMvc.perform(as(editor, post("/api/albums/bulk-delete")).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":" + ids + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(1_200))
+                .andExpect(jsonPath("$.affected").value(1_200))
+                .andExpect(jsonPath("$.skipped").value(2));
+        mockMvc.perform(as(admin, post("/api/albums/bulk-delete")).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":{\"recordLabel\":\"" + LABEL + "\",\"genre\":\"Jazz\"}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(151));
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from albums where record_label = ?",
+                Long.class, LABEL)).isEqualTo(300 - 150 + 2 - 1);
+        assertThat(albumChangeService.latestSeq() - seq).isEqualTo(1_200 + 151);
+        List<String> incremental = owners();
+        albumRollupService.rebuild();
+        assertThat(owners()).isEqualTo(incremental);
+    }
+
+    @Test
+    void deleteAlbumReadsTheRowOnceAndChecksOwnership() throws Exception {
+        Long album = seed(1, otherEditor.getId()).get(0);
+        mockMvc.perform(as(editor, delete("/api/albums/{id}", album)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(as(otherEditor, delete("/api/albums/{id}", album)))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(as(otherEditor, delete("/api/albums/{id}", album)))
+                .andExpect(status().isNotFound());
+    }
+
+    // Inserate direct, în batch; rollup-urile sunt recalculate ca să pornim de la o stare consistentă
+    private List<Long> seed(int count, Long userId) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{"Bulk " + i, "Bulk Artist " + i % 20, i % 2 == 0 ? "Rock" : "Jazz", 2000 + i % 10,
+                    LABEL, BigDecimal.valueOf(10 + i % 5), i % 2 == 0 ? 0 : 3, userId});
+        }
+        jdbcTemplate.batchUpdate("insert into albums (title, artist, genre, release_year, record_label, price, "
+                + "stock, user_id, version) values (?, ?, ?, ?, ?, ?, ?, ?, 0)", rows);
+        albumRollupService.rebuild();
+        return jdbcTemplate.queryForList("select id from albums where record_label = ? and user_id = ? order by id",
+                Long.class, LABEL, userId);
+    }
+
+    private List<String> owners() {
+        return albumRollupService.groups(AlbumRollupDimension.OWNER).stream()
+                .map(group -> group.getKey() + "|" + group.getAlbumCount() + "|" + group.getTotalStock() + "|"
+                        + group.getStockValue().setScale(2))
+                .toList();
+    }
+
+    // Alt context de test poate refolosi id-ul: cache-ul nu trebuie să țină utilizatorul vechi
+    private User user(String username, String role) {
+        userRepository.findByUsername(username).ifPresent(userRepository::delete);
+        User user = userService.createUser(username, "secret123", role);
+        userCache.invalidate(user.getId());
+        return user;
+    }
+
+    private MockHttpServletRequestBuilder as(User user, MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + jwtUtils.generateToken(user));
+    }
+}
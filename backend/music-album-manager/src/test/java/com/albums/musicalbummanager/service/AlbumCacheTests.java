@@ -0,0 +1,124 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.repository.AlbumRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AlbumCacheTests {
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumCache albumCache;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @SpyBean
+    private AlbumRepository albumRepository;
+
+    private Album album;
+
+    @BeforeEach
+    void setUp() {
+        albumCache.invalidateAll();
+        album = albumRepository.save(new Album("Cached", "Artist", "Rock", 2001, "Label",
+                BigDecimal.TEN, 4, null, 1L));
+        clearInvocations(albumRepository);
+    }
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, Optional<Album>> slowLoader = id -> {
+            loads.incrementAndGet();
+            try {
+                Thread.sleep(200); // o încărcare lentă, ca toate firele să o prindă în desfășurare
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return albumRepository.findById(id);
+        };
+
+        long loadsBefore = (long) albumCache.stats().get("loadCount");
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return albumCache.get(album.getId(), slowLoader).orElseThrow().getTitle();
+            }));
+        }
+        start.countDown();
+        for (Future<String> result : results) {
+            assertThat(result.get()).isEqualTo("Cached");
+        }
+        pool.shutdown();
+
+        assertThat(loads).hasValue(1);
+        assertThat(albumCache.stats()).containsEntry("loadCount", loadsBefore + 1);
+    }
+
+    @Test
+    void saveInvalidatesAndCallersGetCopies() {
+        Album first = albumService.findById(album.getId()).orElseThrow();
+        first.setTitle("Changed locally");
+        assertThat(albumService.findById(album.getId()).orElseThrow().getTitle()).isEqualTo("Cached");
+
+        first.setTitle("Saved");
+        albumService.save(first);
+
+        assertThat(albumService.findById(album.getId()).orElseThrow().getTitle()).isEqualTo("Saved");
+        // Două încărcări în cache, plus citirea stării anterioare din save (pentru rollup-uri)
+        verify(albumRepository, times(3)).findById(album.getId());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void returnsNotModifiedForCurrentEtag() throws Exception {
+        String etag = mockMvc.perform(get("/api/albums/{id}", album.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/albums/{id}", album.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        Album changed = albumService.findById(album.getId()).orElseThrow();
+        changed.setStock(3);
+        albumService.save(changed);
+
+        mockMvc.perform(get("/api/albums/{id}", album.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+}
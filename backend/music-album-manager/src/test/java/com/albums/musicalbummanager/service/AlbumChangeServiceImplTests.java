@@ -0,0 +1,214 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.config.JwtUtils;
+import com.albums.musicalbummanager.dto.AlbumChangeEntry;
+import com.albums.musicalbummanager.dto.AlbumChangesPage;
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Retenție 0: la compactare, orice ștergere deja făcută e expirată
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "albums.changes.tombstone-retention-hours=0")
+class AlbumChangeServiceImplTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AlbumChangeService albumChangeService;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumStockService albumStockService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Test
+    void recordsCommittedWritesAndCompactsThem() throws Exception {
+        long start = albumChangeService.latestSeq();
+        Album first = albumService.save(album("First"));
+        Album second = albumService.save(album("Second"));
+        first.setTitle("First, renamed");
+        albumService.save(first);
+        albumStockService.reserve(second.getId(), 1);
+        albumService.deleteById(first.getId());
+        // O tranzacție anulată nu lasă nimic în jurnal
+        transactionTemplate.executeWithoutResult(status -> {
+            albumService.save(album("Rolled back"));
+            status.setRollbackOnly();
+        });
+
+        AlbumChangesPage page = albumChangeService.changesSince(start, 100);
+        assertThat(page.getChanges()).extracting(change -> change.getAlbumId() + " " + change.getOperation())
+                .containsExactly(first.getId() + " SAVED", second.getId() + " SAVED", first.getId() + " SAVED",
+                        second.getId() + " STOCK_CHANGED", first.getId() + " DELETED");
+        assertThat(page.getChanges()).extracting(AlbumChangeEntry::getSeq)
+                .containsExactly(start + 1, start + 2, start + 3, start + 4, start + 5);
+        assertThat(page.getNextSince()).isEqualTo(start + 5);
+        assertThat(page.isHasMore()).isFalse();
+        // Starea curentă a albumului vine odată cu modificarea
+        assertThat(page.getChanges().get(3).getAlbum().getStock()).isEqualTo(4);
+        assertThat(page.getChanges().get(0).getAlbum()).isNull();
+
+        AlbumChangesPage firstTwo = albumChangeService.changesSince(start, 2);
+        assertThat(firstTwo.getChanges()).hasSize(2);
+        assertThat(firstTwo.isHasMore()).isTrue();
+        assertThat(albumChangeService.changesSince(firstTwo.getNextSince(), 100).getChanges()).hasSize(3);
+
+        // Compactarea: rămâne doar ultima intrare per album, iar ștergerea expirată dispare
+        Thread.sleep(5);
+        assertThat(albumChangeService.compact()).isGreaterThanOrEqualTo(3);
+        assertThatThrownBy(() -> albumChangeService.changesSince(start, 100))
+                .isInstanceOf(ChangeFeedExpiredException.class);
+        assertThat(albumChangeService.changesSince(start + 5, 100).getChanges()).isEmpty();
+        Album third = albumService.save(album("Third"));
+        assertThat(albumChangeService.changesSince(start + 5, 100).getChanges())
+                .extracting(AlbumChangeEntry::getAlbumId).containsExactly(third.getId());
+    }
+
+    @Test
+    void concurrentWritersGetGaplessSequencesInCommitOrder() throws Exception {
+        long start = albumChangeService.latestSeq();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            writers.add(executor.submit(() -> {
+                for (int j = 0; j < 25; j++) {
+                    albumService.save(album("Concurrent"));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        executor.shutdown();
+
+        List<Long> seqs = new ArrayList<>();
+        for (AlbumChangesPage page = albumChangeService.changesSince(start, 64); ;
+             page = albumChangeService.changesSince(page.getNextSince(), 64)) {
+            page.getChanges().forEach(change -> seqs.add(change.getSeq()));
+            if (!page.isHasMore()) {
+                break;
+            }
+        }
+        assertThat(seqs).hasSize(200);
+        assertThat(seqs.get(199) - seqs.get(0)).isEqualTo(199);
+    }
+
+    @Test
+    void slowCommitNeitherBlocksOtherWritersNorIsSkipped() throws Exception {
+        long start = albumChangeService.latestSeq();
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        // Intrarea tranzacției lente e deja scrisă în inbox; commit-ul așteaptă până o eliberăm
+        Future<Album> slow = executor.submit(() -> transactionTemplate.execute(status -> {
+            Album album = albumService.save(album("Slow"));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return Ordered.LOWEST_PRECEDENCE;
+                }
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    written.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            return album;
+        }));
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Altă scriere se comite cât timp cea lentă e încă deschisă, iar clientul o citește. Alt gen, artist, an și
+        // proprietar: rândurile de rollup ale albumului lent rămân blocate până la commit-ul lui
+        Album fast = CompletableFuture.supplyAsync(() -> albumService.save(new Album("Fast", "Other Artist", "Jazz",
+                1999, "Label", BigDecimal.ONE, 1, null, 12L))).get(5, TimeUnit.SECONDS);
+        AlbumChangesPage before = albumChangeService.changesSince(start, 100);
+        assertThat(before.getChanges()).extracting(AlbumChangeEntry::getAlbumId).containsExactly(fast.getId());
+
+        release.countDown();
+        Album late = slow.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        // Intrarea comisă mai târziu primește un seq după cel deja citit
+        assertThat(albumChangeService.changesSince(before.getNextSince(), 100).getChanges())
+                .extracting(AlbumChangeEntry::getAlbumId).containsExactly(late.getId());
+    }
+
+    @Test
+    void streamsChangesOverServerSentEvents() throws Exception {
+        User reader = userRepository.findByUsername("changes-reader")
+                .orElseGet(() -> userRepository.save(new User("changes-reader", "x", "USER")));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/albums/changes/stream"))
+                .header("Authorization", "Bearer " + jwtUtils.generateToken(reader))
+                .build();
+        CompletableFuture<HttpResponse<Stream<String>>> response = HttpClient.newHttpClient()
+                .sendAsync(request, HttpResponse.BodyHandlers.ofLines());
+        HttpResponse<Stream<String>> stream = response.get(10, TimeUnit.SECONDS);
+        assertThat(stream.statusCode()).isEqualTo(200);
+        assertThat(stream.headers().firstValue("Content-Type")).hasValueSatisfying(
+                value -> assertThat(value).startsWith("text/event-stream"));
+
+        Album created = albumService.save(album("Streamed"));
+        Iterator<String> lines = stream.body().iterator();
+        String id = null;
+        String data = null;
+        while (data == null && lines.hasNext()) {
+            String line = lines.next();
+            if (line.startsWith("id:")) {
+                id = line.substring(3);
+            } else if (line.startsWith("data:") && line.contains("\"albumId\":" + created.getId() + ",")) {
+                data = line;
+            }
+        }
+        stream.body().close();
+        assertThat(data).contains("\"operation\":\"SAVED\"").contains("\"title\":\"Streamed\"");
+        assertThat(Long.parseLong(id)).isEqualTo(albumChangeService.latestSeq());
+    }
+
+    private static Album album(String title) {
+        return new Album(title, "Change Artist", "Rock", 2000, "Label", BigDecimal.TEN, 5, null, 11L);
+    }
+}
@@ -0,0 +1,103 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.repository.AlbumRepository;
+import com.albums.musicalbummanager.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class AlbumCreateServiceImplTests {
+
+    private static final int THREADS = 16;
+
+    // Arată ca un hash BCrypt, ca nimic să nu-l mai hash-uiască
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoO5zvG7ZVIqgJq8Bz8NU5XxFQo0G9p2xu";
+
+    @Autowired
+    private AlbumCreateService albumCreateService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Debitul față de calea fără group commit se măsoară în AlbumCreateBenchmark (modulul de benchmark-uri)
+    @Test
+    void concurrentCreatesArePersistedAndPromoteOwners() throws Exception {
+        List<User> owners = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            owners.add(new User("group-" + System.nanoTime() + "-" + i, PASSWORD_HASH, "USER"));
+        }
+        owners = userRepository.saveAll(owners);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Album>> results = new ArrayList<>();
+        for (User owner : owners) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return albumCreateService.create(album(owner.getId(), "Grouped"), true);
+            }));
+        }
+        start.countDown();
+
+        for (int i = 0; i < owners.size(); i++) {
+            Album created = results.get(i).get();
+            assertThat(albumRepository.findById(created.getId())).get()
+                    .extracting(Album::getUserId).isEqualTo(owners.get(i).getId());
+        }
+        executor.shutdown();
+        assertThat(userRepository.findAllById(owners.stream().map(User::getId).toList()))
+                .extracting(User::getRole)
+                .containsOnly("EDITOR");
+    }
+
+    @Test
+    void failingCreateDoesNotFailTheRestOfItsBatch() throws Exception {
+        User owner = userRepository.save(new User("batch-owner-" + System.nanoTime(), PASSWORD_HASH, "USER"));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Album>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            // Titlul de 300 de caractere depășește coloana: doar acea creare trebuie să eșueze
+            String title = i == 3 ? "x".repeat(300) : "Batch " + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return albumCreateService.create(album(owner.getId(), title), true);
+            }));
+        }
+        start.countDown();
+
+        for (int i = 0; i < results.size(); i++) {
+            Future<Album> result = results.get(i);
+            if (i == 3) {
+                assertThatThrownBy(result::get).hasCauseInstanceOf(RuntimeException.class);
+            } else {
+                Album created = result.get();
+                assertThat(created.getId()).isNotNull();
+                assertThat(albumRepository.findById(created.getId())).get()
+                        .extracting(Album::getTitle).isEqualTo("Batch " + i);
+            }
+        }
+        executor.shutdown();
+        assertThat(userRepository.findById(owner.getId()).orElseThrow().getRole()).isEqualTo("EDITOR");
+    }
+
+    private static Album album(Long userId, String title) {
+        return new Album(title, "Artist", "Rock", 2020, "Label", BigDecimal.TEN, 1, null, userId);
+    }
+}
@@ -0,0 +1,120 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.AlbumFilter;
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Exportul cuprinde tot catalogul (și albumele altor teste): verificăm doar rândurile utilizatorului de test.
+// Debitul pe un catalog mare se măsoară în AlbumExportBenchmark.
+@SpringBootTest
+class AlbumExportServiceImplTests {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private AlbumExportService albumExportService;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumBulkService albumBulkService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long ownerId;
+    private final List<Album> albums = new ArrayList<>();
+
+    // Prin serviciu, ca rollup-urile, jurnalul de modificări și indexul de căutare să rămână consistente
+    @BeforeEach
+    void setUp() {
+        ownerId = userRepository.findByUsername("export-test")
+                .orElseGet(() -> userRepository.save(new User("export-test", "x", "USER")))
+                .getId();
+        for (int i = 0; i < ROWS; i++) {
+            albums.add(albumService.save(new Album("Album " + i, "Artist, \"" + i + "\"", "Rock", 1990 + i,
+                    "Label", new BigDecimal("9.99"), 10 + i, null, ownerId)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        albumBulkService.delete(null, ownRows(), ownerId);
+    }
+
+    @Test
+    void exportsEveryRowAsNdjson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = albumExportService.export(AlbumExportFormat.NDJSON, out);
+
+        List<String> lines = lines(out);
+        assertThat(lines).hasSize((int) exported);
+        List<JsonNode> own = new ArrayList<>();
+        for (String line : lines) {
+            JsonNode row = objectMapper.readTree(line);
+            if (row.path("userId").asLong() == ownerId) {
+                own.add(row);
+            }
+        }
+        assertThat(own).hasSize(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            JsonNode row = own.get(i);
+            assertThat(row.path("id").asLong()).isEqualTo(albums.get(i).getId());
+            assertThat(row.path("title").asText()).isEqualTo("Album " + i);
+            assertThat(row.path("artist").asText()).isEqualTo("Artist, \"" + i + "\"");
+            assertThat(row.path("releaseYear").asInt()).isEqualTo(1990 + i);
+            assertThat(row.path("price").decimalValue()).isEqualByComparingTo("9.99");
+            assertThat(row.path("stock").asInt()).isEqualTo(10 + i);
+        }
+    }
+
+    @Test
+    void exportsEveryRowAsCsvWithHeaderAndQuotedSeparators() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = albumExportService.export(AlbumExportFormat.CSV, out);
+
+        List<String> lines = lines(out);
+        assertThat(lines).hasSize((int) exported + 1);
+        assertThat(lines.get(0)).isEqualTo("id,title,artist,genre,releaseYear,recordLabel,price,stock,imageUrl,userId");
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            expected.add(albums.get(i).getId() + ",Album " + i + ",\"Artist, \"\"" + i + "\"\"\",Rock," + (1990 + i)
+                    + ",Label,9.99," + (10 + i) + ",," + ownerId);
+        }
+        assertThat(lines.stream().filter(line -> line.endsWith(",," + ownerId)).toList())
+                .containsExactlyElementsOf(expected);
+    }
+
+    private AlbumFilter ownRows() {
+        AlbumFilter filter = new AlbumFilter();
+        filter.setUserId(ownerId);
+        return filter;
+    }
+
+    private static List<String> lines(ByteArrayOutputStream out) {
+        String content = out.toString(StandardCharsets.UTF_8);
+        return content.isEmpty() ? List.of() : Arrays.asList(content.split("\n"));
+    }
+}
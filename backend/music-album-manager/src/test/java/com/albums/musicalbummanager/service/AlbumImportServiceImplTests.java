@@ -0,0 +1,118 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.AlbumFilter;
+import com.albums.musicalbummanager.dto.ImportReport;
+import com.albums.musicalbummanager.dto.ImportRowError;
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Rândurile sunt importate pentru un utilizator de test și șterse la final doar ale lui.
+// Debitul pe fișiere mari se măsoară în AlbumImportBenchmark.
+@SpringBootTest
+class AlbumImportServiceImplTests {
+
+    private static final int ROWS = 30;
+
+    @Autowired
+    private AlbumImportService albumImportService;
+
+    @Autowired
+    private AlbumBulkService albumBulkService;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userRepository.findByUsername("import-test")
+                .orElseGet(() -> userRepository.save(new User("import-test", "x", "USER")))
+                .getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        albumBulkService.delete(null, ownRows(), ownerId);
+    }
+
+    @Test
+    void importsJsonArrayAndReportsInvalidRows() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= ROWS; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            // fiecare al 10-lea rând nu are titlu
+            String title = i % 10 == 0 ? "" : "Album " + i;
+            json.append("{\"title\":\"").append(title).append("\",\"artist\":\"Artist ").append(i % 5)
+                    .append("\",\"genre\":\"Rock\",\"releaseYear\":1999,\"price\":12.50,\"stock\":3}");
+        }
+        json.append(']');
+
+        ImportReport report = albumImportService.importJson(stream(json.toString()), ownerId);
+
+        assertThat(report.getReceived()).isEqualTo(ROWS);
+        assertThat(report.getImported()).isEqualTo(ROWS - 3);
+        assertThat(report.getFailed()).isEqualTo(3);
+        assertThat(report.getErrors()).extracting(ImportRowError::getRow).containsExactly(10L, 20L, 30L);
+        assertThat(report.getErrors()).extracting(ImportRowError::getMessage).allSatisfy(message ->
+                assertThat(message).isNotBlank());
+        List<Album> imported = ownAlbums();
+        assertThat(imported).hasSize(ROWS - 3);
+        assertThat(imported).extracting(Album::getTitle).doesNotContain("").contains("Album 1", "Album 29");
+        assertThat(imported).allSatisfy(album -> {
+            assertThat(album.getUserId()).isEqualTo(ownerId);
+            assertThat(album.getPrice()).isEqualByComparingTo("12.50");
+            assertThat(album.getStock()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    void importsCsvWithQuotedFieldsAndBadNumbers() throws IOException {
+        String csv = "title,artist,genre,releaseYear,recordLabel,price,stock\n"
+                + "\"Balada, \"\"veche\"\"\",Maria Tănase,Folk,1958,Electrecord,20.00,5\n"
+                + "Broken,Someone,Pop,not-a-year,,1.00,1\n"
+                + "\"Multi\nline\",Phoenix,Rock,1972,Electrecord,,\n";
+
+        ImportReport report = albumImportService.importCsv(stream(csv), ownerId);
+
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getErrors()).singleElement().extracting(ImportRowError::getRow).isEqualTo(2L);
+        assertThat(ownAlbums()).extracting("title")
+                .containsExactlyInAnyOrder("Balada, \"veche\"", "Multi\nline");
+        // id-urile generate sunt citite înapoi, deci rândurile importate ajung și în indexul de căutare
+        assertThat(albumService.search("tanase balada", 10)).extracting("title")
+                .containsExactly("Balada, \"veche\"");
+    }
+
+    private List<Album> ownAlbums() {
+        return albumService.findPage(ownRows(), null, null, 100).getItems();
+    }
+
+    private AlbumFilter ownRows() {
+        AlbumFilter filter = new AlbumFilter();
+        filter.setUserId(ownerId);
+        return filter;
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,102 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.AlbumRollupGroup;
+import com.albums.musicalbummanager.dto.StockOrderItem;
+import com.albums.musicalbummanager.entity.Album;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class AlbumRollupServiceImplTests {
+
+    @Autowired
+    private AlbumRollupService albumRollupService;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumStockService albumStockService;
+
+    @Autowired
+    private AlbumImportService albumImportService;
+
+    @Test
+    void incrementalRollupsMatchAFullRebuild() throws Exception {
+        // Alte teste scriu albume direct prin repository, pe lângă rollup-uri: pornim de la o stare recalculată
+        albumRollupService.rebuild();
+
+        Album first = albumService.save(new Album("First", "Rollup Artist", "Rollup Genre", 2001, "Label",
+                new BigDecimal("10.00"), 3, null, 7L));
+        Album second = albumService.save(new Album("Second", "Rollup Artist", "Rollup Genre", 2002, "Label",
+                new BigDecimal("2.50"), 4, null, 7L));
+        albumService.save(new Album("No genre", "Rollup Artist", null, null, "Label", null, 1, null, 8L));
+
+        assertThat(group(AlbumRollupDimension.GENRE, "Rollup Genre")).isEqualTo("Rollup Genre|2|7|40.00");
+        assertThat(group(AlbumRollupDimension.ARTIST, "Rollup Artist")).isEqualTo("Rollup Artist|3|8|40.00");
+
+        // Update: albumul trece dintr-un grup în altul, cu alt preț și alt stoc
+        Album moved = albumService.findById(second.getId()).orElseThrow();
+        moved.setGenre("Rollup Other");
+        moved.setPrice(new BigDecimal("3.00"));
+        moved.setStock(6);
+        albumService.save(moved);
+        assertThat(group(AlbumRollupDimension.GENRE, "Rollup Genre")).isEqualTo("Rollup Genre|1|3|30.00");
+        assertThat(group(AlbumRollupDimension.GENRE, "Rollup Other")).isEqualTo("Rollup Other|1|6|18.00");
+
+        // Stocul: rezervări simple (prin combiner), comenzi, eliberări; o comandă respinsă nu lasă urme
+        albumStockService.reserve(first.getId(), 2);
+        albumStockService.reserveAll(List.of(new StockOrderItem(first.getId(), 1),
+                new StockOrderItem(second.getId(), 2)));
+        assertThatThrownBy(() -> albumStockService.reserveAll(List.of(new StockOrderItem(first.getId(), 1),
+                new StockOrderItem(second.getId(), 100))))
+                .isInstanceOf(InsufficientStockException.class);
+        albumStockService.release(second.getId(), 1, null);
+        assertThat(group(AlbumRollupDimension.GENRE, "Rollup Genre")).isEqualTo("Rollup Genre|1|0|0.00");
+        assertThat(group(AlbumRollupDimension.GENRE, "Rollup Other")).isEqualTo("Rollup Other|1|5|15.00");
+
+        albumImportService.importJson(new ByteArrayInputStream(("[{\"title\":\"Imported\",\"artist\":\"Rollup Artist\","
+                + "\"genre\":\"Rollup Other\",\"price\":1.00,\"stock\":2}]").getBytes(StandardCharsets.UTF_8)), 7L);
+        albumService.deleteById(first.getId());
+        assertThat(group(AlbumRollupDimension.GENRE, "Rollup Genre")).isNull();
+        assertThat(group(AlbumRollupDimension.GENRE, "Rollup Other")).isEqualTo("Rollup Other|2|7|17.00");
+
+        List<List<String>> incremental = snapshot();
+        albumRollupService.rebuild();
+        assertThat(snapshot()).isEqualTo(incremental);
+    }
+
+    private String group(AlbumRollupDimension dimension, String key) {
+        return albumRollupService.groups(dimension).stream()
+                .filter(group -> key.equals(group.getKey()))
+                .map(AlbumRollupServiceImplTests::format)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private List<List<String>> snapshot() {
+        List<List<String>> groups = new ArrayList<>();
+        for (AlbumRollupDimension dimension : AlbumRollupDimension.values()) {
+            groups.add(albumRollupService.groups(dimension).stream()
+                    .map(AlbumRollupServiceImplTests::format)
+                    .collect(Collectors.toList()));
+        }
+        return groups;
+    }
+
+    private static String format(AlbumRollupGroup group) {
+        return group.getKey() + "|" + group.getAlbumCount() + "|" + group.getTotalStock() + "|"
+                + group.getStockValue().setScale(2);
+    }
+}
@@ -0,0 +1,113 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.entity.Album;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class AlbumSearchIndexTests {
+
+    private AlbumSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AlbumSearchIndex(null, null, mock(PlatformTransactionManager.class), false);
+    }
+
+    @Test
+    void matchesWithoutCaseOrDiacritics() {
+        save(1L, "Cântece de pe Mureș", "Maria Tănase", "Electrecord");
+        save(2L, "Ţara lui Andrei", "Phoenix", "Electrecord");
+
+        assertThat(index.search("mures", 10)).containsExactly(1L);
+        assertThat(index.search("TĂNASE", 10)).containsExactly(1L);
+        assertThat(index.search("tara", 10)).containsExactly(2L);
+        assertThat(index.search("electrecord", 10)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void matchesPrefixesAndRequiresEveryTerm() {
+        save(1L, "Abbey Road", "The Beatles", "Apple");
+        save(2L, "Let It Be", "The Beatles", "Apple");
+        save(3L, "Beat Street", "Various", "Atlantic");
+
+        assertThat(index.search("beatl", 10)).containsExactly(1L, 2L);
+        assertThat(index.search("beatles ab", 10)).containsExactly(1L);
+        assertThat(index.search("beatles missing", 10)).isEmpty();
+    }
+
+    @Test
+    void ranksTitleAboveArtistAboveLabelAndExactAbovePrefix() {
+        save(1L, "Other", "Someone", "Blue Note");
+        save(2L, "Other", "Blue", "Label");
+        save(3L, "Blue", "Someone", "Label");
+        save(4L, "Bluesy", "Someone", "Label");
+
+        // titlu exact 3, artist exact 2, titlu pe prefix 3 * 0.6, casă de discuri exactă 1
+        assertThat(index.search("blue", 10)).containsExactly(3L, 2L, 4L, 1L);
+    }
+
+    @Test
+    void widePrefixesExpandToTheMostFrequentTerms() {
+        // 100 de termeni rari cu prefixul "ro" (câte un album) și unul frecvent, ultimul în ordine alfabetică
+        for (long id = 1; id <= 100; id++) {
+            save(id, "Ro" + (char) ('a' + id / 26) + (char) ('a' + id % 26), "Someone", null);
+        }
+        for (long id = 101; id <= 103; id++) {
+            save(id, "Rozz", "Someone", null);
+        }
+
+        // Din cei rari rămân primii 63 în ordine alfabetică
+        assertThat(index.search("ro", 200)).hasSize(3 + 63).contains(101L, 102L, 103L, 1L, 63L)
+                .doesNotContain(64L, 100L);
+        // Un prefix mai lung ajunge și la termenii rari rămași pe dinafară
+        assertThat(index.search("rod", 200)).contains(100L);
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        save(1L, "Old Title", "Artist", null);
+        save(1L, "New Title", "Artist", null);
+
+        assertThat(index.search("old", 10)).isEmpty();
+        assertThat(index.search("new", 10)).containsExactly(1L);
+
+        index.onAlbumChanged(AlbumChangedEvent.deleted(1L));
+        assertThat(index.search("artist", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    // Latența pe un catalog mare se măsoară în AlbumSearchBenchmark; aici doar rezultatele pe câteva mii de albume
+    @Test
+    void findsEveryAlbumOfAWordInALargerCatalog() {
+        String[] words = new String[500];
+        for (int i = 0; i < words.length; i++) {
+            // Aceeași lungime: niciun cuvânt nu e prefixul altuia
+            words[i] = String.format("cuvant%03d", i);
+        }
+        int albums = 5_000;
+        for (long id = 1; id <= albums; id++) {
+            save(id, words[(int) (id % words.length)] + " " + words[(int) (id * 7 % words.length)], "Artist", null);
+        }
+
+        assertThat(index.size()).isEqualTo(albums);
+        // cuvant042 e primul cuvânt al albumelor cu id % 500 == 42 și al doilea al celor cu id * 7 % 500 == 42
+        assertThat(index.search("cuvant042", 100)).hasSize(20)
+                .allSatisfy(id -> assertThat(id % 500 == 42 || id * 7 % 500 == 42).isTrue());
+        // 42 * 7 % 500 == 294: doar primele 10 le au pe amândouă
+        assertThat(index.search("cuvant042 cuvant294", 100)).hasSize(10)
+                .allSatisfy(id -> assertThat(id % 500).isEqualTo(42L));
+        assertThat(index.search("cuvant04", 20)).hasSize(20);
+    }
+
+    private void save(Long id, String title, String artist, String recordLabel) {
+        Album album = new Album(title, artist, "Rock", 2000, recordLabel, BigDecimal.TEN, 1, null, 1L);
+        album.setId(id);
+        index.onAlbumChanged(AlbumChangedEvent.saved(album));
+    }
+}
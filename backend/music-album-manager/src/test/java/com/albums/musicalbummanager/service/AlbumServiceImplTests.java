@@ -0,0 +1,116 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.AlbumFilter;
+import com.albums.musicalbummanager.dto.AlbumPage;
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Contextul e comun cu celelalte teste: albumele sunt ale unui utilizator de test, iar fiecare citire e filtrată
+// după el
+@SpringBootTest
+class AlbumServiceImplTests {
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumBulkService albumBulkService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long ownerId;
+    private final List<Album> albums = new ArrayList<>();
+
+    // Prin serviciu, ca rollup-urile, indexul de căutare și jurnalul de modificări să rămână consistente
+    @BeforeEach
+    void setUp() {
+        ownerId = userRepository.findByUsername("album-service-test")
+                .orElseGet(() -> userRepository.save(new User("album-service-test", "x", "USER")))
+                .getId();
+        for (int i = 0; i < 47; i++) {
+            // câțiva ani lipsă, ca să verificăm ordonarea valorilor NULL
+            Integer year = i % 7 == 0 ? null : 1990 + (i % 5);
+            albums.add(albumService.save(new Album("Album " + i, "Artist " + (i % 4), i % 2 == 0 ? "Rock" : "Pop",
+                    year, "Label", BigDecimal.valueOf(10 + i % 3), 5, null, ownerId)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        albumBulkService.delete(null, ownRows(), ownerId);
+    }
+
+    @Test
+    void pagesThroughEveryAlbumExactlyOnceInSortOrder() {
+        List<Album> seen = readAll(ownRows(), "-releaseYear,artist", 10);
+
+        Comparator<Album> expectedOrder = Comparator
+                .comparing(Album::getReleaseYear, Comparator.nullsFirst(Comparator.<Integer>naturalOrder())).reversed()
+                .thenComparing(Album::getArtist)
+                .thenComparing(Album::getId);
+        List<Album> expected = albums.stream().sorted(expectedOrder).collect(Collectors.toList());
+
+        assertThat(seen).extracting(Album::getId).containsExactlyElementsOf(
+                expected.stream().map(Album::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void appliesFiltersTogetherWithKeyset() {
+        AlbumFilter filter = ownRows();
+        filter.setGenre("Rock");
+        filter.setMinYear(1991);
+        filter.setMaxPrice(BigDecimal.valueOf(11));
+
+        List<Album> seen = readAll(filter, "price,-title", 3);
+
+        List<Long> expected = albums.stream()
+                .filter(a -> a.getGenre().equals("Rock"))
+                .filter(a -> a.getReleaseYear() != null && a.getReleaseYear() >= 1991)
+                .filter(a -> a.getPrice().compareTo(BigDecimal.valueOf(11)) <= 0)
+                .map(Album::getId)
+                .collect(Collectors.toList());
+        assertThat(seen).extracting(Album::getId).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void rejectsCursorIssuedForAnotherSort() {
+        AlbumPage first = albumService.findPage(ownRows(), "title", null, 5);
+
+        assertThatThrownBy(() -> albumService.findPage(ownRows(), "artist", first.getNextCursor(), 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private AlbumFilter ownRows() {
+        AlbumFilter filter = new AlbumFilter();
+        filter.setUserId(ownerId);
+        return filter;
+    }
+
+    private List<Album> readAll(AlbumFilter filter, String sort, int limit) {
+        List<Album> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            AlbumPage page = albumService.findPage(filter, sort, cursor, limit);
+            assertThat(page.getItems().size()).isLessThanOrEqualTo(limit);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+}
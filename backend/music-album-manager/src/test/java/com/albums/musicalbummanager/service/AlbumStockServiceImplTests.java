@@ -0,0 +1,125 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.dto.StockOrderItem;
+import com.albums.musicalbummanager.entity.Album;
+import com.albums.musicalbummanager.repository.AlbumRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class AlbumStockServiceImplTests {
+
+    // Debitul sub contenție se măsoară în AlbumStockBenchmark; aici verificăm doar corectitudinea
+    private static final int THREADS = 8;
+    private static final int INITIAL_STOCK = 200;
+
+    @Autowired
+    private AlbumStockService albumStockService;
+
+    @Autowired
+    private AlbumService albumService;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        Album hot = albumRepository.save(new Album("Hot", "Artist", "Pop", 2020, "Label",
+                BigDecimal.TEN, INITIAL_STOCK, null, 1L));
+        long versionBefore = hot.getVersion();
+
+        // Toate thread-urile pornesc odată și rezervă câte 1 până primesc InsufficientStockException
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int reserved = 0;
+                while (true) {
+                    try {
+                        albumStockService.reserve(hot.getId(), 1);
+                        reserved++;
+                    } catch (InsufficientStockException e) {
+                        return reserved;
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        int total = 0;
+        for (Future<Integer> result : results) {
+            total += result.get();
+        }
+        executor.shutdown();
+
+        Album after = albumRepository.findById(hot.getId()).orElseThrow();
+        assertThat(total).isEqualTo(INITIAL_STOCK);
+        assertThat(after.getStock()).isZero();
+        assertThat(after.getVersion()).isGreaterThan(versionBefore);
+    }
+
+    @Test
+    void orderIsReservedCompletelyOrNotAtAll() {
+        Album first = albumRepository.save(new Album("First", "Artist", "Pop", 2020, "Label",
+                BigDecimal.TEN, 5, null, 1L));
+        Album second = albumRepository.save(new Album("Second", "Artist", "Pop", 2020, "Label",
+                BigDecimal.TEN, 1, null, 1L));
+        // Citim prin cache, ca să verificăm și invalidarea după rezervare
+        assertThat(albumService.findById(first.getId()).orElseThrow().getStock()).isEqualTo(5);
+
+        assertThatThrownBy(() -> albumStockService.reserveAll(List.of(
+                new StockOrderItem(first.getId(), 2),
+                new StockOrderItem(second.getId(), 2))))
+                .isInstanceOf(InsufficientStockException.class);
+        assertThat(albumRepository.findById(first.getId()).orElseThrow().getStock()).isEqualTo(5);
+        assertThat(albumRepository.findById(second.getId()).orElseThrow().getStock()).isEqualTo(1);
+
+        // Pozițiile duplicate pentru același album se adună
+        albumStockService.reserveAll(List.of(
+                new StockOrderItem(first.getId(), 2),
+                new StockOrderItem(second.getId(), 1),
+                new StockOrderItem(first.getId(), 1)));
+        assertThat(albumService.findById(first.getId()).orElseThrow().getStock()).isEqualTo(2);
+        assertThat(albumService.findById(second.getId()).orElseThrow().getStock()).isZero();
+
+        albumStockService.releaseAll(List.of(new StockOrderItem(second.getId(), 1)), null);
+        assertThat(albumService.findById(second.getId()).orElseThrow().getStock()).isEqualTo(1);
+    }
+
+    @Test
+    void editorReleasesStockOnlyOnOwnAlbums() {
+        Album own = albumRepository.save(new Album("Own", "Artist", "Pop", 2020, "Label",
+                BigDecimal.TEN, 1, null, 2L));
+        Album foreign = albumRepository.save(new Album("Foreign", "Artist", "Pop", 2020, "Label",
+                BigDecimal.TEN, 1, null, 1L));
+
+        assertThatThrownBy(() -> albumStockService.release(foreign.getId(), 100, 2L))
+                .isInstanceOf(AccessDeniedException.class);
+        // Un singur album străin în comandă o respinge pe toată
+        assertThatThrownBy(() -> albumStockService.releaseAll(List.of(
+                new StockOrderItem(own.getId(), 1),
+                new StockOrderItem(foreign.getId(), 1)), 2L))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThat(albumRepository.findById(own.getId()).orElseThrow().getStock()).isEqualTo(1);
+        assertThat(albumRepository.findById(foreign.getId()).orElseThrow().getStock()).isEqualTo(1);
+
+        albumStockService.release(own.getId(), 1, 2L);
+        albumStockService.release(foreign.getId(), 1, null);
+        assertThat(albumRepository.findById(own.getId()).orElseThrow().getStock()).isEqualTo(2);
+        assertThat(albumRepository.findById(foreign.getId()).orElseThrow().getStock()).isEqualTo(2);
+    }
+}
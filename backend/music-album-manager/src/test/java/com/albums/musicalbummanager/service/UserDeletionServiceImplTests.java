@@ -0,0 +1,203 @@
+package com.albums.musicalbummanager.service;
+
+import com.albums.musicalbummanager.config.JwtUtils;
+import com.albums.musicalbummanager.dto.AlbumFilter;
+import com.albums.musicalbummanager.dto.ImportReport;
+import com.albums.musicalbummanager.entity.User;
+import com.albums.musicalbummanager.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserDeletionServiceImplTests {
+
+    private static final int ALBUMS = Integer.getInteger("user-deletion.albums", 3_000);
+    private static final String LABEL = "Deleted User Label";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AlbumRollupService albumRollupService;
+
+    @Autowired
+    private AlbumImportService albumImportService;
+
+    @Autowired
+    private AlbumBulkService albumBulkService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User admin;
+    private User prolific;
+
+    @BeforeEach
+    void setUp() {
+        admin = user("deletion-admin", "ADMIN");
+        prolific = user("deletion-prolific", "EDITOR");
+    }
+
+    // Prin serviciu, ca indexul de căutare, jurnalul de modificări și cache-urile să rămână consistente
+    @AfterEach
+    void tearDown() {
+        AlbumFilter filter = new AlbumFilter();
+        filter.setRecordLabel(LABEL);
+        albumBulkService.delete(null, filter, null, deleted -> { });
+    }
+
+    @Test
+    void deletingAUserRemovesTheirAlbumsInTheBackground() throws Exception {
+        seed(ALBUMS, prolific.getId());
+        String token = jwtUtils.generateToken(prolific);
+
+        JsonNode job = finished(mockMvc.perform(as(admin, delete("/api/users/{id}", prolific.getId())))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn());
+
+        assertThat(job.get("state").asText()).isEqualTo("COMPLETED");
+        assertThat(job.get("totalAlbums").asLong()).isEqualTo(ALBUMS);
+        assertThat(job.get("processedAlbums").asLong()).isEqualTo(ALBUMS);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from albums where user_id = ?",
+                Long.class, prolific.getId())).isZero();
+        // Utilizatorul dispare imediat, cu token-urile lui
+        mockMvc.perform(get("/api/albums").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        assertThat(ownerGroups()).doesNotContain(String.valueOf(prolific.getId()));
+        assertRollupsMatchAlbums();
+    }
+
+    @Test
+    void albumsCanBeReassignedToAnotherUser() throws Exception {
+        User heir = user("deletion-heir", "USER");
+        seed(ALBUMS, prolific.getId());
+
+        mockMvc.perform(as(admin, delete("/api/users/{id}", prolific.getId()).param("reassignTo",
+                        String.valueOf(prolific.getId()))))
+                .andExpect(status().isBadRequest());
+        JsonNode job = finished(mockMvc.perform(as(admin, delete("/api/users/{id}", prolific.getId())
+                        .param("reassignTo", String.valueOf(heir.getId()))))
+                .andExpect(status().isAccepted())
+                .andReturn());
+
+        assertThat(job.get("state").asText()).isEqualTo("COMPLETED");
+        assertThat(job.get("processedAlbums").asLong()).isEqualTo(ALBUMS);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from albums where user_id = ?",
+                Long.class, heir.getId())).isEqualTo(ALBUMS);
+        // Cine primește albume poate să le și editeze
+        assertThat(userService.findById(heir.getId()).orElseThrow().getRole()).isEqualTo("EDITOR");
+        assertRollupsMatchAlbums();
+    }
+
+    @Test
+    void deletingAMissingUserChangesNothing() throws Exception {
+        User heir = user("deletion-idle-heir", "USER");
+
+        mockMvc.perform(as(admin, delete("/api/users/{id}", Long.MAX_VALUE)
+                        .param("reassignTo", String.valueOf(heir.getId()))))
+                .andExpect(status().isNotFound());
+        // Moștenitorul e promovat doar după o ștergere reușită
+        assertThat(userService.findById(heir.getId()).orElseThrow().getRole()).isEqualTo("USER");
+    }
+
+    // Urmărește job-ul la Location până se termină
+    private JsonNode finished(MvcResult accepted) throws Exception {
+        String location = accepted.getResponse().getHeader("Location");
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (true) {
+            String body = mockMvc.perform(as(admin, get(location)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode job = objectMapper.readTree(body);
+            if (!"RUNNING".equals(job.get("state").asText()) || System.nanoTime() > deadline) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private List<String> ownerGroups() {
+        return albumRollupService.groups(AlbumRollupDimension.OWNER).stream()
+                .map(group -> group.getKey())
+                .toList();
+    }
+
+    // Rollup-urile actualizate incremental sunt identice cu cele recalculate din albume
+    private void assertRollupsMatchAlbums() {
+        List<String> incremental = owners();
+        albumRollupService.rebuild();
+        assertThat(owners()).isEqualTo(incremental);
+    }
+
+    private List<String> owners() {
+        return albumRollupService.groups(AlbumRollupDimension.OWNER).stream()
+                .map(group -> group.getKey() + "|" + group.getAlbumCount() + "|" + group.getTotalStock() + "|"
+                        + group.getStockValue().setScale(2))
+                .toList();
+    }
+
+    // Prin import, ca rollup-urile, indexul de căutare și jurnalul de modificări să includă albumele
+    private void seed(int count, Long userId) throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(Map.of("title", "Deleted " + i, "artist", "Deleted Artist " + i % 20,
+                    "genre", i % 2 == 0 ? "Rock" : "Jazz", "releaseYear", 2000 + i % 10, "recordLabel", LABEL,
+                    "price", BigDecimal.valueOf(10 + i % 5), "stock", i % 3));
+        }
+        ImportReport report = albumImportService.importJson(
+                new ByteArrayInputStream(objectMapper.writeValueAsBytes(rows)), userId);
+        assertThat(report.getImported()).isEqualTo(count);
+    }
+
+    // Alt context de test poate refolosi id-ul: cache-ul nu trebuie să țină utilizatorul vechi
+    private User user(String username, String role) {
+        userRepository.findByUsername(username).ifPresent(userRepository::delete);
+        User user = userService.createUser(username, "secret123", role);
+        userCache.invalidate(user.getId());
+        return user;
+    }
+
+    private MockHttpServletRequestBuilder as(User user, MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + jwtUtils.generateToken(user));
+    }
+}
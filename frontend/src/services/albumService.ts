@@ -1,16 +1,28 @@
 import api from './api';
-import type { Album } from '../types';
+import type { Album, AlbumPage } from '../types';
 
 /**
  * Serviciu pentru operațiuni CRUD pe albume
  */
 export const albumService = {
-  // Obține toate albumele
-  async getAllAlbums(): Promise<Album[]> {
-    const response = await api.get<Album[]>('/albums');
+  // Obține o pagină de albume (paginare cu cursor)
+  async getAlbumsPage(cursor?: string, limit = 200): Promise<AlbumPage> {
+    const response = await api.get<AlbumPage>('/albums', { params: { cursor, limit } });
     return response.data;
   },
 
+  // Obține toate albumele, parcurgând paginile până la ultimul cursor
+  async getAllAlbums(): Promise<Album[]> {
+    const albums: Album[] = [];
+    let cursor: string | undefined;
+    do {
+      const page = await this.getAlbumsPage(cursor);
+      albums.push(...page.items);
+      cursor = page.nextCursor ?? undefined;
+    } while (cursor);
+    return albums;
+  },
+
   // Obține un album după ID
   async getAlbumById(id: number): Promise<Album> {
     const response = await api.get<Album>(`/albums/${id}`);
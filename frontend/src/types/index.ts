@@ -12,6 +12,12 @@ export interface Album {
     userId?: number; // ID-ul utilizatorului care a creat albumul (setat automat în backend)
   }
   
+  // O pagină de albume; nextCursor lipsește pe ultima pagină
+  export interface AlbumPage {
+    items: Album[];
+    nextCursor: string | null;
+  }
+  
   // Types pentru User
   export interface User {
     id: number;